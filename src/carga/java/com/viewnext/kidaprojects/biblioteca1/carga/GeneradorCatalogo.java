@@ -0,0 +1,115 @@
+package com.viewnext.kidaprojects.biblioteca1.carga;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+
+/**
+ * Generador reproducible del catálogo de las pruebas de carga.
+ *
+ * <p>
+ * Con la misma semilla genera siempre los mismos libros: el libro {@code i}
+ * tiene el ISBN {@code 978} seguido de {@code i} con diez cifras, y su autor y
+ * su título se eligen con una distribución de Zipf, de modo que unos pocos
+ * autores y títulos acumulan muchos libros. Las peticiones eligen los libros,
+ * autores y títulos con otra distribución de Zipf, por lo que los primeros
+ * rangos son también los más consultados.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+final class GeneradorCatalogo {
+
+	private static final String PREFIJO_CATALOGO = "978";
+	private static final String PREFIJO_INEXISTENTES = "977";
+	private static final String PREFIJO_NUEVOS = "979";
+
+	private final int libros;
+	private final int autores;
+	private final int titulos;
+	private final double sesgo;
+	private final long semilla;
+	private final Zipf popularidadLibros;
+	private final Zipf popularidadAutores;
+	private final Zipf popularidadTitulos;
+
+	/**
+	 * Crea el generador del catálogo.
+	 *
+	 * @param libros          El número de libros del catálogo.
+	 * @param autores         El número de autores distintos.
+	 * @param titulos         El número de títulos distintos.
+	 * @param sesgo           El sesgo del reparto de autores y títulos entre
+	 *                        los libros.
+	 * @param sesgoPeticiones El sesgo de la popularidad de libros, autores y
+	 *                        títulos en las peticiones.
+	 * @param semilla         La semilla del generador.
+	 */
+	GeneradorCatalogo(int libros, int autores, int titulos, double sesgo, double sesgoPeticiones, long semilla) {
+		this.libros = libros;
+		this.autores = autores;
+		this.titulos = titulos;
+		this.sesgo = sesgo;
+		this.semilla = semilla;
+		this.popularidadLibros = new Zipf(libros, sesgoPeticiones);
+		this.popularidadAutores = new Zipf(autores, sesgoPeticiones);
+		this.popularidadTitulos = new Zipf(titulos, sesgoPeticiones);
+	}
+
+	/**
+	 * Genera los libros del catálogo.
+	 *
+	 * @return Los libros, ordenados por ISBN.
+	 */
+	List<Libro> generar() {
+		SplittableRandom aleatorio = new SplittableRandom(semilla);
+		Zipf repartoAutores = new Zipf(autores, sesgo);
+		Zipf repartoTitulos = new Zipf(titulos, sesgo);
+		List<Libro> catalogo = new ArrayList<>(libros);
+
+		for (int i = 0; i < libros; i++) {
+			catalogo.add(new Libro(isbn(i), titulo(repartoTitulos.muestra(aleatorio)),
+					autor(repartoAutores.muestra(aleatorio)), 5 + aleatorio.nextInt(60)));
+		}
+		return catalogo;
+	}
+
+	String isbnPopular(SplittableRandom aleatorio) {
+		return isbn(popularidadLibros.muestra(aleatorio));
+	}
+
+	String isbnInexistente(SplittableRandom aleatorio) {
+		return PREFIJO_INEXISTENTES + String.format("%010d", aleatorio.nextInt(Integer.MAX_VALUE));
+	}
+
+	String isbnNuevo(long numero) {
+		return PREFIJO_NUEVOS + String.format("%010d", numero);
+	}
+
+	String autorPopular(SplittableRandom aleatorio) {
+		return autor(popularidadAutores.muestra(aleatorio));
+	}
+
+	String tituloPopular(SplittableRandom aleatorio) {
+		return titulo(popularidadTitulos.muestra(aleatorio));
+	}
+
+	int getLibros() {
+		return libros;
+	}
+
+	private static String isbn(int numero) {
+		return PREFIJO_CATALOGO + String.format("%010d", numero);
+	}
+
+	private static String autor(int numero) {
+		return "Autor " + numero;
+	}
+
+	private static String titulo(int numero) {
+		return "Obra " + numero;
+	}
+}
@@ -0,0 +1,117 @@
+package com.viewnext.kidaprojects.biblioteca1.carga;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencias y resultados de cada operación de la prueba de carga.
+ *
+ * <p>
+ * Las latencias se guardan en histogramas HdrHistogram con microsegundos de
+ * resolución y tres cifras significativas. El informe es una tabla de texto
+ * con una fila por operación, siempre en el mismo orden y formato, de modo que
+ * los informes de dos ejecuciones se pueden comparar con {@code diff}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+final class Informe {
+
+	private static final long LATENCIA_MAXIMA_US = TimeUnit.MINUTES.toMicros(5);
+	private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+	private static final class Resultados {
+
+		private final Histogram latencias = new ConcurrentHistogram(LATENCIA_MAXIMA_US, 3);
+		private final LongAdder errores4xx = new LongAdder();
+		private final LongAdder errores5xx = new LongAdder();
+		private final LongAdder fallos = new LongAdder();
+	}
+
+	private final Map<Operacion, Resultados> resultados = new EnumMap<>(Operacion.class);
+
+	Informe() {
+		for (Operacion operacion : Operacion.values()) {
+			resultados.put(operacion, new Resultados());
+		}
+	}
+
+	/**
+	 * Anota la respuesta de una petición.
+	 *
+	 * @param operacion     La operación.
+	 * @param latenciaNanos El tiempo hasta recibir la respuesta completa.
+	 * @param estado        El código de estado HTTP de la respuesta.
+	 */
+	void registrar(Operacion operacion, long latenciaNanos, int estado) {
+		Resultados resultado = resultados.get(operacion);
+		resultado.latencias.recordValue(
+				Math.min(Math.max(1, TimeUnit.NANOSECONDS.toMicros(latenciaNanos)), LATENCIA_MAXIMA_US));
+		if (estado >= 500) {
+			resultado.errores5xx.increment();
+		} else if (estado >= 400) {
+			resultado.errores4xx.increment();
+		}
+	}
+
+	/**
+	 * Anota una petición que no ha obtenido respuesta (error de conexión, tiempo
+	 * agotado o petición descartada por la prueba).
+	 *
+	 * @param operacion La operación.
+	 */
+	void fallo(Operacion operacion) {
+		resultados.get(operacion).fallos.increment();
+	}
+
+	/**
+	 * Genera la tabla de resultados.
+	 *
+	 * @param segundos La duración de la medición, para calcular el ritmo.
+	 * @return La tabla, con una línea por operación ejecutada y el total.
+	 */
+	String tabla(double segundos) {
+		StringBuilder tabla = new StringBuilder(String.format(Locale.ROOT,
+				"%-12s %10s %9s %8s %8s %8s %9s %9s %9s %9s %9s%n", "operacion", "peticiones", "pet/s", "4xx",
+				"5xx", "fallos", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+		Histogram total = new Histogram(LATENCIA_MAXIMA_US, 3);
+		long total4xx = 0;
+		long total5xx = 0;
+		long totalFallos = 0;
+
+		for (Map.Entry<Operacion, Resultados> entrada : resultados.entrySet()) {
+			Resultados resultado = entrada.getValue();
+			long fallos = resultado.fallos.sum();
+			if (resultado.latencias.getTotalCount() == 0 && fallos == 0) {
+				continue;
+			}
+			fila(tabla, entrada.getKey().getNombre(), resultado.latencias, resultado.errores4xx.sum(),
+					resultado.errores5xx.sum(), fallos, segundos);
+			total.add(resultado.latencias);
+			total4xx += resultado.errores4xx.sum();
+			total5xx += resultado.errores5xx.sum();
+			totalFallos += fallos;
+		}
+
+		fila(tabla, "TOTAL", total, total4xx, total5xx, totalFallos, segundos);
+		return tabla.toString();
+	}
+
+	private static void fila(StringBuilder tabla, String nombre, Histogram latencias, long errores4xx,
+			long errores5xx, long fallos, double segundos) {
+		long peticiones = latencias.getTotalCount() + fallos;
+		tabla.append(String.format(Locale.ROOT, "%-12s %10d %9.1f %8d %8d %8d", nombre, peticiones,
+				peticiones / segundos, errores4xx, errores5xx, fallos));
+		for (double percentil : PERCENTILES) {
+			tabla.append(String.format(Locale.ROOT, " %9.2f", latencias.getValueAtPercentile(percentil) / 1000.0));
+		}
+		tabla.append(String.format(Locale.ROOT, " %9.2f%n", latencias.getMaxValue() / 1000.0));
+	}
+}
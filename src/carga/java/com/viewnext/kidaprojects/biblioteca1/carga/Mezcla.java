@@ -0,0 +1,78 @@
+package com.viewnext.kidaprojects.biblioteca1.carga;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+
+/**
+ * Proporción de cada operación en la prueba de carga.
+ *
+ * <p>
+ * Se indica como una lista de {@code operacion:peso} separados por comas, por
+ * ejemplo {@code libro:80,crear:20}. Las operaciones que no aparecen no se
+ * ejecutan. Sin indicarla se usan los pesos por defecto de {@link Operacion}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+final class Mezcla {
+
+	private final Map<Operacion, Integer> pesos = new EnumMap<>(Operacion.class);
+	private final Operacion[] operaciones;
+	private final int[] acumulados;
+
+	Mezcla(String especificacion) {
+		if (especificacion == null || especificacion.isBlank()) {
+			for (Operacion operacion : Operacion.values()) {
+				pesos.put(operacion, operacion.getPesoPorDefecto());
+			}
+		} else {
+			for (String parte : especificacion.split(",")) {
+				String[] nombreYPeso = parte.trim().split(":");
+				if (nombreYPeso.length != 2) {
+					throw new IllegalArgumentException("Mezcla inválida: " + parte);
+				}
+				int peso = Integer.parseInt(nombreYPeso[1].trim());
+				if (peso > 0) {
+					pesos.put(Operacion.desde(nombreYPeso[0].trim()), peso);
+				}
+			}
+		}
+		if (pesos.isEmpty()) {
+			throw new IllegalArgumentException("La mezcla no contiene ninguna operación");
+		}
+
+		operaciones = pesos.keySet().toArray(Operacion[]::new);
+		acumulados = new int[operaciones.length];
+		int total = 0;
+		for (int i = 0; i < operaciones.length; i++) {
+			total += pesos.get(operaciones[i]);
+			acumulados[i] = total;
+		}
+	}
+
+	/**
+	 * Elige una operación en proporción a su peso.
+	 *
+	 * @param aleatorio El generador de números aleatorios.
+	 * @return La operación elegida.
+	 */
+	Operacion elegir(SplittableRandom aleatorio) {
+		int valor = aleatorio.nextInt(acumulados[acumulados.length - 1]);
+		for (int i = 0; i < acumulados.length; i++) {
+			if (valor < acumulados[i]) {
+				return operaciones[i];
+			}
+		}
+		return operaciones[operaciones.length - 1];
+	}
+
+	@Override
+	public String toString() {
+		StringJoiner texto = new StringJoiner(",");
+		pesos.forEach((operacion, peso) -> texto.add(operacion.getNombre() + ":" + peso));
+		return texto.toString();
+	}
+}
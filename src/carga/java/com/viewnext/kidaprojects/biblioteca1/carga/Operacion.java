@@ -0,0 +1,79 @@
+package com.viewnext.kidaprojects.biblioteca1.carga;
+
+/**
+ * Operaciones de la API de libros que puede ejecutar la prueba de carga, con
+ * su nombre en la mezcla ({@code carga.mezcla}) y su peso por defecto.
+ *
+ * <p>
+ * La suscripción a eventos ({@code GET /libros/events}) no se incluye: es una
+ * conexión de larga duración, no una petición con respuesta, y su latencia no
+ * se puede medir del mismo modo.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+enum Operacion {
+
+	/** {@code GET /libros}: el catálogo completo. */
+	CATALOGO("catalogo", 1),
+	/** {@code GET /libros?limit=100}: la primera página del listado. */
+	PAGINA("pagina", 4),
+	/** {@code GET /libros?isbn=}: diez libros por su ISBN. */
+	VARIOS("varios", 4),
+	/** {@code POST /libros/lookup}: cincuenta libros por su ISBN. */
+	LOOKUP("lookup", 2),
+	/** {@code GET /libros/export}: el catálogo completo en NDJSON. */
+	EXPORTAR("exportar", 1),
+	/** {@code GET /libro/{isbn}}: un libro del catálogo. */
+	LIBRO("libro", 40),
+	/** {@code GET /libro/{isbn}}: un libro que no existe. */
+	INEXISTENTE("inexistente", 5),
+	/** {@code GET /cache/libros}: las estadísticas de la caché. */
+	CACHE("cache", 1),
+	/** {@code GET /libro/titulo/{titulo}}: los libros de un título. */
+	TITULO("titulo", 6),
+	/** {@code GET /libro/autor/{autor}}: los libros de un autor. */
+	AUTOR("autor", 6),
+	/** {@code GET /libros/precio}: los libros de un rango de precios. */
+	PRECIO("precio", 4),
+	/** {@code GET /libros/search}: búsqueda por texto. */
+	BUSCAR("buscar", 5),
+	/** {@code GET /libros/suggest}: sugerencias para autocompletar. */
+	SUGERIR("sugerir", 5),
+	/** {@code GET /libros/changes}: cambios del catálogo. */
+	CAMBIOS("cambios", 2),
+	/** {@code POST /libro}: alta de un libro nuevo. */
+	CREAR("crear", 5),
+	/** {@code POST /libros/batch}: alta de cien libros nuevos. */
+	LOTE("lote", 1),
+	/** {@code PUT /libro}: actualización de un libro del catálogo. */
+	ACTUALIZAR("actualizar", 5),
+	/** {@code DELETE /libro/{isbn}}: eliminación de un libro creado por la prueba. */
+	BORRAR("borrar", 3);
+
+	private final String nombre;
+	private final int pesoPorDefecto;
+
+	Operacion(String nombre, int pesoPorDefecto) {
+		this.nombre = nombre;
+		this.pesoPorDefecto = pesoPorDefecto;
+	}
+
+	String getNombre() {
+		return nombre;
+	}
+
+	int getPesoPorDefecto() {
+		return pesoPorDefecto;
+	}
+
+	static Operacion desde(String nombre) {
+		for (Operacion operacion : values()) {
+			if (operacion.nombre.equals(nombre)) {
+				return operacion;
+			}
+		}
+		throw new IllegalArgumentException("Operación desconocida: " + nombre);
+	}
+}
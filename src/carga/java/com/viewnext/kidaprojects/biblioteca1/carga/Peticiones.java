@@ -0,0 +1,156 @@
+package com.viewnext.kidaprojects.biblioteca1.carga;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+
+/**
+ * Construye las peticiones HTTP de cada operación de la prueba de carga.
+ *
+ * <p>
+ * Los libros, autores y títulos consultados se eligen con la popularidad del
+ * {@link GeneradorCatalogo}. Las altas usan ISBN nuevos que no coinciden con
+ * los del catálogo, y las eliminaciones borran los libros dados de alta por la
+ * propia prueba, de modo que el catálogo inicial no cambia de tamaño.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+final class Peticiones {
+
+	private static final Duration TIEMPO_MAXIMO = Duration.ofSeconds(30);
+	private static final String JSON = "application/json";
+	private static final int LIBROS_POR_LOTE = 100;
+
+	private final String urlBase;
+	private final GeneradorCatalogo generador;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final AtomicLong nuevos = new AtomicLong();
+	private final Queue<String> creados = new ConcurrentLinkedQueue<>();
+
+	Peticiones(String urlBase, GeneradorCatalogo generador) {
+		this.urlBase = urlBase;
+		this.generador = generador;
+	}
+
+	/**
+	 * Construye la petición de una operación.
+	 *
+	 * @param operacion La operación.
+	 * @param aleatorio El generador de números aleatorios de la petición.
+	 * @return La petición HTTP.
+	 * @throws JsonProcessingException Si no se puede serializar el cuerpo.
+	 */
+	HttpRequest crear(Operacion operacion, SplittableRandom aleatorio) throws JsonProcessingException {
+		return switch (operacion) {
+		case CATALOGO -> get("/libros");
+		case PAGINA -> get("/libros?limit=100");
+		case VARIOS -> get("/libros?isbn=" + String.join(",", isbnsPopulares(aleatorio, 10)));
+		case LOOKUP -> post("/libros/lookup", isbnsPopulares(aleatorio, 50));
+		case EXPORTAR -> get("/libros/export");
+		case LIBRO -> get("/libro/" + generador.isbnPopular(aleatorio));
+		case INEXISTENTE -> get("/libro/" + generador.isbnInexistente(aleatorio));
+		case CACHE -> get("/cache/libros");
+		case TITULO -> get("/libro/titulo/" + ruta(generador.tituloPopular(aleatorio)));
+		case AUTOR -> get("/libro/autor/" + ruta(generador.autorPopular(aleatorio)));
+		case PRECIO -> precio(5 + aleatorio.nextInt(60));
+		case BUSCAR -> get("/libros/search?q=" + parametro(generador.tituloPopular(aleatorio)));
+		case SUGERIR -> get("/libros/suggest?prefix=" + parametro(generador.autorPopular(aleatorio).substring(0, 7)));
+		case CAMBIOS -> get("/libros/changes?since=0&limit=100");
+		case CREAR -> post("/libro", libroNuevo(aleatorio));
+		case LOTE -> post("/libros/batch", lote(aleatorio));
+		case ACTUALIZAR -> put("/libro", new Libro(generador.isbnPopular(aleatorio), generador.tituloPopular(aleatorio),
+				generador.autorPopular(aleatorio), 5 + aleatorio.nextInt(60)));
+		case BORRAR -> borrar(aleatorio);
+		};
+	}
+
+	/**
+	 * Construye la petición que da de alta un bloque del catálogo.
+	 *
+	 * @param libros Los libros del bloque.
+	 * @return La petición HTTP.
+	 * @throws JsonProcessingException Si no se puede serializar el cuerpo.
+	 */
+	HttpRequest cargar(List<Libro> libros) throws JsonProcessingException {
+		return HttpRequest.newBuilder(URI.create(urlBase + "/libros/batch"))
+				.timeout(Duration.ofMinutes(5))
+				.header("Content-Type", JSON)
+				.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(libros)))
+				.build();
+	}
+
+	private List<String> isbnsPopulares(SplittableRandom aleatorio, int cantidad) {
+		List<String> isbns = new ArrayList<>(cantidad);
+		for (int i = 0; i < cantidad; i++) {
+			isbns.add(generador.isbnPopular(aleatorio));
+		}
+		return isbns;
+	}
+
+	private HttpRequest precio(int minimo) {
+		return get("/libros/precio?min=" + minimo + "&max=" + (minimo + 2) + "&limit=50");
+	}
+
+	private Libro libroNuevo(SplittableRandom aleatorio) {
+		String isbn = generador.isbnNuevo(nuevos.getAndIncrement());
+		creados.add(isbn);
+		return new Libro(isbn, generador.tituloPopular(aleatorio), generador.autorPopular(aleatorio),
+				5 + aleatorio.nextInt(60));
+	}
+
+	private List<Libro> lote(SplittableRandom aleatorio) {
+		List<Libro> libros = new ArrayList<>(LIBROS_POR_LOTE);
+		for (int i = 0; i < LIBROS_POR_LOTE; i++) {
+			libros.add(libroNuevo(aleatorio));
+		}
+		return libros;
+	}
+
+	private HttpRequest borrar(SplittableRandom aleatorio) {
+		// Sin libros creados por la prueba se borra uno inexistente
+		String isbn = creados.poll();
+		return peticion("/libro/" + (isbn != null ? isbn : generador.isbnInexistente(aleatorio))).DELETE().build();
+	}
+
+	private HttpRequest get(String ruta) {
+		return peticion(ruta).GET().build();
+	}
+
+	private HttpRequest post(String ruta, Object cuerpo) throws JsonProcessingException {
+		return peticion(ruta).header("Content-Type", JSON)
+				.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(cuerpo)))
+				.build();
+	}
+
+	private HttpRequest put(String ruta, Object cuerpo) throws JsonProcessingException {
+		return peticion(ruta).header("Content-Type", JSON)
+				.PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(cuerpo)))
+				.build();
+	}
+
+	private HttpRequest.Builder peticion(String ruta) {
+		return HttpRequest.newBuilder(URI.create(urlBase + ruta)).timeout(TIEMPO_MAXIMO);
+	}
+
+	private static String ruta(String valor) {
+		return URLEncoder.encode(valor, StandardCharsets.UTF_8).replace("+", "%20");
+	}
+
+	private static String parametro(String valor) {
+		return URLEncoder.encode(valor, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,262 @@
+package com.viewnext.kidaprojects.biblioteca1.carga;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.support.ResourcePropertySource;
+
+import com.viewnext.kidaprojects.biblioteca1.Biblioteca1Application;
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+
+/**
+ * Prueba de carga de la API de libros.
+ *
+ * <p>
+ * Arranca la aplicación con el perfil {@code perf} (base de datos H2 en
+ * memoria), la carga con el catálogo de {@link GeneradorCatalogo} y ejecuta
+ * durante {@code carga.duracion} la mezcla de operaciones
+ * {@code carga.mezcla}, después de un calentamiento de
+ * {@code carga.calentamiento} cuyos resultados se descartan. Con
+ * {@code carga.url} se prueba un servidor ya arrancado en lugar de la
+ * aplicación local.
+ * </p>
+ *
+ * <p>
+ * Admite dos modelos de carga ({@code carga.modelo}):
+ * </p>
+ * <ul>
+ * <li>{@code cerrado}: {@code carga.clientes} clientes envían una petición
+ * detrás de otra. El ritmo depende de la latencia del servidor.</li>
+ * <li>{@code abierto}: las peticiones llegan a {@code carga.tasa} peticiones
+ * por segundo, con tiempos entre llegadas exponenciales, tarde lo que tarde el
+ * servidor. La latencia se mide desde el momento en que debía enviarse cada
+ * petición, de modo que incluye la espera cuando el servidor no da abasto.
+ * Las peticiones que superan {@code carga.max-en-curso} se cuentan como
+ * fallos.</li>
+ * </ul>
+ *
+ * <p>
+ * Todas las opciones se indican como argumentos {@code --clave=valor}, y sus
+ * valores por defecto están en {@code application-perf.properties}. El
+ * informe se escribe en {@code carga.informe}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+public final class PruebaCarga {
+
+	private static final int LIBROS_POR_CARGA = 5000;
+
+	private final StandardEnvironment entorno;
+	private final String urlBase;
+	private final GeneradorCatalogo generador;
+	private final Peticiones peticiones;
+	private final Mezcla mezcla;
+	private final HttpClient cliente = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(10))
+			.build();
+
+	private PruebaCarga(StandardEnvironment entorno, String urlBase) {
+		this.entorno = entorno;
+		this.urlBase = urlBase;
+		this.generador = new GeneradorCatalogo(entero("biblioteca.perf.libros"), entero("biblioteca.perf.autores"),
+				entero("biblioteca.perf.titulos"), decimal("biblioteca.perf.sesgo"), decimal("carga.sesgo"),
+				entorno.getRequiredProperty("biblioteca.perf.semilla", Long.class));
+		this.peticiones = new Peticiones(urlBase, generador);
+		this.mezcla = new Mezcla(entorno.getProperty("carga.mezcla"));
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		StandardEnvironment entorno = new StandardEnvironment();
+		entorno.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+		entorno.getPropertySources().addLast(new ResourcePropertySource("classpath:application-perf.properties"));
+
+		String urlBase = entorno.getProperty("carga.url", "");
+		ConfigurableApplicationContext contexto = null;
+		if (urlBase.isBlank()) {
+			System.setProperty("spring.devtools.restart.enabled", "false");
+			contexto = new SpringApplicationBuilder(Biblioteca1Application.class)
+					.web(WebApplicationType.SERVLET)
+					.profiles("perf")
+					.properties("server.port=0")
+					.run(args);
+			urlBase = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+		}
+
+		try {
+			new PruebaCarga(entorno, urlBase).ejecutar();
+		} finally {
+			if (contexto != null) {
+				contexto.close();
+			}
+		}
+	}
+
+	private void ejecutar() throws IOException, InterruptedException {
+		cargarCatalogo();
+
+		System.out.println("Calentamiento...");
+		medir(duracion("carga.calentamiento"), new Informe());
+
+		System.out.println("Medición...");
+		Informe informe = new Informe();
+		long inicio = System.nanoTime();
+		medir(duracion("carga.duracion"), informe);
+		double segundos = (System.nanoTime() - inicio) / 1e9;
+
+		String texto = cabecera() + System.lineSeparator() + informe.tabla(segundos);
+		Path fichero = Path.of(entorno.getRequiredProperty("carga.informe"));
+		if (fichero.getParent() != null) {
+			Files.createDirectories(fichero.getParent());
+		}
+		Files.writeString(fichero, texto);
+
+		System.out.println(texto);
+		System.out.println("Informe guardado en " + fichero.toAbsolutePath());
+	}
+
+	private void cargarCatalogo() throws IOException, InterruptedException {
+		List<Libro> catalogo = generador.generar();
+		long inicio = System.nanoTime();
+
+		for (int desde = 0; desde < catalogo.size(); desde += LIBROS_POR_CARGA) {
+			List<Libro> bloque = catalogo.subList(desde, Math.min(desde + LIBROS_POR_CARGA, catalogo.size()));
+			HttpResponse<Void> respuesta = cliente.send(peticiones.cargar(bloque),
+					HttpResponse.BodyHandlers.discarding());
+			if (respuesta.statusCode() != 200) {
+				throw new IllegalStateException("Error " + respuesta.statusCode() + " al cargar el catálogo en "
+						+ urlBase);
+			}
+		}
+
+		System.out.printf(Locale.ROOT, "Catálogo de %d libros cargado en %.1f s%n", catalogo.size(),
+				(System.nanoTime() - inicio) / 1e9);
+	}
+
+	private void medir(Duration duracion, Informe informe) {
+		String modelo = entorno.getRequiredProperty("carga.modelo");
+		switch (modelo) {
+		case "cerrado" -> modeloCerrado(duracion, informe);
+		case "abierto" -> modeloAbierto(duracion, informe);
+		default -> throw new IllegalArgumentException("Modelo de carga desconocido: " + modelo);
+		}
+	}
+
+	private void modeloCerrado(Duration duracion, Informe informe) {
+		SplittableRandom raiz = new SplittableRandom(entorno.getRequiredProperty("biblioteca.perf.semilla", Long.class));
+		long fin = System.nanoTime() + duracion.toNanos();
+
+		try (ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < entero("carga.clientes"); i++) {
+				SplittableRandom aleatorio = raiz.split();
+				ejecutor.execute(() -> {
+					while (System.nanoTime() < fin) {
+						enviar(mezcla.elegir(aleatorio), aleatorio, System.nanoTime(), informe);
+					}
+				});
+			}
+		}
+	}
+
+	private void modeloAbierto(Duration duracion, Informe informe) {
+		SplittableRandom raiz = new SplittableRandom(entorno.getRequiredProperty("biblioteca.perf.semilla", Long.class));
+		double intervaloMedioNanos = 1e9 / decimal("carga.tasa");
+		Semaphore enCurso = new Semaphore(entero("carga.max-en-curso"));
+
+		try (ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+			long previsto = System.nanoTime();
+			long fin = previsto + duracion.toNanos();
+
+			while (previsto < fin) {
+				for (long espera = previsto - System.nanoTime(); espera > 0; espera = previsto - System.nanoTime()) {
+					LockSupport.parkNanos(espera);
+				}
+
+				Operacion operacion = mezcla.elegir(raiz);
+				SplittableRandom aleatorio = raiz.split();
+				long momento = previsto;
+				if (enCurso.tryAcquire()) {
+					ejecutor.execute(() -> {
+						try {
+							enviar(operacion, aleatorio, momento, informe);
+						} finally {
+							enCurso.release();
+						}
+					});
+				} else {
+					informe.fallo(operacion);
+				}
+
+				previsto += (long) (-Math.log(1 - raiz.nextDouble()) * intervaloMedioNanos);
+			}
+		}
+	}
+
+	private void enviar(Operacion operacion, SplittableRandom aleatorio, long inicio, Informe informe) {
+		try {
+			HttpResponse<Void> respuesta = cliente.send(peticiones.crear(operacion, aleatorio),
+					HttpResponse.BodyHandlers.discarding());
+			informe.registrar(operacion, System.nanoTime() - inicio, respuesta.statusCode());
+		} catch (IOException e) {
+			informe.fallo(operacion);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private String cabecera() {
+		String modelo = entorno.getRequiredProperty("carga.modelo");
+		StringBuilder cabecera = new StringBuilder();
+		linea(cabecera, "modelo", modelo);
+		if (modelo.equals("abierto")) {
+			linea(cabecera, "tasa", entorno.getRequiredProperty("carga.tasa") + " pet/s");
+		} else {
+			linea(cabecera, "clientes", entorno.getRequiredProperty("carga.clientes"));
+		}
+		linea(cabecera, "duracion", entorno.getRequiredProperty("carga.duracion"));
+		linea(cabecera, "calentamiento", entorno.getRequiredProperty("carga.calentamiento"));
+		linea(cabecera, "sesgo-peticiones", entorno.getRequiredProperty("carga.sesgo"));
+		linea(cabecera, "libros", entorno.getRequiredProperty("biblioteca.perf.libros"));
+		linea(cabecera, "autores", entorno.getRequiredProperty("biblioteca.perf.autores"));
+		linea(cabecera, "titulos", entorno.getRequiredProperty("biblioteca.perf.titulos"));
+		linea(cabecera, "sesgo", entorno.getRequiredProperty("biblioteca.perf.sesgo"));
+		linea(cabecera, "semilla", entorno.getRequiredProperty("biblioteca.perf.semilla"));
+		linea(cabecera, "mezcla", mezcla.toString());
+		return cabecera.toString();
+	}
+
+	private static void linea(StringBuilder texto, String clave, String valor) {
+		texto.append(String.format(Locale.ROOT, "%-16s %s%n", clave, valor));
+	}
+
+	private int entero(String clave) {
+		return entorno.getRequiredProperty(clave, Integer.class);
+	}
+
+	private double decimal(String clave) {
+		return entorno.getRequiredProperty(clave, Double.class);
+	}
+
+	private Duration duracion(String clave) {
+		return DurationStyle.detectAndParse(entorno.getRequiredProperty(clave));
+	}
+}
@@ -0,0 +1,49 @@
+package com.viewnext.kidaprojects.biblioteca1.carga;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Distribución de Zipf sobre los rangos {@code 0..n-1}: el rango {@code k}
+ * aparece con una probabilidad proporcional a {@code 1 / (k + 1)^sesgo}.
+ *
+ * <p>
+ * Con un sesgo de 0 todos los rangos son igual de probables; a partir de 1
+ * unos pocos rangos concentran la mayoría de las muestras, como ocurre con los
+ * libros más consultados o los autores con más libros.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+final class Zipf {
+
+	private final double[] acumulada;
+
+	Zipf(int n, double sesgo) {
+		if (n < 1 || sesgo < 0) {
+			throw new IllegalArgumentException("Distribución de Zipf inválida: n=" + n + ", sesgo=" + sesgo);
+		}
+
+		acumulada = new double[n];
+		double suma = 0;
+		for (int k = 0; k < n; k++) {
+			suma += 1 / Math.pow(k + 1, sesgo);
+			acumulada[k] = suma;
+		}
+		for (int k = 0; k < n; k++) {
+			acumulada[k] /= suma;
+		}
+	}
+
+	/**
+	 * Devuelve un rango de la distribución.
+	 *
+	 * @param aleatorio El generador de números aleatorios.
+	 * @return Un rango entre 0 y {@code n - 1}.
+	 */
+	int muestra(SplittableRandom aleatorio) {
+		int posicion = Arrays.binarySearch(acumulada, aleatorio.nextDouble());
+		return Math.min(posicion < 0 ? -posicion - 1 : posicion, acumulada.length - 1);
+	}
+}
@@ -0,0 +1,69 @@
+package com.viewnext.kidaprojects.biblioteca1.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.viewnext.kidaprojects.biblioteca1.dto.ResultadoLoteLibros;
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+import com.viewnext.kidaprojects.biblioteca1.service.LibroserviceImpl;
+
+/**
+ * Compara el ritmo de alta de libros uno a uno, como con {@code POST /libro},
+ * con el de la carga por lotes de {@code POST /libros/batch}. Ambos resultados
+ * se expresan en libros creados por segundo.
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CargaLibrosBenchmark {
+
+	private static final int LIBROS_POR_INVOCACION = 1000;
+
+	private final AtomicInteger siguienteLote = new AtomicInteger();
+	private ConfigurableApplicationContext contexto;
+	private LibroserviceImpl libroService;
+
+	@Setup
+	public void preparar() {
+		contexto = DatosBenchmark.arrancarAplicacion();
+		libroService = contexto.getBean(LibroserviceImpl.class);
+	}
+
+	@TearDown
+	public void terminar() {
+		contexto.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LIBROS_POR_INVOCACION)
+	public void crearLibroUnoAUno() {
+		for (Libro libro : loteNuevo()) {
+			libroService.crearLibro(libro);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(LIBROS_POR_INVOCACION)
+	public ResultadoLoteLibros crearLibrosPorLotes() {
+		return libroService.crearLibros(loteNuevo());
+	}
+
+	private List<Libro> loteNuevo() {
+		return DatosBenchmark.generarLibros("lote" + siguienteLote.getAndIncrement() + "-", LIBROS_POR_INVOCACION);
+	}
+}
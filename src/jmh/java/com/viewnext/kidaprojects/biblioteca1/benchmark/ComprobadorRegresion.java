@@ -0,0 +1,127 @@
+package com.viewnext.kidaprojects.biblioteca1.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compara el resultado de una ejecución de JMH con una ejecución de referencia
+ * y termina con error si algún benchmark ha empeorado más del umbral indicado.
+ * 
+ * <p>
+ * Ambos ficheros tienen el formato JSON que genera JMH con {@code -rf json}.
+ * Para fijar una referencia basta con copiar el resultado de una ejecución,
+ * por ejemplo {@code cp target/jmh-result.json src/jmh/jmh-baseline.json}. Si
+ * el fichero de referencia no existe, la comprobación se omite.
+ * </p>
+ * 
+ * <p>
+ * Un benchmark de la referencia que no aparece en el resultado también hace
+ * fallar la comprobación: un benchmark renombrado o que ha dejado de
+ * ejecutarse no puede pasar por bueno.
+ * </p>
+ * 
+ * <p>
+ * Uso: {@code ComprobadorRegresion <resultado> <referencia> <umbral>}, donde el
+ * umbral es la caída relativa admitida (0.10 equivale a un 10%).
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+public final class ComprobadorRegresion {
+
+	private ComprobadorRegresion() {
+
+	}
+
+	public static void main(String[] args) throws IOException {
+		File resultado = new File(args[0]);
+		File referencia = new File(args[1]);
+		double umbral = Double.parseDouble(args[2]);
+
+		if (!referencia.isFile()) {
+			System.out.println("No existe la referencia " + referencia + "; se omite la comprobación de regresiones.");
+			return;
+		}
+
+		ObjectMapper objectMapper = new ObjectMapper();
+		Map<String, JsonNode> actuales = leer(objectMapper, resultado);
+		Map<String, JsonNode> anteriores = leer(objectMapper, referencia);
+		int regresiones = 0;
+		int ausentes = 0;
+
+		for (Map.Entry<String, JsonNode> entrada : new TreeMap<>(actuales).entrySet()) {
+			JsonNode anterior = anteriores.get(entrada.getKey());
+			if (anterior == null) {
+				System.out.printf("NUEVO     %s%n", entrada.getKey());
+				continue;
+			}
+
+			double relativo = rendimientoRelativo(entrada.getValue(), anterior);
+			boolean regresion = relativo < 1 - umbral;
+			if (regresion) {
+				regresiones++;
+			}
+			System.out.printf("%-9s %s: %+.1f%%%n", regresion ? "REGRESIÓN" : "OK", entrada.getKey(),
+					(relativo - 1) * 100);
+		}
+
+		for (String clave : new TreeMap<>(anteriores).keySet()) {
+			if (!actuales.containsKey(clave)) {
+				ausentes++;
+				System.out.printf("AUSENTE   %s%n", clave);
+			}
+		}
+
+		if (regresiones > 0) {
+			System.out.printf("%d benchmark(s) han empeorado más de un %.0f%%%n", regresiones, umbral * 100);
+		}
+		if (ausentes > 0) {
+			System.out.printf("%d benchmark(s) de la referencia no se han ejecutado%n", ausentes);
+		}
+		if (regresiones > 0 || ausentes > 0) {
+			System.exit(1);
+		}
+	}
+
+	/*
+	 * Rendimiento actual respecto al anterior: mayor que 1 si ha mejorado. En los
+	 * modos que miden tiempo por operación, un valor menor es mejor.
+	 */
+	private static double rendimientoRelativo(JsonNode actual, JsonNode anterior) {
+		double puntuacionActual = actual.path("primaryMetric").path("score").asDouble();
+		double puntuacionAnterior = anterior.path("primaryMetric").path("score").asDouble();
+
+		if ("thrpt".equals(actual.path("mode").asText())) {
+			return puntuacionActual / puntuacionAnterior;
+		}
+		return puntuacionAnterior / puntuacionActual;
+	}
+
+	private static Map<String, JsonNode> leer(ObjectMapper objectMapper, File fichero) throws IOException {
+		Map<String, JsonNode> benchmarks = new HashMap<>();
+
+		for (JsonNode benchmark : objectMapper.readTree(fichero)) {
+			StringBuilder clave = new StringBuilder(benchmark.path("benchmark").asText());
+			Map<String, String> parametros = new TreeMap<>();
+			Iterator<Map.Entry<String, JsonNode>> campos = benchmark.path("params").fields();
+
+			while (campos.hasNext()) {
+				Map.Entry<String, JsonNode> campo = campos.next();
+				parametros.put(campo.getKey(), campo.getValue().asText());
+			}
+			if (!parametros.isEmpty()) {
+				clave.append(parametros);
+			}
+			benchmarks.put(clave.toString(), benchmark);
+		}
+		return benchmarks;
+	}
+}
@@ -0,0 +1,98 @@
+package com.viewnext.kidaprojects.biblioteca1.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.viewnext.kidaprojects.biblioteca1.Biblioteca1Application;
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+
+/**
+ * Utilidades compartidas por los benchmarks: generación de libros de prueba y
+ * arranque de la aplicación sobre una base de datos H2 en memoria.
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+final class DatosBenchmark {
+
+	static final int AUTORES = 500;
+
+	private DatosBenchmark() {
+
+	}
+
+	/**
+	 * Genera libros de prueba reproducibles con ISBN consecutivos.
+	 *
+	 * @param prefijo  El prefijo de los ISBN generados.
+	 * @param cantidad El número de libros.
+	 * @return La lista de libros generados.
+	 */
+	static List<Libro> generarLibros(String prefijo, int cantidad) {
+		SplittableRandom aleatorio = new SplittableRandom(42);
+		List<Libro> libros = new ArrayList<>(cantidad);
+
+		for (int i = 0; i < cantidad; i++) {
+			libros.add(new Libro(isbn(prefijo, i), "Título del libro número " + i,
+					autor(aleatorio.nextInt(AUTORES)), 5 + aleatorio.nextInt(60)));
+		}
+		return libros;
+	}
+
+	static String isbn(String prefijo, int numero) {
+		return prefijo + String.format("%010d", numero);
+	}
+
+	static String autor(int numero) {
+		return "Autor " + numero;
+	}
+
+	/**
+	 * Arranca la aplicación sin servidor web con el perfil {@code bench}.
+	 *
+	 * @param argumentos Propiedades adicionales, por ejemplo
+	 *                   {@code --biblioteca.escritura-diferida.habilitada=true}.
+	 * @return El contexto de la aplicación.
+	 */
+	static ConfigurableApplicationContext arrancarAplicacion(String... argumentos) {
+		System.setProperty("spring.devtools.restart.enabled", "false");
+
+		return new SpringApplicationBuilder(Biblioteca1Application.class)
+				.web(WebApplicationType.NONE)
+				.profiles("bench")
+				.run(argumentos);
+	}
+
+	/**
+	 * Arranca la aplicación con el servidor web en un puerto libre y el perfil
+	 * {@code bench}.
+	 *
+	 * @param argumentos Propiedades adicionales, por ejemplo
+	 *                   {@code --biblioteca.hilos-virtuales.habilitados=true}.
+	 * @return El contexto de la aplicación.
+	 */
+	static ConfigurableApplicationContext arrancarServidor(String... argumentos) {
+		System.setProperty("spring.devtools.restart.enabled", "false");
+
+		return new SpringApplicationBuilder(Biblioteca1Application.class)
+				.web(WebApplicationType.SERVLET)
+				.profiles("bench")
+				.properties("server.port=0")
+				.run(argumentos);
+	}
+
+	/**
+	 * Devuelve la URL base del servidor arrancado con {@link #arrancarServidor}.
+	 *
+	 * @param contexto El contexto de la aplicación.
+	 * @return La URL base, por ejemplo {@code http://localhost:54321}.
+	 */
+	static String urlBase(ConfigurableApplicationContext contexto) {
+		return "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+	}
+}
@@ -0,0 +1,69 @@
+package com.viewnext.kidaprojects.biblioteca1.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.viewnext.kidaprojects.biblioteca1.dto.ResultadoItemLibro;
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+import com.viewnext.kidaprojects.biblioteca1.service.AgrupadorCreaciones;
+import com.viewnext.kidaprojects.biblioteca1.service.LibroserviceImpl;
+
+/**
+ * Compara el ritmo de altas individuales concurrentes, como las de muchos
+ * clientes llamando a {@code POST /libro}, con y sin escritura diferida. Cada
+ * operación es un alta que se espera hasta que está guardada, igual que con la
+ * confirmación {@code CONFIRMADA}.
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(64)
+public class EscrituraDiferidaBenchmark {
+
+	private final AtomicLong siguienteIsbn = new AtomicLong();
+	private ConfigurableApplicationContext contexto;
+	private LibroserviceImpl libroService;
+	private AgrupadorCreaciones agrupadorCreaciones;
+
+	@Setup
+	public void preparar() {
+		contexto = DatosBenchmark.arrancarAplicacion("--biblioteca.escritura-diferida.habilitada=true");
+		libroService = contexto.getBean(LibroserviceImpl.class);
+		agrupadorCreaciones = contexto.getBean(AgrupadorCreaciones.class);
+	}
+
+	@TearDown
+	public void terminar() {
+		contexto.close();
+	}
+
+	@Benchmark
+	public Libro crearLibroDirecto() {
+		return libroService.crearLibro(libroNuevo());
+	}
+
+	@Benchmark
+	public ResultadoItemLibro crearLibroDiferido() {
+		return agrupadorCreaciones.crear(libroNuevo()).join();
+	}
+
+	private Libro libroNuevo() {
+		long numero = siguienteIsbn.getAndIncrement();
+		return new Libro(DatosBenchmark.isbn("diferido-", (int) numero), "Título del libro número " + numero,
+				DatosBenchmark.autor((int) (numero % DatosBenchmark.AUTORES)), 5 + (int) (numero % 60));
+	}
+}
@@ -0,0 +1,75 @@
+package com.viewnext.kidaprojects.biblioteca1.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.viewnext.kidaprojects.biblioteca1.service.LibroserviceImpl;
+
+/**
+ * Compara el rendimiento y la latencia de cola del servidor con hilos de
+ * plataforma y con hilos virtuales cuando lo atacan 1000 clientes concurrentes.
+ * 
+ * <p>
+ * Cada cliente busca libros por autor, una consulta que siempre llega a la base
+ * de datos. El modo {@code SampleTime} informa de los percentiles de latencia y
+ * el modo {@code Throughput} de las peticiones por segundo.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(1000)
+public class HilosVirtualesBenchmark {
+
+	@Param({ "false", "true" })
+	private boolean hilosVirtuales;
+
+	private ConfigurableApplicationContext contexto;
+	private HttpClient cliente;
+	private String urlBase;
+
+	@Setup
+	public void preparar() {
+		// Las peticiones esperan a una conexión libre en lugar de fallar: el pool es el límite de concurrencia
+		contexto = DatosBenchmark.arrancarServidor("--biblioteca.hilos-virtuales.habilitados=" + hilosVirtuales,
+				"--spring.datasource.hikari.connection-timeout=60000");
+		contexto.getBean(LibroserviceImpl.class).crearLibros(DatosBenchmark.generarLibros("hv-", 2000));
+		cliente = HttpClient.newHttpClient();
+		urlBase = DatosBenchmark.urlBase(contexto);
+	}
+
+	@TearDown
+	public void terminar() {
+		contexto.close();
+	}
+
+	@Benchmark
+	public int mostrarLibrosPorAutor() throws IOException, InterruptedException {
+		String autor = DatosBenchmark.autor(ThreadLocalRandom.current().nextInt(DatosBenchmark.AUTORES));
+		HttpRequest peticion = HttpRequest.newBuilder(URI.create(urlBase + "/libro/autor/" + autor.replace(" ", "%20")))
+				.GET()
+				.build();
+
+		return cliente.send(peticion, HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+}
@@ -0,0 +1,150 @@
+package com.viewnext.kidaprojects.biblioteca1.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Mide la latencia de las búsquedas por título y por autor sobre una tabla de
+ * un millón de libros con y sin los índices de la migración
+ * {@code V3__indices_titulo_autor}.
+ * 
+ * <p>
+ * El esquema se crea con las migraciones reales de Flyway sobre una base de
+ * datos H2 en memoria: sin índices se aplican solo hasta la versión 2, y con
+ * índices se aplica la versión 3 después de cargar los datos, como ocurre en
+ * una base de datos existente. Las consultas se lanzan con JDBC directamente
+ * para medir solo el coste en la base de datos.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class IndicesBenchmark {
+
+	private static final String URL = "jdbc:h2:mem:indices;MODE=MySQL;DB_CLOSE_DELAY=-1";
+	private static final String PREFIJO = "idx-";
+	private static final int LIBROS_POR_AUTOR = 20;
+	private static final int TAMANO_LOTE = 10000;
+
+	@Param({ "1000000" })
+	private int libros;
+
+	@Param({ "false", "true" })
+	private boolean indices;
+
+	private Connection conexion;
+	private PreparedStatement porTitulo;
+	private PreparedStatement porAutor;
+	private PreparedStatement porAutorYPrecio;
+
+	@Setup
+	public void preparar() throws SQLException {
+		conexion = DriverManager.getConnection(URL, "sa", "");
+		Flyway.configure().dataSource(URL, "sa", "").target("2").load().migrate();
+		cargarLibros();
+
+		if (indices) {
+			Flyway.configure().dataSource(URL, "sa", "").load().migrate();
+		}
+
+		try (Statement sentencia = conexion.createStatement()) {
+			sentencia.execute("ANALYZE");
+		}
+
+		porTitulo = conexion.prepareStatement("SELECT isbn, titulo, autor, precio FROM libros WHERE titulo = ?");
+		porAutor = conexion.prepareStatement("SELECT isbn, titulo, autor, precio FROM libros WHERE autor = ?");
+		porAutorYPrecio = conexion.prepareStatement(
+				"SELECT isbn, titulo, autor, precio FROM libros WHERE autor = ? ORDER BY precio LIMIT 5");
+	}
+
+	@TearDown
+	public void terminar() throws SQLException {
+		try (Statement sentencia = conexion.createStatement()) {
+			sentencia.execute("DROP ALL OBJECTS");
+		}
+		conexion.close();
+	}
+
+	@Benchmark
+	public int buscarPorTitulo() throws SQLException {
+		porTitulo.setString(1, titulo(ThreadLocalRandom.current().nextInt(libros)));
+		return contar(porTitulo);
+	}
+
+	@Benchmark
+	public int buscarPorAutor() throws SQLException {
+		porAutor.setString(1, DatosBenchmark.autor(ThreadLocalRandom.current().nextInt(autores())));
+		return contar(porAutor);
+	}
+
+	@Benchmark
+	public int buscarPorAutorOrdenadoPorPrecio() throws SQLException {
+		porAutorYPrecio.setString(1, DatosBenchmark.autor(ThreadLocalRandom.current().nextInt(autores())));
+		return contar(porAutorYPrecio);
+	}
+
+	private void cargarLibros() throws SQLException {
+		SplittableRandom aleatorio = new SplittableRandom(42);
+		conexion.setAutoCommit(false);
+
+		try (PreparedStatement insercion = conexion
+				.prepareStatement("INSERT INTO libros (isbn, titulo, autor, precio) VALUES (?, ?, ?, ?)")) {
+			for (int i = 0; i < libros; i++) {
+				insercion.setString(1, DatosBenchmark.isbn(PREFIJO, i));
+				insercion.setString(2, titulo(i));
+				insercion.setString(3, DatosBenchmark.autor(aleatorio.nextInt(autores())));
+				insercion.setInt(4, 5 + aleatorio.nextInt(60));
+				insercion.addBatch();
+
+				if ((i + 1) % TAMANO_LOTE == 0) {
+					insercion.executeBatch();
+					conexion.commit();
+				}
+			}
+			insercion.executeBatch();
+			conexion.commit();
+		}
+		conexion.setAutoCommit(true);
+	}
+
+	private int autores() {
+		return Math.max(1, libros / LIBROS_POR_AUTOR);
+	}
+
+	private static String titulo(int numero) {
+		return "Título del libro número " + numero;
+	}
+
+	private static int contar(PreparedStatement consulta) throws SQLException {
+		int filas = 0;
+		try (ResultSet resultado = consulta.executeQuery()) {
+			while (resultado.next()) {
+				filas++;
+			}
+		}
+		return filas;
+	}
+}
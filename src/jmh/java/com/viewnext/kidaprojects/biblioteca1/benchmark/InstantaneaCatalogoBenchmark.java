@@ -0,0 +1,73 @@
+package com.viewnext.kidaprojects.biblioteca1.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.viewnext.kidaprojects.biblioteca1.cache.InstantaneaCatalogo;
+import com.viewnext.kidaprojects.biblioteca1.service.LibroserviceImpl;
+
+/**
+ * Mide {@code GET /libros} con 10000 libros consultando la base de datos y
+ * serializando la lista en cada petición, y respondiendo con la copia
+ * serializada del catálogo. El cliente admite gzip, como un navegador.
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InstantaneaCatalogoBenchmark {
+
+	private static final int LIBROS = 10000;
+
+	@Param({ "false", "true" })
+	private boolean instantanea;
+
+	private ConfigurableApplicationContext contexto;
+	private HttpClient cliente;
+	private HttpRequest peticion;
+
+	@Setup
+	public void preparar() throws InterruptedException {
+		contexto = DatosBenchmark.arrancarServidor("--biblioteca.instantanea-catalogo.habilitada=" + instantanea);
+		contexto.getBean(LibroserviceImpl.class).crearLibros(DatosBenchmark.generarLibros("instantanea-", LIBROS));
+		if (instantanea) {
+			InstantaneaCatalogo instantaneaCatalogo = contexto.getBean(InstantaneaCatalogo.class);
+			while (instantaneaCatalogo.obtener() == null) {
+				Thread.sleep(100);
+			}
+		}
+
+		cliente = HttpClient.newHttpClient();
+		peticion = HttpRequest.newBuilder(URI.create(DatosBenchmark.urlBase(contexto) + "/libros"))
+				.header("Accept-Encoding", "gzip")
+				.GET()
+				.build();
+	}
+
+	@TearDown
+	public void terminar() {
+		contexto.close();
+	}
+
+	@Benchmark
+	public byte[] mostrarLibros() throws IOException, InterruptedException {
+		return cliente.send(peticion, HttpResponse.BodyHandlers.ofByteArray()).body();
+	}
+}
@@ -0,0 +1,52 @@
+package com.viewnext.kidaprojects.biblioteca1.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.viewnext.kidaprojects.biblioteca1.dto.LibroDTO;
+import com.viewnext.kidaprojects.biblioteca1.mapper.LibroMapper;
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+
+/**
+ * Mide la conversión de listas entre {@code Libro} y {@code LibroDTO}.
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LibroMapperBenchmark {
+
+	@Param({ "10", "1000", "100000" })
+	private int tamano;
+
+	private final LibroMapper libroMapper = new LibroMapper();
+	private List<Libro> libros;
+	private List<LibroDTO> librosDTO;
+
+	@Setup
+	public void preparar() {
+		libros = DatosBenchmark.generarLibros("map-", tamano);
+		librosDTO = libroMapper.toListaLibrosDTO(libros);
+	}
+
+	@Benchmark
+	public List<LibroDTO> toListaLibrosDTO() {
+		return libroMapper.toListaLibrosDTO(libros);
+	}
+
+	@Benchmark
+	public List<Libro> toListaLibros() {
+		return libroMapper.toListaLibros(librosDTO);
+	}
+}
@@ -0,0 +1,111 @@
+package com.viewnext.kidaprojects.biblioteca1.benchmark;
+
+import java.util.List;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.viewnext.kidaprojects.biblioteca1.dto.PaginaLibros;
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+import com.viewnext.kidaprojects.biblioteca1.service.CampoLibro;
+import com.viewnext.kidaprojects.biblioteca1.service.LibroserviceImpl;
+import com.viewnext.kidaprojects.biblioteca1.service.OrdenLibros;
+
+/**
+ * Mide las búsquedas de {@code LibroserviceImpl} contra una base de datos H2 en
+ * memoria con el catálogo precargado.
+ * 
+ * <p>
+ * Los métodos {@code mostrarLibros*} comparan el listado completo como
+ * entidades gestionadas, como DTO y con solo dos campos; con
+ * {@code -prof gc} se ve además la memoria asignada por operación.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LibroServiceBenchmark {
+
+	private static final String PREFIJO = "srv-";
+	private static final Set<CampoLibro> CAMPOS = EnumSet.of(CampoLibro.ISBN, CampoLibro.TITULO);
+
+	@Param({ "10000" })
+	private int libros;
+
+	private ConfigurableApplicationContext contexto;
+	private LibroserviceImpl libroService;
+
+	@Setup
+	public void preparar() {
+		contexto = DatosBenchmark.arrancarAplicacion();
+		libroService = contexto.getBean(LibroserviceImpl.class);
+		libroService.crearLibros(DatosBenchmark.generarLibros(PREFIJO, libros));
+	}
+
+	@TearDown
+	public void terminar() {
+		contexto.close();
+	}
+
+	@Benchmark
+	public Libro mostrarLibroPorIsbn() {
+		return libroService.mostrarLibroPorIsbn(isbnAleatorio());
+	}
+
+	@Benchmark
+	public Optional<Libro> findById() {
+		return libroService.findById(isbnAleatorio());
+	}
+
+	@Benchmark
+	public List<Libro> mostrarLibrosPorAutor() {
+		return libroService.mostrarLibrosPorAutor(
+				DatosBenchmark.autor(ThreadLocalRandom.current().nextInt(DatosBenchmark.AUTORES)));
+	}
+
+	@Benchmark
+	public PaginaLibros mostrarPaginaLibros() {
+		String cursor = libroService.mostrarPaginaLibros(null, 1, OrdenLibros.PRECIO).getSiguiente();
+		return libroService.mostrarPaginaLibros(cursor, 100, OrdenLibros.PRECIO);
+	}
+
+	@Benchmark
+	public List<Libro> buscarLibros() {
+		return libroService.buscarLibros("autor " + ThreadLocalRandom.current().nextInt(DatosBenchmark.AUTORES), 20);
+	}
+
+	@Benchmark
+	public List<Libro> mostrarLibrosEntidades() {
+		return libroService.mostrarLibros();
+	}
+
+	@Benchmark
+	public List<?> mostrarLibrosDTO() {
+		return libroService.mostrarLibros((Set<CampoLibro>) null);
+	}
+
+	@Benchmark
+	public List<?> mostrarLibrosCampos() {
+		return libroService.mostrarLibros(CAMPOS);
+	}
+
+	private String isbnAleatorio() {
+		return DatosBenchmark.isbn(PREFIJO, ThreadLocalRandom.current().nextInt(libros));
+	}
+}
@@ -0,0 +1,75 @@
+package com.viewnext.kidaprojects.biblioteca1.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+
+/**
+ * Mide la serialización y deserialización con Jackson de listas de libros de
+ * distintos tamaños, como las que devuelve {@code GET /libros}, en JSON y en
+ * los formatos binarios CBOR y Smile. El tamaño en bytes de cada lista
+ * codificada se muestra al preparar cada combinación.
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SerializacionBenchmark {
+
+	private static final TypeReference<List<Libro>> LISTA_LIBROS = new TypeReference<>() {
+	};
+
+	@Param({ "10", "1000", "100000" })
+	private int tamano;
+
+	@Param({ "json", "cbor", "smile" })
+	private String formato;
+
+	private ObjectMapper objectMapper;
+	private List<Libro> libros;
+	private byte[] codificados;
+
+	@Setup
+	public void preparar() throws IOException {
+		objectMapper = new ObjectMapper(fabrica(formato));
+		libros = DatosBenchmark.generarLibros("json-", tamano);
+		codificados = objectMapper.writeValueAsBytes(libros);
+		System.out.printf("%n%s, %d libros: %d bytes%n", formato, tamano, codificados.length);
+	}
+
+	private static JsonFactory fabrica(String formato) {
+		return switch (formato) {
+		case "cbor" -> new CBORFactory();
+		case "smile" -> new SmileFactory();
+		default -> new JsonFactory();
+		};
+	}
+
+	@Benchmark
+	public byte[] serializar() throws IOException {
+		return objectMapper.writeValueAsBytes(libros);
+	}
+
+	@Benchmark
+	public List<Libro> deserializar() throws IOException {
+		return objectMapper.readValue(codificados, LISTA_LIBROS);
+	}
+}
@@ -4,12 +4,17 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @EntityScan(basePackages = "com.viewnext.kidaprojects.biblioteca1.model")
 @EnableJpaRepositories(basePackages = "com.viewnext.kidaprojects.biblioteca1.repository")
+@EnableScheduling
 @SpringBootApplication(scanBasePackages = {"com.viewnext.kidaprojects.biblioteca1.service", 
-		"com.viewnext.kidaprojects.biblioteca1.restcontroller"})
+		"com.viewnext.kidaprojects.biblioteca1.restcontroller",
+		"com.viewnext.kidaprojects.biblioteca1.cache",
+		"com.viewnext.kidaprojects.biblioteca1.search",
+		"com.viewnext.kidaprojects.biblioteca1.config"})
 public class Biblioteca1Application {
 
 	public static void main(String[] args) {
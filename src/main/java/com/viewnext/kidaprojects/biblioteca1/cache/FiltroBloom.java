@@ -0,0 +1,104 @@
+package com.viewnext.kidaprojects.biblioteca1.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de cadenas de tamaño fijo y seguro para hilos.
+ * 
+ * <p>
+ * Responde si una cadena "puede estar" o "seguro que no está" en el conjunto
+ * con una tasa de falsos positivos acotada y sin falsos negativos. Las altas
+ * se hacen con operaciones atómicas sobre los bits, sin bloqueos; no admite
+ * bajas.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+final class FiltroBloom {
+
+	private final AtomicLongArray bits;
+	private final long numeroBits;
+	private final int numeroFunciones;
+
+	/**
+	 * Crea un filtro dimensionado para el número de elementos y la tasa de falsos
+	 * positivos indicados.
+	 *
+	 * @param capacidad          El número de elementos previsto.
+	 * @param tasaFalsosPositivos La tasa de falsos positivos deseada con esa
+	 *                           capacidad, por ejemplo 0.01.
+	 */
+	FiltroBloom(long capacidad, double tasaFalsosPositivos) {
+		long n = Math.max(1, capacidad);
+		long m = (long) Math.ceil(-n * Math.log(tasaFalsosPositivos) / (Math.log(2) * Math.log(2)));
+		int palabras = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64);
+
+		this.bits = new AtomicLongArray(palabras);
+		this.numeroBits = palabras * 64L;
+		this.numeroFunciones = Math.max(1, (int) Math.round((double) numeroBits / n * Math.log(2)));
+	}
+
+	void anadir(String valor) {
+		long h1 = hash(valor);
+		long h2 = mezclar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+
+		for (int i = 0; i < numeroFunciones; i++) {
+			long bit = Math.floorMod(h1 + i * h2, numeroBits);
+			int palabra = (int) (bit >>> 6);
+			long mascara = 1L << bit;
+
+			long actual = bits.get(palabra);
+			while ((actual & mascara) == 0) {
+				long anterior = bits.compareAndExchange(palabra, actual, actual | mascara);
+				if (anterior == actual) {
+					break;
+				}
+				actual = anterior;
+			}
+		}
+	}
+
+	boolean puedeContener(String valor) {
+		long h1 = hash(valor);
+		long h2 = mezclar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+
+		for (int i = 0; i < numeroFunciones; i++) {
+			long bit = Math.floorMod(h1 + i * h2, numeroBits);
+			if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	long getNumeroBits() {
+		return numeroBits;
+	}
+
+	int getNumeroFunciones() {
+		return numeroFunciones;
+	}
+
+	/*
+	 * FNV-1a de 64 bits sobre los caracteres, seguido de la mezcla final de
+	 * MurmurHash3 para repartir bien los bits de cadenas muy parecidas.
+	 */
+	private static long hash(String valor) {
+		long h = 0xCBF29CE484222325L;
+		for (int i = 0; i < valor.length(); i++) {
+			h ^= valor.charAt(i);
+			h *= 0x100000001B3L;
+		}
+		return mezclar(h);
+	}
+
+	private static long mezclar(long h) {
+		h ^= h >>> 33;
+		h *= 0xFF51AFD7ED558CCDL;
+		h ^= h >>> 33;
+		h *= 0xC4CEB9FE1A85EC53L;
+		h ^= h >>> 33;
+		return h;
+	}
+}
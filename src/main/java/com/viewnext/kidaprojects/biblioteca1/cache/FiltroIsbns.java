@@ -0,0 +1,135 @@
+package com.viewnext.kidaprojects.biblioteca1.cache;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.viewnext.kidaprojects.biblioteca1.event.LibroEvento;
+import com.viewnext.kidaprojects.biblioteca1.service.LectorCatalogo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Filtro de Bloom con los ISBN de todos los libros del catálogo.
+ * 
+ * <p>
+ * Permite responder sin consultar la base de datos a las búsquedas,
+ * actualizaciones y eliminaciones de ISBN que seguro que no existen. Se
+ * construye al arrancar la aplicación, añade los libros que se crean y se
+ * reconstruye periódicamente ({@code biblioteca.filtro-isbns.reconstruccion})
+ * para olvidar los eliminados, que mientras tanto siguen pasando el filtro y se
+ * consultan en la base de datos. La reconstrucción también recoge los libros
+ * que se hayan insertado en la base de datos por otras vías.
+ * </p>
+ * 
+ * <p>
+ * Mientras no se ha construido por primera vez, el filtro deja pasar todos los
+ * ISBN. El número de ISBN descartados se publica en la métrica
+ * {@code biblioteca.filtro.isbns.descartados}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@Component
+public class FiltroIsbns {
+
+	/*
+	 * El filtro se dimensiona para el doble de libros de los que hay al
+	 * construirlo, de modo que la tasa de falsos positivos se mantiene hasta la
+	 * siguiente reconstrucción aunque el catálogo crezca.
+	 */
+	private static final int FACTOR_CRECIMIENTO = 2;
+
+	private final double tasaFalsosPositivos;
+	private final long capacidadMinima;
+	private final Counter descartados;
+
+	private volatile FiltroBloom filtro;
+	private volatile Set<String> altasDuranteReconstruccion;
+
+	@Autowired
+	private LectorCatalogo lectorCatalogo;
+
+	public FiltroIsbns(@Value("${biblioteca.filtro-isbns.falsos-positivos:0.01}") double tasaFalsosPositivos,
+			@Value("${biblioteca.filtro-isbns.capacidad-minima:100000}") long capacidadMinima,
+			MeterRegistry meterRegistry) {
+		this.tasaFalsosPositivos = tasaFalsosPositivos;
+		this.capacidadMinima = capacidadMinima;
+		this.descartados = Counter.builder("biblioteca.filtro.isbns.descartados")
+				.description("Búsquedas de ISBN inexistentes resueltas sin consultar la base de datos")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Construye un filtro nuevo con los ISBN de la base de datos y sustituye al
+	 * actual. Los libros creados mientras se construye se añaden también al
+	 * filtro nuevo.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${biblioteca.filtro-isbns.reconstruccion:PT10M}",
+			initialDelayString = "${biblioteca.filtro-isbns.reconstruccion:PT10M}")
+	public synchronized void reconstruir() {
+		Set<String> altas = ConcurrentHashMap.newKeySet();
+		altasDuranteReconstruccion = altas;
+		try {
+			FiltroBloom nuevo = new FiltroBloom(Math.max(capacidadMinima, lectorCatalogo.contar() * FACTOR_CRECIMIENTO),
+					tasaFalsosPositivos);
+			lectorCatalogo.recorrerIsbns(nuevo::anadir);
+
+			filtro = nuevo;
+			// Las altas anteriores al cambio pueden haber llegado solo al filtro antiguo
+			altas.forEach(nuevo::anadir);
+		} finally {
+			altasDuranteReconstruccion = null;
+		}
+	}
+
+	/**
+	 * Añade al filtro los libros creados, una vez confirmada la transacción que
+	 * los crea.
+	 *
+	 * @param evento El evento de modificación del libro.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void alModificarLibro(LibroEvento evento) {
+		if (evento.getTipo() != LibroEvento.Tipo.CREADO) {
+			return;
+		}
+
+		Set<String> altas = altasDuranteReconstruccion;
+		if (altas != null) {
+			altas.add(evento.getIsbn());
+		}
+
+		FiltroBloom actual = filtro;
+		if (actual != null) {
+			actual.anadir(evento.getIsbn());
+		}
+	}
+
+	/**
+	 * Comprueba si puede existir un libro con el ISBN indicado.
+	 *
+	 * @param isbn El ISBN del libro.
+	 * @return {@code false} si seguro que no existe; {@code true} si puede
+	 *         existir y hay que consultarlo.
+	 */
+	public boolean puedeExistir(String isbn) {
+		FiltroBloom actual = filtro;
+
+		if (isbn == null || actual != null && !actual.puedeContener(isbn)) {
+			descartados.increment();
+			return false;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,148 @@
+package com.viewnext.kidaprojects.biblioteca1.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.viewnext.kidaprojects.biblioteca1.config.EnrutadorDataSource;
+import com.viewnext.kidaprojects.biblioteca1.dto.LibroDTO;
+import com.viewnext.kidaprojects.biblioteca1.event.LibroEvento;
+import com.viewnext.kidaprojects.biblioteca1.service.LibroserviceImpl;
+
+/**
+ * Copia del catálogo completo ya serializado en JSON, sin comprimir y
+ * comprimido con gzip, para responder a {@code GET /libros} sin consultar la
+ * base de datos ni serializar nada.
+ * 
+ * <p>
+ * Se activa con {@code biblioteca.instantanea-catalogo.habilitada=true}. La
+ * copia se construye en segundo plano al arrancar la aplicación y después de
+ * cada modificación del catálogo. Las modificaciones que llegan seguidas (por
+ * ejemplo, en una carga por lotes) se agrupan en una sola reconstrucción, que
+ * se hace {@code biblioteca.instantanea-catalogo.espera} después de la primera.
+ * </p>
+ * 
+ * <p>
+ * Cada copia guarda la versión del catálogo que se leyó antes de consultar la
+ * base de datos, como las ETag de {@link VersionCatalogo}, y solo se entrega
+ * mientras esa versión sea la actual. Por eso, con réplica configurada, el
+ * catálogo se lee de la base de datos primaria. Mientras se reconstruye, las
+ * peticiones se responden consultando la base de datos como siempre.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@Component
+@ConditionalOnProperty(name = "biblioteca.instantanea-catalogo.habilitada", havingValue = "true")
+public class InstantaneaCatalogo {
+
+	/**
+	 * Catálogo serializado en una versión concreta.
+	 *
+	 * @param version   La versión del catálogo.
+	 * @param identidad El catálogo en JSON.
+	 * @param gzip      El catálogo en JSON comprimido con gzip.
+	 */
+	public record Instantanea(long version, byte[] identidad, byte[] gzip) {
+	}
+
+	private final Duration espera;
+	private final AtomicBoolean reconstruccionPendiente = new AtomicBoolean();
+	private volatile Instantanea actual;
+
+	@Autowired
+	private VersionCatalogo versionCatalogo;
+
+	@Autowired
+	private LibroserviceImpl libroService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private TaskScheduler taskScheduler;
+
+	public InstantaneaCatalogo(@Value("${biblioteca.instantanea-catalogo.espera:200ms}") Duration espera) {
+		this.espera = espera;
+	}
+
+	/**
+	 * Devuelve la copia del catálogo si corresponde a su versión actual.
+	 *
+	 * @return La copia del catálogo, o {@code null} si todavía no se ha
+	 *         construido o el catálogo ha cambiado desde entonces.
+	 */
+	public Instantanea obtener() {
+		Instantanea instantanea = actual;
+		if (instantanea == null || instantanea.version() != versionCatalogo.getVersion()) {
+			solicitarReconstruccion();
+			return null;
+		}
+		return instantanea;
+	}
+
+	/**
+	 * Programa la construcción de la copia del catálogo al arrancar la
+	 * aplicación.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void alArrancar() {
+		solicitarReconstruccion();
+	}
+
+	/**
+	 * Programa la reconstrucción de la copia una vez confirmada la modificación
+	 * de un libro.
+	 *
+	 * @param evento El evento de modificación del libro.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void alModificarLibro(LibroEvento evento) {
+		solicitarReconstruccion();
+	}
+
+	private void solicitarReconstruccion() {
+		if (reconstruccionPendiente.compareAndSet(false, true)) {
+			taskScheduler.schedule(this::reconstruir, Instant.now().plus(espera));
+		}
+	}
+
+	private void reconstruir() {
+		// Las modificaciones que lleguen a partir de aquí programan otra reconstrucción
+		reconstruccionPendiente.set(false);
+
+		long version = versionCatalogo.getVersion();
+		try {
+			// La copia se sirve hasta la siguiente modificación: no puede leerse de una réplica con retraso
+			List<LibroDTO> libros = EnrutadorDataSource.enPrimaria(() -> libroService.findAllLibrosDTO());
+			byte[] identidad = objectMapper.writeValueAsBytes(libros);
+			actual = new Instantanea(version, identidad, comprimir(identidad));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static byte[] comprimir(byte[] datos) throws IOException {
+		ByteArrayOutputStream salida = new ByteArrayOutputStream(datos.length / 4);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(salida, 64 * 1024)) {
+			gzip.write(datos);
+		}
+		return salida.toByteArray();
+	}
+}
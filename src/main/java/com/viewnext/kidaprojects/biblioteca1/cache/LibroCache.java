@@ -0,0 +1,123 @@
+package com.viewnext.kidaprojects.biblioteca1.cache;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.viewnext.kidaprojects.biblioteca1.dto.EstadisticasCache;
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Caché en memoria de libros indexada por ISBN.
+ * 
+ * <p>
+ * La caché {@code LibroCache} evita consultar la base de datos en cada búsqueda
+ * por ISBN. Está limitada por el tamaño aproximado en bytes de los libros que
+ * contiene, sus entradas caducan pasado un tiempo desde que se escribieron y,
+ * cuando se llena, Caffeine desaloja primero los libros que se consultan con
+ * menos frecuencia, de modo que los títulos más solicitados permanecen en ella.
+ * </p>
+ * 
+ * <p>
+ * El servicio de libros es el responsable de refrescar o invalidar las entradas
+ * cada vez que crea, actualiza o elimina un libro. Las estadísticas de la caché
+ * se publican también como métricas con el nombre {@code cache.*} y la etiqueta
+ * {@code cache=libros}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@Component
+public class LibroCache {
+
+	/*
+	 * Coste aproximado de un libro en memoria sin contar sus cadenas: cabeceras
+	 * de objeto, referencias y la entrada de la propia caché.
+	 */
+	private static final int PESO_BASE = 128;
+
+	private final Cache<String, Libro> cache;
+
+	public LibroCache(@Value("${biblioteca.cache.libros.peso-maximo:16MB}") DataSize pesoMaximo,
+			@Value("${biblioteca.cache.libros.expiracion:10m}") Duration expiracion, MeterRegistry meterRegistry) {
+		this.cache = Caffeine.newBuilder()
+				.maximumWeight(pesoMaximo.toBytes())
+				.weigher((String isbn, Libro libro) -> pesar(libro))
+				.expireAfterWrite(expiracion)
+				.recordStats()
+				.build();
+
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "libros");
+	}
+
+	/**
+	 * Obtiene un libro de la caché o, si no está, lo carga con la función
+	 * indicada y lo guarda. Si la función devuelve {@code null} no se guarda nada.
+	 *
+	 * @param isbn     El ISBN del libro.
+	 * @param cargador La función que busca el libro cuando no está en la caché.
+	 * @return El libro, o {@code null} si no existe.
+	 */
+	public Libro obtener(String isbn, Function<String, Libro> cargador) {
+		return cache.get(isbn, cargador);
+	}
+
+	/**
+	 * Obtiene un libro de la caché sin cargarlo si no está.
+	 *
+	 * @param isbn El ISBN del libro.
+	 * @return El libro, o {@code null} si no está en la caché.
+	 */
+	public Libro consultar(String isbn) {
+		return cache.getIfPresent(isbn);
+	}
+
+	/**
+	 * Guarda en la caché la versión más reciente de un libro.
+	 *
+	 * @param libro El libro que se desea guardar.
+	 */
+	public void guardar(Libro libro) {
+		cache.put(libro.getIsbn(), libro);
+	}
+
+	/**
+	 * Elimina de la caché el libro con el ISBN indicado.
+	 *
+	 * @param isbn El ISBN del libro que se desea invalidar.
+	 */
+	public void invalidar(String isbn) {
+		cache.invalidate(isbn);
+	}
+
+	/**
+	 * Obtiene las estadísticas de uso de la caché desde el arranque.
+	 *
+	 * @return Los aciertos, fallos, desalojos y ocupación de la caché.
+	 */
+	public EstadisticasCache estadisticas() {
+		CacheStats stats = cache.stats();
+		long pesoTotal = cache.policy().eviction().map(eviccion -> eviccion.weightedSize().orElse(0L)).orElse(0L);
+
+		return new EstadisticasCache(stats.hitCount(), stats.missCount(), stats.evictionCount(), stats.hitRate(),
+				cache.estimatedSize(), pesoTotal);
+	}
+
+	private static int pesar(Libro libro) {
+		return PESO_BASE + 2 * (longitud(libro.getIsbn()) + longitud(libro.getTitulo()) + longitud(libro.getAutor()));
+	}
+
+	private static int longitud(String texto) {
+		return texto == null ? 0 : texto.length();
+	}
+}
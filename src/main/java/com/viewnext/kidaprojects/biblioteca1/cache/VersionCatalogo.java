@@ -0,0 +1,144 @@
+package com.viewnext.kidaprojects.biblioteca1.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.viewnext.kidaprojects.biblioteca1.event.LibroEvento;
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+
+/**
+ * Versión del catálogo y de cada libro, para generar las ETag de las respuestas.
+ * 
+ * <p>
+ * El catálogo tiene un contador que se incrementa cada vez que se confirma la
+ * creación, actualización o eliminación de un libro, y cada libro guarda el
+ * valor del contador en su última modificación. Solo se guarda la versión de
+ * los libros que existen: al eliminar un libro se olvida la suya, de modo que
+ * la memoria usada no crece con los libros eliminados. Los libros sin versión
+ * propia (los no modificados desde el arranque) toman la de la última
+ * eliminación, así que una ETag anterior a la eliminación de un libro deja
+ * de coincidir aunque luego se vuelva a crear. Las ETag se forman con un
+ * identificador del arranque y la versión, de modo que comprobar la cabecera
+ * {@code If-None-Match} del catálogo no requiere consultar la base de datos ni
+ * serializar nada, y una ETag emitida antes de un reinicio (o por otra
+ * instancia) nunca coincide.
+ * </p>
+ * 
+ * <p>
+ * La ETag de un libro empieza además por la versión de la fila (el campo
+ * {@code version} del libro), de modo que el cliente puede reenviarla tal cual
+ * en la cabecera {@code If-Match} de una actualización o eliminación. Como
+ * cada modificación del libro cambia su versión en el catálogo, basta esta
+ * para saber si una ETag del libro sigue vigente, sin leer el libro.
+ * </p>
+ * 
+ * <p>
+ * La versión se incrementa después de confirmar la transacción, así que debe
+ * leerse <b>antes</b> de leer los datos: en el peor caso la respuesta contiene
+ * datos más recientes que su ETag y el cliente vuelve a descargarlos en la
+ * siguiente petición, pero nunca se responde 304 con datos obsoletos.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@Component
+public class VersionCatalogo {
+
+	private final String arranque = Long.toString(System.currentTimeMillis(), 36);
+	private final AtomicLong version = new AtomicLong();
+	private final AtomicLong ultimaEliminacion = new AtomicLong();
+	private final Map<String, Long> versionesLibros = new ConcurrentHashMap<>();
+
+	/**
+	 * Incrementa la versión del catálogo y la del libro modificado, una vez
+	 * confirmada la transacción que lo modifica. La versión de un libro
+	 * eliminado se olvida después de anotar la eliminación, que es la que pasan
+	 * a tener los libros sin versión propia.
+	 *
+	 * @param evento El evento de modificación del libro.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void alModificarLibro(LibroEvento evento) {
+		long nueva = version.incrementAndGet();
+		if (evento.getTipo() == LibroEvento.Tipo.BORRADO) {
+			ultimaEliminacion.accumulateAndGet(nueva, Math::max);
+			versionesLibros.remove(evento.getIsbn());
+		} else {
+			versionesLibros.put(evento.getIsbn(), nueva);
+		}
+	}
+
+	/**
+	 * Devuelve la ETag fuerte del estado actual del catálogo completo.
+	 *
+	 * @return La ETag, con comillas incluidas.
+	 */
+	public String etagCatalogo() {
+		return etag(version.get());
+	}
+
+	/**
+	 * Devuelve la ETag fuerte del catálogo completo en una versión concreta.
+	 *
+	 * @param version La versión del catálogo.
+	 * @return La ETag, con comillas incluidas.
+	 */
+	public String etagCatalogo(long version) {
+		return etag(version);
+	}
+
+	/**
+	 * Devuelve la versión actual del catálogo completo.
+	 *
+	 * @return El número de modificaciones confirmadas desde el arranque.
+	 */
+	public long getVersion() {
+		return version.get();
+	}
+
+	/**
+	 * Devuelve la versión actual de un libro en el catálogo.
+	 *
+	 * @param isbn El ISBN del libro.
+	 * @return La versión del catálogo en la última modificación del libro, o en
+	 *         la última eliminación si no se ha modificado desde el arranque.
+	 */
+	public long getVersionLibro(String isbn) {
+		Long versionLibro = versionesLibros.get(isbn);
+		return versionLibro != null ? versionLibro : ultimaEliminacion.get();
+	}
+
+	/**
+	 * Devuelve la ETag fuerte de un libro, formada por la versión de su fila y su
+	 * versión en el catálogo.
+	 *
+	 * @param libro   El libro.
+	 * @param version La versión del libro en el catálogo, leída antes que el
+	 *                libro.
+	 * @return La ETag, con comillas incluidas.
+	 */
+	public String etagLibro(Libro libro, long version) {
+		return etagLibro(libro.getVersion() == null ? 0 : libro.getVersion(), version);
+	}
+
+	/**
+	 * Devuelve la ETag fuerte de un libro a partir de la versión de su fila, sin
+	 * necesidad de tener el libro.
+	 *
+	 * @param versionFila La versión de la fila del libro.
+	 * @param version     La versión del libro en el catálogo.
+	 * @return La ETag, con comillas incluidas.
+	 */
+	public String etagLibro(long versionFila, long version) {
+		return "\"" + versionFila + "." + arranque + "." + version + "\"";
+	}
+
+	private String etag(long version) {
+		return "\"" + arranque + "." + version + "\"";
+	}
+}
@@ -0,0 +1,132 @@
+package com.viewnext.kidaprojects.biblioteca1.config;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Conversor de mensajes HTTP que mide el tiempo de serialización de las
+ * respuestas de otro conversor.
+ * 
+ * <p>
+ * Publica el temporizador {@code biblioteca.serializacion} etiquetado con la
+ * ruta del endpoint y el formato de la respuesta. Junto con
+ * {@code spring.data.repository.invocations}, que mide las consultas, permite
+ * saber si un endpoint lento lo es por la base de datos o por la respuesta. El
+ * tiempo incluye la escritura en el flujo de salida, por lo que en respuestas
+ * grandes refleja también la velocidad del cliente.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+public class ConvertidorMedido implements GenericHttpMessageConverter<Object> {
+
+	static final String METRICA = "biblioteca.serializacion";
+
+	private final GenericHttpMessageConverter<Object> delegado;
+	private final MeterRegistry meterRegistry;
+
+	public ConvertidorMedido(GenericHttpMessageConverter<Object> delegado, MeterRegistry meterRegistry) {
+		this.delegado = delegado;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public boolean canRead(Class<?> clazz, MediaType mediaType) {
+		return delegado.canRead(clazz, mediaType);
+	}
+
+	@Override
+	public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+		return delegado.canRead(type, contextClass, mediaType);
+	}
+
+	@Override
+	public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+		return delegado.canWrite(clazz, mediaType);
+	}
+
+	@Override
+	public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+		return delegado.canWrite(type, clazz, mediaType);
+	}
+
+	@Override
+	public List<MediaType> getSupportedMediaTypes() {
+		return delegado.getSupportedMediaTypes();
+	}
+
+	@Override
+	public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+		return delegado.getSupportedMediaTypes(clazz);
+	}
+
+	@Override
+	public Object read(Class<? extends Object> clazz, HttpInputMessage inputMessage)
+			throws IOException, HttpMessageNotReadableException {
+		return delegado.read(clazz, inputMessage);
+	}
+
+	@Override
+	public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+			throws IOException, HttpMessageNotReadableException {
+		return delegado.read(type, contextClass, inputMessage);
+	}
+
+	@Override
+	public void write(Object t, MediaType contentType, HttpOutputMessage outputMessage)
+			throws IOException, HttpMessageNotWritableException {
+		Timer.Sample muestra = Timer.start(meterRegistry);
+		try {
+			delegado.write(t, contentType, outputMessage);
+		} finally {
+			muestra.stop(temporizador(contentType, outputMessage));
+		}
+	}
+
+	@Override
+	public void write(Object t, Type type, MediaType contentType, HttpOutputMessage outputMessage)
+			throws IOException, HttpMessageNotWritableException {
+		Timer.Sample muestra = Timer.start(meterRegistry);
+		try {
+			delegado.write(t, type, contentType, outputMessage);
+		} finally {
+			muestra.stop(temporizador(contentType, outputMessage));
+		}
+	}
+
+	private Timer temporizador(MediaType contentType, HttpOutputMessage outputMessage) {
+		MediaType formato = outputMessage.getHeaders().getContentType();
+		if (formato == null) {
+			formato = contentType;
+		}
+
+		return Timer.builder(METRICA)
+				.description("Tiempo de serialización y escritura del cuerpo de las respuestas")
+				.tag("uri", rutaActual())
+				.tag("formato", formato == null ? "desconocido" : formato.getSubtype())
+				.register(meterRegistry);
+	}
+
+	private static String rutaActual() {
+		RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+		Object ruta = atributos == null ? null
+				: atributos.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+
+		return ruta == null ? "UNKNOWN" : ruta.toString();
+	}
+}
@@ -0,0 +1,136 @@
+package com.viewnext.kidaprojects.biblioteca1.config;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Origen de datos que reparte las conexiones entre la base de datos primaria
+ * y una réplica de solo lectura.
+ *
+ * <p>
+ * Las transacciones de solo lectura ({@code @Transactional(readOnly = true)})
+ * se ejecutan en la réplica y todo lo demás en la primaria. Cuando un hilo ha
+ * abierto una transacción de escritura, sus lecturas posteriores también van a
+ * la primaria, de modo que una petición siempre ve sus propias escrituras
+ * aunque la réplica vaya con retraso. {@link FiltroEscriturasPeticion} olvida
+ * las escrituras al terminar cada petición.
+ * </p>
+ *
+ * <p>
+ * La decisión se toma al ejecutar la primera sentencia de la transacción, y
+ * no al empezarla, gracias a {@link LazyConnectionDataSourceProxy}: cuando el
+ * gestor de transacciones pide la conexión todavía no ha marcado la
+ * transacción como de solo lectura.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+public class EnrutadorDataSource extends AbstractRoutingDataSource {
+
+	private static final String PRIMARIA = "primaria";
+	private static final String REPLICA = "replica";
+
+	private static final ThreadLocal<Boolean> haEscrito = new ThreadLocal<>();
+	private static final ThreadLocal<Boolean> enBloquePrimaria = new ThreadLocal<>();
+
+	private EnrutadorDataSource(DataSource primaria, DataSource replica) {
+		setTargetDataSources(Map.of(PRIMARIA, primaria, REPLICA, replica));
+		setDefaultTargetDataSource(primaria);
+		afterPropertiesSet();
+	}
+
+	/**
+	 * Crea el origen de datos que enruta entre la primaria y la réplica.
+	 *
+	 * @param primaria El origen de datos de la base de datos primaria.
+	 * @param replica  El origen de datos de la réplica de solo lectura.
+	 * @return El origen de datos que usan JPA y el gestor de transacciones.
+	 */
+	public static DataSource crear(DataSource primaria, DataSource replica) {
+		return new LazyConnectionDataSourceProxy(new EnrutadorDataSource(primaria, replica));
+	}
+
+	/**
+	 * Ejecuta la tarea con todas sus lecturas en la base de datos primaria.
+	 *
+	 * <p>
+	 * Lo usan los recorridos del catálogo completo, que no pueden perder los
+	 * libros recién creados que aún no han llegado a la réplica.
+	 * </p>
+	 *
+	 * @param tarea La tarea que se desea ejecutar.
+	 */
+	public static void enPrimaria(Runnable tarea) {
+		enPrimaria(() -> {
+			tarea.run();
+			return null;
+		});
+	}
+
+	/**
+	 * Ejecuta la consulta con todas sus lecturas en la base de datos primaria.
+	 *
+	 * <p>
+	 * Lo usan también las lecturas cuyo resultado se guarda en caché, que no
+	 * pueden guardar un libro obsoleto leído de una réplica con retraso.
+	 * </p>
+	 *
+	 * <p>
+	 * Al terminar solo se deshace la marca del bloque: si la consulta ha escrito
+	 * en la primaria, las lecturas posteriores del hilo siguen yendo a ella.
+	 * </p>
+	 *
+	 * @param <T>      El tipo del resultado.
+	 * @param consulta La consulta que se desea ejecutar.
+	 * @return El resultado de la consulta.
+	 */
+	public static <T> T enPrimaria(Supplier<T> consulta) {
+		Boolean anterior = enBloquePrimaria.get();
+		enBloquePrimaria.set(Boolean.TRUE);
+		try {
+			return consulta.get();
+		} finally {
+			if (anterior == null) {
+				enBloquePrimaria.remove();
+			}
+		}
+	}
+
+	/**
+	 * Olvida las escrituras del hilo actual, de modo que sus siguientes
+	 * lecturas vuelven a la réplica.
+	 */
+	public static void olvidarEscrituras() {
+		haEscrito.remove();
+	}
+
+	/**
+	 * Indica si las lecturas del hilo actual van a la base de datos primaria,
+	 * porque ha escrito en ella o se ejecuta dentro de {@link #enPrimaria}.
+	 *
+	 * @return {@code true} si las transacciones de solo lectura del hilo no se
+	 *         ejecutan en la réplica.
+	 */
+	public static boolean leeDePrimaria() {
+		return haEscrito.get() != null || enBloquePrimaria.get() != null;
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+			return PRIMARIA;
+		}
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			haEscrito.set(Boolean.TRUE);
+			return PRIMARIA;
+		}
+		return leeDePrimaria() ? PRIMARIA : REPLICA;
+	}
+}
@@ -0,0 +1,37 @@
+package com.viewnext.kidaprojects.biblioteca1.config;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtro que limita a cada petición el seguimiento de escrituras de
+ * {@link EnrutadorDataSource}.
+ * 
+ * <p>
+ * Tras una escritura, las lecturas de la misma petición se hacen en la base de
+ * datos primaria. Al terminar la petición el hilo se devuelve al pool, y la
+ * siguiente petición que atienda debe volver a leer de la réplica.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+public class FiltroEscriturasPeticion extends OncePerRequestFilter {
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		EnrutadorDataSource.olvidarEscrituras();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			EnrutadorDataSource.olvidarEscrituras();
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package com.viewnext.kidaprojects.biblioteca1.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtro que limita las peticiones en curso a la API de libros y rechaza las
+ * que exceden el límite.
+ * 
+ * <p>
+ * Las lecturas ({@code GET} y {@code HEAD}) y las escrituras tienen cada una su
+ * {@link LimitadorConcurrencia}, de modo que una avalancha de lecturas no
+ * bloquea las escrituras ni al revés. Una petición que no cabe en el límite se
+ * responde en el acto con "SERVICE UNAVAILABLE" y la cabecera
+ * {@code Retry-After}, en lugar de esperar un hilo de Tomcat o una conexión a
+ * la base de datos.
+ * </p>
+ * 
+ * <p>
+ * La exportación y la suscripción a eventos no se limitan: son peticiones
+ * asíncronas de larga duración cuya latencia no dice nada del estado de la
+ * base de datos.
+ * </p>
+ * 
+ * <p>
+ * Publica el límite y las peticiones en curso en las métricas
+ * {@code biblioteca.concurrencia.limite} y
+ * {@code biblioteca.concurrencia.en.curso}, y las peticiones rechazadas en
+ * {@code biblioteca.concurrencia.rechazadas}, con la etiqueta {@code tipo}
+ * ({@code lectura} o {@code escritura}).
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+public class FiltroLimiteConcurrencia extends OncePerRequestFilter {
+
+	private static final String SERVIDOR_SATURADO = "Servidor saturado, inténtelo de nuevo más tarde";
+	private static final String RUTA_EXPORTACION = "/libros/export";
+	private static final String RUTA_EVENTOS = "/libros/events";
+
+	private final LimitadorConcurrencia lecturas;
+	private final LimitadorConcurrencia escrituras;
+	private final Counter lecturasRechazadas;
+	private final Counter escriturasRechazadas;
+	private final String reintentarTras;
+
+	public FiltroLimiteConcurrencia(LimitadorConcurrencia lecturas, LimitadorConcurrencia escrituras,
+			long reintentarTrasSegundos, MeterRegistry meterRegistry) {
+		this.lecturas = lecturas;
+		this.escrituras = escrituras;
+		this.reintentarTras = Long.toString(reintentarTrasSegundos);
+		this.lecturasRechazadas = registrarMetricas(lecturas, "lectura", meterRegistry);
+		this.escriturasRechazadas = registrarMetricas(escrituras, "escritura", meterRegistry);
+	}
+
+	private static Counter registrarMetricas(LimitadorConcurrencia limitador, String tipo, MeterRegistry meterRegistry) {
+		Gauge.builder("biblioteca.concurrencia.limite", limitador, LimitadorConcurrencia::getLimite)
+				.description("Límite adaptativo de peticiones en curso")
+				.tag("tipo", tipo)
+				.register(meterRegistry);
+		Gauge.builder("biblioteca.concurrencia.en.curso", limitador, LimitadorConcurrencia::getEnCurso)
+				.description("Peticiones en curso")
+				.tag("tipo", tipo)
+				.register(meterRegistry);
+		return Counter.builder("biblioteca.concurrencia.rechazadas")
+				.description("Peticiones rechazadas por superar el límite de concurrencia")
+				.tag("tipo", tipo)
+				.register(meterRegistry);
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String ruta = request.getRequestURI().substring(request.getContextPath().length());
+		return ruta.startsWith(RUTA_EXPORTACION) || ruta.startsWith(RUTA_EVENTOS);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		boolean lectura = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+		LimitadorConcurrencia limitador = lectura ? lecturas : escrituras;
+
+		if (!limitador.adquirir()) {
+			(lectura ? lecturasRechazadas : escriturasRechazadas).increment();
+			response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+			response.setHeader(HttpHeaders.RETRY_AFTER, reintentarTras);
+			response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+			response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+			response.getWriter().write(SERVIDOR_SATURADO);
+			return;
+		}
+
+		long inicio = System.nanoTime();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			limitador.liberar(System.nanoTime() - inicio);
+		}
+	}
+}
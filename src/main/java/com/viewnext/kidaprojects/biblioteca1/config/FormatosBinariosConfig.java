@@ -0,0 +1,51 @@
+package com.viewnext.kidaprojects.biblioteca1.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Formatos binarios de las peticiones y respuestas de la API de libros.
+ * 
+ * <p>
+ * Además de JSON, la API acepta y devuelve CBOR ({@code application/cbor}) y
+ * Smile ({@code application/x-jackson-smile}) según las cabeceras
+ * {@code Content-Type} y {@code Accept}. Ambos codifican el mismo modelo que
+ * JSON en binario, por lo que las respuestas ocupan menos y se codifican y
+ * decodifican más rápido. Los conversores se construyen a partir de la
+ * configuración de Jackson de Spring Boot, de modo que los tres formatos
+ * serializan los objetos de la misma forma.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@Configuration
+public class FormatosBinariosConfig {
+
+	/**
+	 * Tipo de contenido de Smile.
+	 */
+	public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+	/**
+	 * Tipo de contenido de Smile.
+	 */
+	public static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+
+	@Bean
+	public MappingJackson2CborHttpMessageConverter convertidorCbor(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+	}
+
+	@Bean
+	public MappingJackson2SmileHttpMessageConverter convertidorSmile(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+	}
+}
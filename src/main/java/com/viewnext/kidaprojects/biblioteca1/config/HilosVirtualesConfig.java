@@ -0,0 +1,44 @@
+package com.viewnext.kidaprojects.biblioteca1.config;
+
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * Modo opcional de ejecución de las peticiones en hilos virtuales.
+ * 
+ * <p>
+ * Se activa con {@code biblioteca.hilos-virtuales.habilitados=true}. Tomcat
+ * atiende cada petición en un hilo virtual nuevo en lugar de en su pool de
+ * hilos de plataforma, y lo mismo ocurre con las tareas asíncronas de Spring
+ * MVC (como la exportación en streaming). Un hilo bloqueado en JDBC deja de
+ * ocupar un hilo del sistema operativo, por lo que el límite de concurrencia
+ * pasa a ser el pool de conexiones
+ * ({@code spring.datasource.hikari.maximum-pool-size}): las peticiones que no
+ * consiguen conexión esperan en él, como mucho
+ * {@code spring.datasource.hikari.connection-timeout}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@Configuration
+@ConditionalOnProperty(name = "biblioteca.hilos-virtuales.habilitados", havingValue = "true")
+public class HilosVirtualesConfig {
+
+	@Bean
+	public TomcatProtocolHandlerCustomizer<?> ejecutorVirtualTomcat() {
+		return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+	}
+
+	@Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+	public AsyncTaskExecutor applicationTaskExecutor() {
+		return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+	}
+}
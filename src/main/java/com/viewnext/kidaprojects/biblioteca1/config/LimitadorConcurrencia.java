@@ -0,0 +1,128 @@
+package com.viewnext.kidaprojects.biblioteca1.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Límite adaptativo del número de peticiones en curso.
+ * 
+ * <p>
+ * Compara la latencia de cada petición con la latencia media a largo plazo.
+ * Mientras las peticiones no se hacen más lentas, el límite crece en
+ * aproximadamente su raíz cuadrada; cuando la latencia aumenta porque las
+ * peticiones empiezan a esperar (por ejemplo, por conexiones a una base de
+ * datos lenta), el límite se reduce en la misma proporción, hasta la mitad
+ * como mucho por petición. Los cambios se suavizan para que una petición lenta
+ * aislada no hunda el límite. El límite no crece mientras haya menos de la
+ * mitad de peticiones en curso, ya que entonces la latencia no dice nada de lo
+ * que soportaría el servidor con más carga.
+ * </p>
+ * 
+ * <p>
+ * El estado no usa bloqueos: el contador de peticiones en curso se actualiza
+ * con operaciones atómicas y el límite y la latencia media forman un estado
+ * inmutable que se sustituye con compare-and-set.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+class LimitadorConcurrencia {
+
+	/*
+	 * Latencia que se admite por encima de la media a largo plazo sin reducir
+	 * el límite.
+	 */
+	private static final double TOLERANCIA = 1.5;
+
+	/*
+	 * Peso de cada petición en la media a largo plazo (unas 600 peticiones) y en
+	 * el límite.
+	 */
+	private static final double PESO_LATENCIA = 1.0 / 600;
+	private static final double SUAVIZADO = 0.2;
+
+	private record Estado(double limite, double latenciaMedia) {
+	}
+
+	private final int limiteMinimo;
+	private final int limiteMaximo;
+	private final AtomicInteger enCurso = new AtomicInteger();
+	private final AtomicReference<Estado> estado;
+
+	LimitadorConcurrencia(int limiteInicial, int limiteMinimo, int limiteMaximo) {
+		this.limiteMinimo = limiteMinimo;
+		this.limiteMaximo = limiteMaximo;
+		this.estado = new AtomicReference<>(new Estado(limiteInicial, 0));
+	}
+
+	/**
+	 * Intenta reservar un hueco para una petición.
+	 *
+	 * @return {@code true} si la petición puede atenderse, o {@code false} si ya
+	 *         se ha alcanzado el límite y debe rechazarse.
+	 */
+	boolean adquirir() {
+		int limite = getLimite();
+		int actuales;
+		do {
+			actuales = enCurso.get();
+			if (actuales >= limite) {
+				return false;
+			}
+		} while (!enCurso.compareAndSet(actuales, actuales + 1));
+		return true;
+	}
+
+	/**
+	 * Libera el hueco de una petición terminada y ajusta el límite con su
+	 * latencia.
+	 *
+	 * @param latenciaNanos La duración de la petición en nanosegundos.
+	 */
+	void liberar(long latenciaNanos) {
+		int actuales = enCurso.getAndDecrement();
+		double latencia = Math.max(1, latenciaNanos);
+		estado.updateAndGet(anterior -> ajustar(anterior, latencia, actuales));
+	}
+
+	private Estado ajustar(Estado anterior, double latencia, int actuales) {
+		double media = anterior.latenciaMedia() == 0 ? latencia
+				: anterior.latenciaMedia() * (1 - PESO_LATENCIA) + latencia * PESO_LATENCIA;
+		
+		// Tras una saturación larga la media se ha inflado: se deja que baje
+		// rápido para que el límite se recupere
+		if (media > latencia * 2) {
+			media *= 0.95;
+		}
+		
+		double limite = anterior.limite();
+		if (actuales < limite / 2) {
+			return new Estado(limite, media);
+		}
+		
+		double gradiente = Math.max(0.5, Math.min(1.0, TOLERANCIA * media / latencia));
+		double nuevo = limite * gradiente + Math.sqrt(limite);
+		nuevo = limite * (1 - SUAVIZADO) + nuevo * SUAVIZADO;
+		
+		return new Estado(Math.max(limiteMinimo, Math.min(limiteMaximo, nuevo)), media);
+	}
+
+	/**
+	 * Devuelve el límite actual de peticiones en curso.
+	 *
+	 * @return El límite.
+	 */
+	int getLimite() {
+		return (int) estado.get().limite();
+	}
+
+	/**
+	 * Devuelve el número de peticiones en curso.
+	 *
+	 * @return Las peticiones en curso.
+	 */
+	int getEnCurso() {
+		return enCurso.get();
+	}
+}
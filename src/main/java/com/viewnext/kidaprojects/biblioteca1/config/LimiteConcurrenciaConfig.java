@@ -0,0 +1,48 @@
+package com.viewnext.kidaprojects.biblioteca1.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Límite adaptativo de concurrencia de la API de libros.
+ * 
+ * <p>
+ * Se activa con {@code biblioteca.limite-concurrencia.habilitado=true}. Las
+ * propiedades {@code limite-inicial}, {@code limite-minimo} y
+ * {@code limite-maximo} acotan el número de peticiones en curso de cada tipo, y
+ * {@code reintentar-tras} es el valor en segundos de la cabecera
+ * {@code Retry-After} de las peticiones rechazadas.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@Configuration
+@ConditionalOnProperty(name = "biblioteca.limite-concurrencia.habilitado", havingValue = "true")
+public class LimiteConcurrenciaConfig {
+
+	@Bean
+	public FilterRegistrationBean<FiltroLimiteConcurrencia> filtroLimiteConcurrencia(
+			@Value("${biblioteca.limite-concurrencia.limite-inicial:20}") int limiteInicial,
+			@Value("${biblioteca.limite-concurrencia.limite-minimo:4}") int limiteMinimo,
+			@Value("${biblioteca.limite-concurrencia.limite-maximo:200}") int limiteMaximo,
+			@Value("${biblioteca.limite-concurrencia.reintentar-tras:1}") long reintentarTras,
+			MeterRegistry meterRegistry) {
+		FiltroLimiteConcurrencia filtro = new FiltroLimiteConcurrencia(
+				new LimitadorConcurrencia(limiteInicial, limiteMinimo, limiteMaximo),
+				new LimitadorConcurrencia(limiteInicial, limiteMinimo, limiteMaximo),
+				reintentarTras, meterRegistry);
+
+		FilterRegistrationBean<FiltroLimiteConcurrencia> registro = new FilterRegistrationBean<>(filtro);
+		registro.addUrlPatterns("/libro/*", "/libros/*");
+		// Antes que el resto de filtros, para que rechazar una petición no cueste nada
+		registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return registro;
+	}
+}
@@ -0,0 +1,43 @@
+package com.viewnext.kidaprojects.biblioteca1.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuración de las métricas de la aplicación.
+ * 
+ * <p>
+ * Las latencias de los endpoints ({@code http.server.requests}) y de las
+ * consultas del repositorio ({@code spring.data.repository.invocations}) las
+ * publica Spring Boot Actuator; sus percentiles se configuran en
+ * {@code application.properties}. Esta clase añade la medición del tiempo de
+ * serialización de las respuestas envolviendo los conversores de Jackson.
+ * Todas las métricas se exponen en formato Prometheus en
+ * {@code /actuator/prometheus}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@Configuration
+public class MetricasConfig implements WebMvcConfigurer {
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Override
+	public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+		for (int i = 0; i < converters.size(); i++) {
+			if (converters.get(i) instanceof AbstractJackson2HttpMessageConverter jackson) {
+				converters.set(i, new ConvertidorMedido(jackson, meterRegistry));
+			}
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package com.viewnext.kidaprojects.biblioteca1.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Lecturas en una réplica de la base de datos.
+ * 
+ * <p>
+ * Se activa al indicar la URL de la réplica en
+ * {@code biblioteca.datasource.replica.url}, junto con
+ * {@code biblioteca.datasource.replica.username} y
+ * {@code biblioteca.datasource.replica.password}; su pool se ajusta con las
+ * propiedades {@code biblioteca.datasource.replica.hikari.*}. La base de datos
+ * primaria se sigue configurando con {@code spring.datasource.*}.
+ * </p>
+ * 
+ * <p>
+ * El origen de datos de la aplicación pasa a ser un
+ * {@link EnrutadorDataSource}: las transacciones de solo lectura van a la
+ * réplica y las escrituras, las migraciones de Flyway y las lecturas que siguen
+ * a una escritura en la misma petición, a la primaria.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@Configuration
+@ConditionalOnProperty(name = "biblioteca.datasource.replica.url")
+public class ReplicaConfig {
+
+	private static final String PREFIJO_REPLICA = "biblioteca.datasource.replica";
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource dataSourcePrimaria(DataSourceProperties propiedades) {
+		HikariDataSource dataSource = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setPoolName("primaria");
+		return dataSource;
+	}
+
+	@Bean
+	public HikariDataSource dataSourceReplica(Environment entorno) throws Exception {
+		Binder binder = Binder.get(entorno);
+		DataSourceProperties propiedades = binder.bindOrCreate(PREFIJO_REPLICA, DataSourceProperties.class);
+		propiedades.setBeanClassLoader(getClass().getClassLoader());
+		propiedades.afterPropertiesSet();
+		
+		HikariDataSource dataSource = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setPoolName("replica");
+		dataSource.setReadOnly(true);
+		binder.bind(PREFIJO_REPLICA + ".hikari", Bindable.ofInstance(dataSource));
+		return dataSource;
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(HikariDataSource dataSourcePrimaria, HikariDataSource dataSourceReplica) {
+		return EnrutadorDataSource.crear(dataSourcePrimaria, dataSourceReplica);
+	}
+
+	@Bean
+	public FiltroEscriturasPeticion filtroEscriturasPeticion() {
+		return new FiltroEscriturasPeticion();
+	}
+}
@@ -0,0 +1,72 @@
+package com.viewnext.kidaprojects.biblioteca1.dto;
+
+import com.viewnext.kidaprojects.biblioteca1.event.LibroEvento;
+
+/**
+ * Cambio de un libro del registro de cambios del catálogo.
+ * 
+ * <p>
+ * Contiene el número de secuencia del cambio, su tipo y el estado del libro
+ * tras el cambio, que es {@code null} si se ha eliminado.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+public class CambioLibro {
+
+	private long secuencia;
+	private LibroEvento.Tipo tipo;
+	private String isbn;
+	private LibroDTO libro;
+
+	public CambioLibro(long secuencia, LibroEvento.Tipo tipo, String isbn, LibroDTO libro) {
+		super();
+		this.secuencia = secuencia;
+		this.tipo = tipo;
+		this.isbn = isbn;
+		this.libro = libro;
+	}
+
+	public CambioLibro() {
+
+	}
+
+	public long getSecuencia() {
+		return secuencia;
+	}
+
+	public void setSecuencia(long secuencia) {
+		this.secuencia = secuencia;
+	}
+
+	public LibroEvento.Tipo getTipo() {
+		return tipo;
+	}
+
+	public void setTipo(LibroEvento.Tipo tipo) {
+		this.tipo = tipo;
+	}
+
+	public String getIsbn() {
+		return isbn;
+	}
+
+	public void setIsbn(String isbn) {
+		this.isbn = isbn;
+	}
+
+	public LibroDTO getLibro() {
+		return libro;
+	}
+
+	public void setLibro(LibroDTO libro) {
+		this.libro = libro;
+	}
+
+	@Override
+	public String toString() {
+		return "CambioLibro [secuencia=" + secuencia + ", tipo=" + tipo + ", isbn=" + isbn + ", libro=" + libro + "]";
+	}
+
+}
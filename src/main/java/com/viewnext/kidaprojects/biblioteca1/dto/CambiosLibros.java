@@ -0,0 +1,64 @@
+package com.viewnext.kidaprojects.biblioteca1.dto;
+
+import java.util.List;
+
+/**
+ * Cambios del catálogo posteriores a un número de secuencia.
+ * 
+ * <p>
+ * Contiene el último cambio de cada libro modificado, ordenados por número de
+ * secuencia, y el número que el cliente debe enviar en el parámetro
+ * {@code since} para obtener los siguientes. Si {@code hayMas} es
+ * {@code false} el cliente ya tiene todos los cambios confirmados.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+public class CambiosLibros {
+
+	private List<CambioLibro> cambios;
+	private long siguiente;
+	private boolean hayMas;
+
+	public CambiosLibros(List<CambioLibro> cambios, long siguiente, boolean hayMas) {
+		super();
+		this.cambios = cambios;
+		this.siguiente = siguiente;
+		this.hayMas = hayMas;
+	}
+
+	public CambiosLibros() {
+
+	}
+
+	public List<CambioLibro> getCambios() {
+		return cambios;
+	}
+
+	public void setCambios(List<CambioLibro> cambios) {
+		this.cambios = cambios;
+	}
+
+	public long getSiguiente() {
+		return siguiente;
+	}
+
+	public void setSiguiente(long siguiente) {
+		this.siguiente = siguiente;
+	}
+
+	public boolean isHayMas() {
+		return hayMas;
+	}
+
+	public void setHayMas(boolean hayMas) {
+		this.hayMas = hayMas;
+	}
+
+	@Override
+	public String toString() {
+		return "CambiosLibros [cambios=" + cambios + ", siguiente=" + siguiente + ", hayMas=" + hayMas + "]";
+	}
+
+}
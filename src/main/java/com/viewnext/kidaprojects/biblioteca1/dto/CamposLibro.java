@@ -0,0 +1,79 @@
+package com.viewnext.kidaprojects.biblioteca1.dto;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Algunos campos de un libro, obtenidos con una consulta que solo lee esas
+ * columnas.
+ * 
+ * <p>
+ * Guarda los valores de la fila tal como los devuelve la consulta junto con
+ * los nombres de los campos, que comparten todas las filas de un mismo
+ * resultado. Se serializa en JSON como un objeto con solo esos campos, por
+ * ejemplo {@code {"isbn":"50","titulo":"Wesel wesel"}}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@JsonSerialize(using = CamposLibro.Serializador.class)
+public class CamposLibro {
+
+	private final String[] nombres;
+	private final Object[] valores;
+
+	public CamposLibro(String[] nombres, Object[] valores) {
+		super();
+		this.nombres = nombres;
+		this.valores = valores;
+	}
+
+	/**
+	 * Obtiene el valor de un campo.
+	 *
+	 * @param nombre El nombre del campo.
+	 * @return El valor, o {@code null} si el campo no se ha consultado.
+	 */
+	public Object get(String nombre) {
+		for (int i = 0; i < nombres.length; i++) {
+			if (nombres[i].equals(nombre)) {
+				return valores[i];
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder texto = new StringBuilder("CamposLibro [");
+		for (int i = 0; i < nombres.length; i++) {
+			texto.append(i == 0 ? "" : ", ").append(nombres[i]).append('=').append(valores[i]);
+		}
+		return texto.append(']').toString();
+	}
+
+	static class Serializador extends StdSerializer<CamposLibro> {
+
+		private static final long serialVersionUID = 1L;
+
+		Serializador() {
+			super(CamposLibro.class);
+		}
+
+		@Override
+		public void serialize(CamposLibro campos, JsonGenerator generador, SerializerProvider proveedor)
+				throws IOException {
+			generador.writeStartObject(campos);
+			for (int i = 0; i < campos.nombres.length; i++) {
+				generador.writeFieldName(campos.nombres[i]);
+				proveedor.defaultSerializeValue(campos.valores[i], generador);
+			}
+			generador.writeEndObject();
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package com.viewnext.kidaprojects.biblioteca1.dto;
+
+/**
+ * Estadísticas de uso de una caché en memoria.
+ * 
+ * <p>
+ * Permite dimensionar la caché comparando los aciertos con los fallos y
+ * comprobando cuántas entradas se han desalojado por falta de espacio.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+public class EstadisticasCache {
+
+	private long aciertos;
+	private long fallos;
+	private long desalojos;
+	private double tasaAciertos;
+	private long entradas;
+	private long pesoTotal;
+
+	public EstadisticasCache(long aciertos, long fallos, long desalojos, double tasaAciertos, long entradas,
+			long pesoTotal) {
+		super();
+		this.aciertos = aciertos;
+		this.fallos = fallos;
+		this.desalojos = desalojos;
+		this.tasaAciertos = tasaAciertos;
+		this.entradas = entradas;
+		this.pesoTotal = pesoTotal;
+	}
+
+	public EstadisticasCache() {
+
+	}
+
+	public long getAciertos() {
+		return aciertos;
+	}
+
+	public void setAciertos(long aciertos) {
+		this.aciertos = aciertos;
+	}
+
+	public long getFallos() {
+		return fallos;
+	}
+
+	public void setFallos(long fallos) {
+		this.fallos = fallos;
+	}
+
+	public long getDesalojos() {
+		return desalojos;
+	}
+
+	public void setDesalojos(long desalojos) {
+		this.desalojos = desalojos;
+	}
+
+	public double getTasaAciertos() {
+		return tasaAciertos;
+	}
+
+	public void setTasaAciertos(double tasaAciertos) {
+		this.tasaAciertos = tasaAciertos;
+	}
+
+	public long getEntradas() {
+		return entradas;
+	}
+
+	public void setEntradas(long entradas) {
+		this.entradas = entradas;
+	}
+
+	public long getPesoTotal() {
+		return pesoTotal;
+	}
+
+	public void setPesoTotal(long pesoTotal) {
+		this.pesoTotal = pesoTotal;
+	}
+
+	@Override
+	public String toString() {
+		return "EstadisticasCache [aciertos=" + aciertos + ", fallos=" + fallos + ", desalojos=" + desalojos
+				+ ", tasaAciertos=" + tasaAciertos + ", entradas=" + entradas + ", pesoTotal=" + pesoTotal + "]";
+	}
+
+}
@@ -2,27 +2,38 @@ package com.viewnext.kidaprojects.biblioteca1.dto;
 
 import java.util.Objects;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 /**
  * Clase de transferencia de datos (DTO) para la entidad {@code Libro}.
  * 
  * <p>
  * Esta clase proporciona una estructura para transferir datos relacionados con
  * la entidad {@code Libro} entre diferentes capas de la aplicación, como la
- * capa de controladores y la capa de servicios. Está diseñada para ser
- * implementada en un futuro si es necesario utilizar objetos DTO en lugar de la
- * entidad {@code Libro} directamente.
+ * capa de controladores y la capa de servicios.
+ * </p>
+ * 
+ * <p>
+ * Las consultas de solo lectura la rellenan directamente con una proyección,
+ * sin cargar entidades gestionadas por Hibernate. Se serializa en JSON con los
+ * mismos nombres de propiedad que la entidad {@code Libro}.
  * </p>
  *
  * @version 1.0
  * @since 27 de septiembre de 2023
- * @unused Esta clase está creada pero no se está utilizando actualmente.
  */
 public class LibroDTO {
 
+	@JsonProperty("isbn")
 	private String isbnDTO;
+	@JsonProperty("titulo")
 	private String tituloDTO;
+	@JsonProperty("autor")
 	private String autorDTO;
+	@JsonProperty("precio")
 	private int precioDTO;
+	@JsonProperty("version")
+	private Long versionDTO;
 	
 	
 	public LibroDTO(String isbnDTO, String tituloDTO, String autorDTO, int precioDTO) {
@@ -33,6 +44,11 @@ public class LibroDTO {
 		this.precioDTO = precioDTO;
 	}
 	
+	public LibroDTO(String isbnDTO, String tituloDTO, String autorDTO, int precioDTO, Long versionDTO) {
+		this(isbnDTO, tituloDTO, autorDTO, precioDTO);
+		this.versionDTO = versionDTO;
+	}
+	
 	public LibroDTO() {
 		
 	}
@@ -69,6 +85,14 @@ public class LibroDTO {
 		this.precioDTO = precioDTO;
 	}
 
+	public Long getVersionDTO() {
+		return versionDTO;
+	}
+
+	public void setVersionDTO(Long versionDTO) {
+		this.versionDTO = versionDTO;
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(isbnDTO);
@@ -89,7 +113,7 @@ public class LibroDTO {
 	@Override
 	public String toString() {
 		return "LibroDTO [isbnDTO=" + isbnDTO + ", tituloDTO=" + tituloDTO + ", autorDTO=" + autorDTO + ", precioDTO="
-				+ precioDTO + "]";
+				+ precioDTO + ", versionDTO=" + versionDTO + "]";
 	}
 	
 	
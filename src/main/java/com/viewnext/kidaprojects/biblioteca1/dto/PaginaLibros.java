@@ -0,0 +1,55 @@
+package com.viewnext.kidaprojects.biblioteca1.dto;
+
+import java.util.List;
+
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+
+/**
+ * Página del listado de libros paginado por cursor.
+ * 
+ * <p>
+ * Contiene los libros de la página y el cursor opaco que el cliente debe
+ * enviar en el parámetro {@code after} para obtener la página siguiente. Si no
+ * hay más libros el cursor es {@code null}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+public class PaginaLibros {
+
+	private List<Libro> libros;
+	private String siguiente;
+
+	public PaginaLibros(List<Libro> libros, String siguiente) {
+		super();
+		this.libros = libros;
+		this.siguiente = siguiente;
+	}
+
+	public PaginaLibros() {
+
+	}
+
+	public List<Libro> getLibros() {
+		return libros;
+	}
+
+	public void setLibros(List<Libro> libros) {
+		this.libros = libros;
+	}
+
+	public String getSiguiente() {
+		return siguiente;
+	}
+
+	public void setSiguiente(String siguiente) {
+		this.siguiente = siguiente;
+	}
+
+	@Override
+	public String toString() {
+		return "PaginaLibros [libros=" + libros + ", siguiente=" + siguiente + "]";
+	}
+
+}
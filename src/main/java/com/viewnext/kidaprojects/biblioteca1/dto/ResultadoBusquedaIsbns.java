@@ -0,0 +1,55 @@
+package com.viewnext.kidaprojects.biblioteca1.dto;
+
+import java.util.List;
+
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+
+/**
+ * Resultado de una búsqueda de varios libros por ISBN.
+ * 
+ * <p>
+ * Contiene los libros encontrados y los ISBN que no corresponden a ningún
+ * libro, ambos en el orden en el que se pidieron y sin repetidos.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+public class ResultadoBusquedaIsbns {
+
+	private List<Libro> encontrados;
+	private List<String> noEncontrados;
+
+	public ResultadoBusquedaIsbns(List<Libro> encontrados, List<String> noEncontrados) {
+		super();
+		this.encontrados = encontrados;
+		this.noEncontrados = noEncontrados;
+	}
+
+	public ResultadoBusquedaIsbns() {
+
+	}
+
+	public List<Libro> getEncontrados() {
+		return encontrados;
+	}
+
+	public void setEncontrados(List<Libro> encontrados) {
+		this.encontrados = encontrados;
+	}
+
+	public List<String> getNoEncontrados() {
+		return noEncontrados;
+	}
+
+	public void setNoEncontrados(List<String> noEncontrados) {
+		this.noEncontrados = noEncontrados;
+	}
+
+	@Override
+	public String toString() {
+		return "ResultadoBusquedaIsbns [encontrados=" + encontrados.size() + ", noEncontrados=" + noEncontrados
+				+ "]";
+	}
+
+}
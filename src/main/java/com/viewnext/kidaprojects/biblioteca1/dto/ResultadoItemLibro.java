@@ -0,0 +1,57 @@
+package com.viewnext.kidaprojects.biblioteca1.dto;
+
+/**
+ * Resultado de la creación de un libro dentro de una carga por lotes.
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+public class ResultadoItemLibro {
+
+	/**
+	 * Estados posibles de un libro enviado en una carga por lotes.
+	 */
+	public enum Estado {
+		/** El libro se ha guardado en la base de datos. */
+		CREADO,
+		/** Ya existía un libro con el mismo ISBN, o aparecía repetido en el lote. */
+		DUPLICADO,
+		/** El libro no tiene ISBN. */
+		INVALIDO
+	}
+
+	private String isbn;
+	private Estado estado;
+
+	public ResultadoItemLibro(String isbn, Estado estado) {
+		super();
+		this.isbn = isbn;
+		this.estado = estado;
+	}
+
+	public ResultadoItemLibro() {
+
+	}
+
+	public String getIsbn() {
+		return isbn;
+	}
+
+	public void setIsbn(String isbn) {
+		this.isbn = isbn;
+	}
+
+	public Estado getEstado() {
+		return estado;
+	}
+
+	public void setEstado(Estado estado) {
+		this.estado = estado;
+	}
+
+	@Override
+	public String toString() {
+		return "ResultadoItemLibro [isbn=" + isbn + ", estado=" + estado + "]";
+	}
+
+}
@@ -0,0 +1,78 @@
+package com.viewnext.kidaprojects.biblioteca1.dto;
+
+import java.util.List;
+
+/**
+ * Resumen de una carga de libros por lotes.
+ * 
+ * <p>
+ * Contiene el número de libros creados, duplicados e inválidos, y el resultado
+ * de cada libro en el mismo orden en el que se recibieron.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+public class ResultadoLoteLibros {
+
+	private int creados;
+	private int duplicados;
+	private int invalidos;
+	private List<ResultadoItemLibro> resultados;
+
+	public ResultadoLoteLibros(List<ResultadoItemLibro> resultados) {
+		super();
+		this.resultados = resultados;
+
+		for (ResultadoItemLibro resultado : resultados) {
+			switch (resultado.getEstado()) {
+			case CREADO -> creados++;
+			case DUPLICADO -> duplicados++;
+			case INVALIDO -> invalidos++;
+			}
+		}
+	}
+
+	public ResultadoLoteLibros() {
+
+	}
+
+	public int getCreados() {
+		return creados;
+	}
+
+	public void setCreados(int creados) {
+		this.creados = creados;
+	}
+
+	public int getDuplicados() {
+		return duplicados;
+	}
+
+	public void setDuplicados(int duplicados) {
+		this.duplicados = duplicados;
+	}
+
+	public int getInvalidos() {
+		return invalidos;
+	}
+
+	public void setInvalidos(int invalidos) {
+		this.invalidos = invalidos;
+	}
+
+	public List<ResultadoItemLibro> getResultados() {
+		return resultados;
+	}
+
+	public void setResultados(List<ResultadoItemLibro> resultados) {
+		this.resultados = resultados;
+	}
+
+	@Override
+	public String toString() {
+		return "ResultadoLoteLibros [creados=" + creados + ", duplicados=" + duplicados + ", invalidos=" + invalidos
+				+ "]";
+	}
+
+}
@@ -0,0 +1,67 @@
+package com.viewnext.kidaprojects.biblioteca1.dto;
+
+/**
+ * Sugerencia de autocompletado para la caja de búsqueda de libros.
+ * 
+ * <p>
+ * Una sugerencia es un título o un autor existente en el catálogo, junto con
+ * el número de libros que lo comparten.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+public class Sugerencia {
+
+	/**
+	 * Campo del libro del que procede la sugerencia.
+	 */
+	public enum Tipo {
+		TITULO, AUTOR
+	}
+
+	private String texto;
+	private Tipo tipo;
+	private int libros;
+
+	public Sugerencia(String texto, Tipo tipo, int libros) {
+		super();
+		this.texto = texto;
+		this.tipo = tipo;
+		this.libros = libros;
+	}
+
+	public Sugerencia() {
+
+	}
+
+	public String getTexto() {
+		return texto;
+	}
+
+	public void setTexto(String texto) {
+		this.texto = texto;
+	}
+
+	public Tipo getTipo() {
+		return tipo;
+	}
+
+	public void setTipo(Tipo tipo) {
+		this.tipo = tipo;
+	}
+
+	public int getLibros() {
+		return libros;
+	}
+
+	public void setLibros(int libros) {
+		this.libros = libros;
+	}
+
+	@Override
+	public String toString() {
+		return "Sugerencia [texto=" + texto + ", tipo=" + tipo + ", libros=" + libros + "]";
+	}
+
+}
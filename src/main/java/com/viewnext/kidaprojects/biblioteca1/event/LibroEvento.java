@@ -0,0 +1,70 @@
+package com.viewnext.kidaprojects.biblioteca1.event;
+
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+
+/**
+ * Evento que se publica cada vez que se crea, actualiza o elimina un libro.
+ * 
+ * <p>
+ * Lo publica el servicio de libros tras cada modificación y lo escuchan las
+ * estructuras en memoria que derivan del catálogo (índices, filtros, etc.) para
+ * mantenerse sincronizadas con la base de datos sin volver a consultarla.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+public class LibroEvento {
+
+	/**
+	 * Tipos de modificación de un libro.
+	 */
+	public enum Tipo {
+		CREADO, ACTUALIZADO, BORRADO
+	}
+
+	private final Tipo tipo;
+	private final String isbn;
+	private final Libro libro;
+
+	private LibroEvento(Tipo tipo, String isbn, Libro libro) {
+		this.tipo = tipo;
+		this.isbn = isbn;
+		this.libro = libro;
+	}
+
+	public static LibroEvento creado(Libro libro) {
+		return new LibroEvento(Tipo.CREADO, libro.getIsbn(), libro);
+	}
+
+	public static LibroEvento actualizado(Libro libro) {
+		return new LibroEvento(Tipo.ACTUALIZADO, libro.getIsbn(), libro);
+	}
+
+	public static LibroEvento borrado(String isbn) {
+		return new LibroEvento(Tipo.BORRADO, isbn, null);
+	}
+
+	public Tipo getTipo() {
+		return tipo;
+	}
+
+	public String getIsbn() {
+		return isbn;
+	}
+
+	/**
+	 * Devuelve el estado del libro tras la modificación.
+	 *
+	 * @return El libro creado o actualizado, o {@code null} si se ha eliminado.
+	 */
+	public Libro getLibro() {
+		return libro;
+	}
+
+	@Override
+	public String toString() {
+		return "LibroEvento [tipo=" + tipo + ", isbn=" + isbn + ", libro=" + libro + "]";
+	}
+
+}
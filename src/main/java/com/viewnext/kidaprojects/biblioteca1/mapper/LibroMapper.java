@@ -36,6 +36,7 @@ public class LibroMapper {
         libroDTO.setTituloDTO(libro.getTitulo());
         libroDTO.setAutorDTO(libro.getAutor());
         libroDTO.setPrecioDTO(libro.getPrecio());
+        libroDTO.setVersionDTO(libro.getVersion());
 
         return libroDTO;
     }
@@ -53,6 +54,7 @@ public class LibroMapper {
         libro.setTitulo(libroDTO.getTituloDTO());
         libro.setAutor(libroDTO.getAutorDTO());
         libro.setPrecio(libroDTO.getPrecioDTO());
+        libro.setVersion(libroDTO.getVersionDTO());
         return libro;
     }
 
@@ -4,7 +4,9 @@ import java.util.Objects;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 /**
  * Clase que representa a un libro en el sistema de gestión de biblioteca.
@@ -16,6 +18,22 @@ import jakarta.persistence.Table;
  * </p>
  * 
  * <p>
+ * El campo {@code version} se incrementa con cada actualización y permite
+ * detectar modificaciones concurrentes sin bloquear la fila. Un libro con la
+ * versión a {@code null} se considera nuevo, por lo que se inserta sin
+ * comprobar antes si existe.
+ * </p>
+ * 
+ * <p>
+ * El esquema de la tabla lo crean las migraciones de Flyway de
+ * {@code db/migration}; los índices se declaran también aquí para
+ * documentarlos. El índice sobre (precio, isbn) resuelve las búsquedas por
+ * rango de precio y el listado ordenado por precio recorriendo solo las filas
+ * devueltas, y los de título y autor evitan recorrer la tabla entera en las
+ * búsquedas por esos campos.
+ * </p>
+ * 
+ * <p>
  * El autor de esta clase es Víctor Colorado "Kid A".
  * </p>
  *
@@ -23,7 +41,10 @@ import jakarta.persistence.Table;
  * @since 27 de septiembre de 2023
  */
 @Entity
-@Table(name = "libros")
+@Table(name = "libros", indexes = { @Index(name = "idx_libros_precio", columnList = "precio, isbn"),
+		@Index(name = "idx_libros_titulo", columnList = "titulo"),
+		@Index(name = "idx_libros_autor", columnList = "autor"),
+		@Index(name = "idx_libros_autor_precio", columnList = "autor, precio") })
 public class Libro {
 	
 	@Id
@@ -31,6 +52,8 @@ public class Libro {
 	private String titulo;
 	private String autor;
 	private int precio;
+	@Version
+	private Long version;
 	
 	public Libro(String isbn, String titulo, String autor, int precio) {
 		super();
@@ -76,6 +99,14 @@ public class Libro {
 		this.precio = precio;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(isbn);
@@ -95,7 +126,8 @@ public class Libro {
 
 	@Override
 	public String toString() {
-		return "Libro [isbn=" + isbn + ", titulo=" + titulo + ", autor=" + autor + ", precio=" + precio + "]";
+		return "Libro [isbn=" + isbn + ", titulo=" + titulo + ", autor=" + autor + ", precio=" + precio + ", version=" + version
+				+ "]";
 	}
 	
 	
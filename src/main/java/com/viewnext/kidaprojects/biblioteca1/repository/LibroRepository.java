@@ -1,12 +1,23 @@
 package com.viewnext.kidaprojects.biblioteca1.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
-import org.springframework.data.jdbc.repository.query.Query;
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.viewnext.kidaprojects.biblioteca1.dto.LibroDTO;
 import com.viewnext.kidaprojects.biblioteca1.model.Libro;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repositorio de datos para la entidad Libro.
  * 
@@ -38,4 +49,112 @@ public interface LibroRepository extends JpaRepository<Libro, String>{
 	
 	@Query("SELECT libro FROM Libro libro WHERE libro.autor = :autor")
 	List<Libro> findLibrosByAutor(String autor);
+	
+	/*
+	 * Proyecciones de solo lectura: construyen los DTO directamente a partir de
+	 * las columnas, sin crear entidades ni copias para detectar cambios.
+	 */
+	
+	@Query("SELECT new com.viewnext.kidaprojects.biblioteca1.dto.LibroDTO("
+			+ "libro.isbn, libro.titulo, libro.autor, libro.precio, libro.version) FROM Libro libro")
+	List<LibroDTO> findAllLibrosDTO();
+	
+	@Query("SELECT new com.viewnext.kidaprojects.biblioteca1.dto.LibroDTO("
+			+ "libro.isbn, libro.titulo, libro.autor, libro.precio, libro.version) FROM Libro libro "
+			+ "WHERE libro.titulo = :titulo")
+	List<LibroDTO> findLibrosDTOByTitulo(String titulo);
+	
+	@Query("SELECT new com.viewnext.kidaprojects.biblioteca1.dto.LibroDTO("
+			+ "libro.isbn, libro.titulo, libro.autor, libro.precio, libro.version) FROM Libro libro "
+			+ "WHERE libro.autor = :autor")
+	List<LibroDTO> findLibrosDTOByAutor(String autor);
+	
+	@Query("SELECT new com.viewnext.kidaprojects.biblioteca1.dto.LibroDTO("
+			+ "libro.isbn, libro.titulo, libro.autor, libro.precio, libro.version) FROM Libro libro "
+			+ "WHERE libro.precio BETWEEN :minimo AND :maximo ORDER BY libro.precio, libro.isbn")
+	List<LibroDTO> findLibrosDTOByPrecioEntre(int minimo, int maximo, Pageable pageable);
+	
+	@Query("SELECT libro.isbn FROM Libro libro WHERE libro.isbn IN :isbns")
+	List<String> findIsbnsExistentes(Collection<String> isbns);
+	
+	/*
+	 * Actualizan o eliminan un libro en una sola sentencia, sin cargarlo antes,
+	 * y devuelven el número de filas afectadas (0 si no existe). Si se indica
+	 * una versión solo se modifica el libro cuando coincide con la guardada; las
+	 * filas anteriores a la columna version tienen la versión 0.
+	 */
+	
+	@Transactional
+	@Modifying
+	@Query("UPDATE Libro libro SET libro.titulo = :titulo, libro.autor = :autor, libro.precio = :precio, "
+			+ "libro.version = COALESCE(libro.version, 0) + 1 "
+			+ "WHERE libro.isbn = :isbn AND (:version IS NULL OR COALESCE(libro.version, 0) = :version)")
+	int updateLibro(String isbn, String titulo, String autor, int precio, Long version);
+	
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM Libro libro "
+			+ "WHERE libro.isbn = :isbn AND (:version IS NULL OR COALESCE(libro.version, 0) = :version)")
+	int deleteLibro(String isbn, Long version);
+	
+	/*
+	 * Recorre todos los libros sin cargarlos a la vez en memoria. El tamaño de
+	 * bloque limita las filas que el driver trae en cada viaje a la base de
+	 * datos; debe consumirse dentro de una transacción.
+	 */
+	@QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+	@Query("SELECT libro FROM Libro libro ORDER BY libro.isbn")
+	Stream<Libro> streamAllLibros();
+	
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+	@Query("SELECT libro.isbn FROM Libro libro")
+	Stream<String> streamIsbns();
+	
+	
+	//###########################################################
+	//############ CONSULTAS DE PAGINACIÓN POR CURSOR ###########
+	//###########################################################
+	
+	/*
+	 * Cada orden tiene una consulta para la primera página y otra que continúa
+	 * a partir del último par (valor, isbn) devuelto. Al filtrar por clave en
+	 * lugar de usar OFFSET, el coste de cada página no depende de su posición.
+	 * El ISBN actúa como desempate para que el orden sea total.
+	 */
+	
+	@Query("SELECT libro FROM Libro libro ORDER BY libro.isbn")
+	List<Libro> findPrimeraPaginaPorIsbn(Pageable pageable);
+	
+	@Query("SELECT libro FROM Libro libro WHERE libro.isbn > :isbn ORDER BY libro.isbn")
+	List<Libro> findPaginaPorIsbn(String isbn, Pageable pageable);
+	
+	@Query("SELECT libro FROM Libro libro ORDER BY libro.precio, libro.isbn")
+	List<Libro> findPrimeraPaginaPorPrecio(Pageable pageable);
+	
+	@Query("SELECT libro FROM Libro libro WHERE libro.precio > :precio "
+			+ "OR (libro.precio = :precio AND libro.isbn > :isbn) ORDER BY libro.precio, libro.isbn")
+	List<Libro> findPaginaPorPrecio(int precio, String isbn, Pageable pageable);
+	
+	@Query("SELECT libro FROM Libro libro ORDER BY libro.autor, libro.isbn")
+	List<Libro> findPrimeraPaginaPorAutor(Pageable pageable);
+	
+	@Query("SELECT libro FROM Libro libro WHERE libro.autor > :autor "
+			+ "OR (libro.autor = :autor AND libro.isbn > :isbn) ORDER BY libro.autor, libro.isbn")
+	List<Libro> findPaginaPorAutor(String autor, String isbn, Pageable pageable);
+	
+	@Query("SELECT libro FROM Libro libro WHERE (libro.autor IS NULL AND libro.isbn > :isbn) "
+			+ "OR libro.autor IS NOT NULL ORDER BY libro.autor, libro.isbn")
+	List<Libro> findPaginaPorAutorTrasNulos(String isbn, Pageable pageable);
+	
+	@Query("SELECT libro FROM Libro libro ORDER BY libro.titulo, libro.isbn")
+	List<Libro> findPrimeraPaginaPorTitulo(Pageable pageable);
+	
+	@Query("SELECT libro FROM Libro libro WHERE libro.titulo > :titulo "
+			+ "OR (libro.titulo = :titulo AND libro.isbn > :isbn) ORDER BY libro.titulo, libro.isbn")
+	List<Libro> findPaginaPorTitulo(String titulo, String isbn, Pageable pageable);
+	
+	@Query("SELECT libro FROM Libro libro WHERE (libro.titulo IS NULL AND libro.isbn > :isbn) "
+			+ "OR libro.titulo IS NOT NULL ORDER BY libro.titulo, libro.isbn")
+	List<Libro> findPaginaPorTituloTrasNulos(String isbn, Pageable pageable);
 }
@@ -1,21 +1,55 @@
 package com.viewnext.kidaprojects.biblioteca1.restcontroller;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.viewnext.kidaprojects.biblioteca1.cache.InstantaneaCatalogo;
+import com.viewnext.kidaprojects.biblioteca1.cache.VersionCatalogo;
+import com.viewnext.kidaprojects.biblioteca1.config.FormatosBinariosConfig;
+import com.viewnext.kidaprojects.biblioteca1.dto.CambiosLibros;
+import com.viewnext.kidaprojects.biblioteca1.dto.EstadisticasCache;
+import com.viewnext.kidaprojects.biblioteca1.dto.LibroDTO;
+import com.viewnext.kidaprojects.biblioteca1.dto.PaginaLibros;
+import com.viewnext.kidaprojects.biblioteca1.dto.ResultadoBusquedaIsbns;
+import com.viewnext.kidaprojects.biblioteca1.dto.ResultadoItemLibro;
+import com.viewnext.kidaprojects.biblioteca1.dto.ResultadoLoteLibros;
+import com.viewnext.kidaprojects.biblioteca1.dto.Sugerencia;
 import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+import com.viewnext.kidaprojects.biblioteca1.service.AgrupadorCreaciones;
+import com.viewnext.kidaprojects.biblioteca1.service.CambiosNoDisponiblesException;
+import com.viewnext.kidaprojects.biblioteca1.service.CampoLibro;
+import com.viewnext.kidaprojects.biblioteca1.service.CanalEventosLibros;
 import com.viewnext.kidaprojects.biblioteca1.service.LibroserviceImpl;
+import com.viewnext.kidaprojects.biblioteca1.service.OrdenLibros;
 
 import jakarta.persistence.EntityNotFoundException;
 
@@ -49,60 +83,335 @@ public class LibroRestController {
 	@Autowired
 	private LibroserviceImpl libroService;
 
+	@Autowired
+	private VersionCatalogo versionCatalogo;
+
+	@Autowired
+	private CanalEventosLibros canalEventos;
+
+	// Perezoso: solo existe en el contexto web, y los benchmarks arrancan la aplicación sin él
+	@Lazy
+	@Autowired
+	private ContentNegotiationManager contentNegotiationManager;
+
+	@Autowired(required = false)
+	private InstantaneaCatalogo instantaneaCatalogo;
+
+	@Autowired(required = false)
+	private AgrupadorCreaciones agrupadorCreaciones;
+
 	private static final String LIBRO_NOT_FOUND = "Libro con los argumentos introducidos no encontrado";
 	private static final String INVALID_PRECIO = "Formato de argumento(Precio) inválido";
+	private static final String INVALID_PAGINACION = "Argumentos de paginación(after, limit, sort) inválidos";
+
+	private static final String INVALID_BUSQUEDA = "Argumento de búsqueda(q) vacío";
+	private static final String INVALID_LOTE = "El lote supera el número máximo de libros admitido";
+	private static final String INVALID_CAMPOS = "Argumento de campos(fields) inválido";
+	private static final String INVALID_RANGO = "Argumentos de rango de precio(min, max, limit) inválidos";
+	private static final String INVALID_ISBNS = "Lista de ISBN vacía o mayor que el máximo admitido";
+	private static final String LIBRO_DUPLICADO = "Ya existe un libro con el ISBN introducido";
+	private static final String VERSION_NO_COINCIDE = "La versión del libro no coincide con la indicada en If-Match";
+	private static final String INVALID_ISBN = "Argumento de ISBN vacío";
+	private static final String COLA_LLENA = "Demasiadas altas pendientes, inténtelo de nuevo más tarde";
+	private static final String ALTA_NO_GUARDADA = "No se ha podido guardar el libro";
+	private static final String INVALID_CAMBIOS = "Argumentos de cambios(since, limit) inválidos";
+	private static final String CAMBIOS_NO_DISPONIBLES = "Los cambios solicitados ya no se conservan, vuelva a leer el catálogo";
+
+	private static final String FORMATO_JSON = "json";
+	private static final String GZIP = "gzip";
+
+	private static final int LIMITE_POR_DEFECTO = 500;
+	private static final int LIMITE_MAXIMO = 1000;
+	private static final int LIMITE_LOTE = 10000;
+	private static final int LIMITE_ISBNS = 1000;
+	private static final int LIMITE_BUSQUEDA_POR_DEFECTO = 20;
+	private static final int LIMITE_BUSQUEDA_MAXIMO = 100;
+	private static final int LIMITE_SUGERENCIAS_POR_DEFECTO = 10;
+	private static final int LIMITE_SUGERENCIAS_MAXIMO = 50;
 
 	/**
-	 * Obtiene una lista de todos los libros disponibles y devuelve una respuesta
-	 * HTTP con la lista en formato JSON.
+	 * Obtiene una lista de los libros disponibles y devuelve una respuesta HTTP
+	 * con la lista en formato JSON.
+	 * 
+	 * <p>
+	 * Si no se indica ningún parámetro se devuelven todos los libros. Si se
+	 * indica alguno de ellos el listado se pagina por cursor: la respuesta
+	 * contiene como mucho {@code limit} libros ordenados por {@code sort}
+	 * ({@code isbn}, {@code precio}, {@code autor} o {@code titulo}) y el cursor
+	 * que debe enviarse en {@code after} para obtener la página siguiente.
+	 * </p>
+	 * 
+	 * <p>
+	 * En el listado completo, {@code fields} limita los campos de cada libro
+	 * (por ejemplo {@code isbn,titulo}) tanto en la consulta como en la
+	 * respuesta.
+	 * </p>
+	 * 
+	 * <p>
+	 * La respuesta incluye la ETag de la versión del catálogo. Si coincide con la
+	 * cabecera {@code If-None-Match} se responde "NOT MODIFIED" sin consultar la
+	 * base de datos.
+	 * </p>
+	 * 
+	 * <p>
+	 * El listado completo en JSON se responde, si está disponible, con la copia
+	 * ya serializada del catálogo, comprimida con gzip cuando la cabecera
+	 * {@code Accept-Encoding} lo admite.
+	 * </p>
 	 *
-	 * @return Una respuesta HTTP con la lista de libros en formato JSON.
+	 * @param after          El cursor devuelto en la página anterior.
+	 * @param limit          El número máximo de libros de la página.
+	 * @param sort           El criterio de ordenación del listado.
+	 * @param fields         Los campos de los libros del listado completo.
+	 * @param ifNoneMatch    Las ETag que ya tiene el cliente.
+	 * @param acceptEncoding Las codificaciones que admite el cliente.
+	 * @param peticion       La petición, para conocer el formato de la respuesta.
+	 * @return Una respuesta HTTP con la lista o la página de libros en formato
+	 *         JSON, una respuesta "NOT MODIFIED" si el cliente ya tiene la
+	 *         versión actual, o una respuesta "BAD REQUEST" si los argumentos de
+	 *         paginación no son válidos.
 	 */
-	@GetMapping(value = "libros", produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<?> mostrarLibros() {
-		List<Libro> listaLibros = libroService.findAll();
+	@GetMapping(value = "libros", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+			FormatosBinariosConfig.APPLICATION_SMILE_VALUE })
+	public ResponseEntity<?> mostrarLibros(@RequestParam(value = "after", required = false) String after,
+			@RequestParam(value = "limit", required = false) Integer limit,
+			@RequestParam(value = "sort", required = false) String sort,
+			@RequestParam(value = "fields", required = false) String fields,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+			NativeWebRequest peticion) {
 
-		return ResponseEntity.ok(listaLibros);
+		String formato = formatoRespuesta(peticion);
+		boolean completo = after == null && limit == null && sort == null;
+
+		if (completo && fields == null && FORMATO_JSON.equals(formato) && instantaneaCatalogo != null) {
+			InstantaneaCatalogo.Instantanea instantanea = instantaneaCatalogo.obtener();
+			if (instantanea != null) {
+				return responderInstantanea(instantanea, ifNoneMatch, acceptEncoding);
+			}
+		}
+
+		String etag = etagRepresentacion(versionCatalogo.etagCatalogo(), formato);
+		if (coincideEtag(ifNoneMatch, etag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+		}
+
+		if (completo) {
+			try {
+				List<?> listaLibros = libroService.mostrarLibros(CampoLibro.desde(fields));
+				return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(listaLibros);
+			} catch (IllegalArgumentException e) {
+				return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_CAMPOS);
+			}
+		}
+
+		try {
+			int limite = limit == null ? LIMITE_POR_DEFECTO : Math.min(limit, LIMITE_MAXIMO);
+			if (limite < 1) {
+				return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_PAGINACION);
+			}
+
+			PaginaLibros pagina = libroService.mostrarPaginaLibros(after, limite, OrdenLibros.desde(sort));
+			return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(pagina);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_PAGINACION);
+		}
+	}
+
+	/*
+	 * Responde con la copia serializada del catálogo: el cuerpo se escribe tal
+	 * cual, comprimido con gzip si el cliente lo admite.
+	 */
+	private ResponseEntity<?> responderInstantanea(InstantaneaCatalogo.Instantanea instantanea, String ifNoneMatch,
+			String acceptEncoding) {
+		boolean gzip = aceptaGzip(acceptEncoding);
+		String etag = etagRepresentacion(versionCatalogo.etagCatalogo(instantanea.version()), gzip ? GZIP : null);
+		if (coincideEtag(ifNoneMatch, etag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag)
+					.varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING).build();
+		}
+
+		ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok().eTag(etag)
+				.varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+				.contentType(MediaType.APPLICATION_JSON);
+		if (gzip) {
+			return respuesta.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(instantanea.gzip());
+		}
+		return respuesta.body(instantanea.identidad());
+	}
+
+	/**
+	 * Busca varios libros por su ISBN y devuelve una respuesta HTTP con los libros
+	 * encontrados y los ISBN que no existen en formato JSON.
+	 * 
+	 * <p>
+	 * Sustituye a varias llamadas a {@code GET /libro/{isbn}}: los libros que no
+	 * están en la caché se obtienen con una sola consulta a la base de datos por
+	 * cada bloque de ISBN.
+	 * </p>
+	 *
+	 * @param isbn Los ISBN de los libros separados por comas.
+	 * @return Una respuesta HTTP con el resultado de la búsqueda en formato JSON,
+	 *         o una respuesta "BAD REQUEST" si no se indica ningún ISBN o se
+	 *         indican más de los admitidos.
+	 */
+	@GetMapping(value = "libros", params = "isbn", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+			FormatosBinariosConfig.APPLICATION_SMILE_VALUE })
+	public ResponseEntity<?> mostrarLibrosByIsbns(@RequestParam("isbn") List<String> isbn) {
+		return buscarPorIsbns(isbn);
+	}
+
+	/**
+	 * Busca varios libros por su ISBN, recibidos como una lista JSON en el cuerpo
+	 * de la solicitud HTTP. Es la variante de {@code GET /libros?isbn=} para
+	 * listas que no caben en una URL.
+	 *
+	 * @param isbns La lista de ISBN de los libros.
+	 * @return Una respuesta HTTP con el resultado de la búsqueda en formato JSON,
+	 *         o una respuesta "BAD REQUEST" si la lista está vacía o supera el
+	 *         tamaño máximo admitido.
+	 */
+	@PostMapping(value = "libros/lookup",
+			produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+					FormatosBinariosConfig.APPLICATION_SMILE_VALUE },
+			consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+					FormatosBinariosConfig.APPLICATION_SMILE_VALUE })
+	public ResponseEntity<?> buscarLibrosByIsbns(@RequestBody List<String> isbns) {
+		return buscarPorIsbns(isbns);
+	}
+
+	private ResponseEntity<?> buscarPorIsbns(List<String> isbns) {
+		if (isbns.isEmpty() || isbns.size() > LIMITE_ISBNS) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_ISBNS);
+		}
+
+		ResultadoBusquedaIsbns resultado = libroService.mostrarLibrosPorIsbns(isbns);
+		return ResponseEntity.ok(resultado);
+	}
+
+	/**
+	 * Exporta todos los libros en formato NDJSON (un objeto JSON por línea).
+	 * 
+	 * <p>
+	 * La respuesta se escribe a medida que se leen los libros de la base de
+	 * datos, por lo que la memoria usada no crece con el tamaño del catálogo.
+	 * </p>
+	 *
+	 * @return Una respuesta HTTP cuyo cuerpo se genera en streaming.
+	 */
+	@GetMapping(value = "libros/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> exportarLibros() {
+		StreamingResponseBody cuerpo = salida -> libroService.exportarLibros(salida);
+
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(cuerpo);
+	}
+
+	/**
+	 * Se suscribe a las modificaciones del catálogo como eventos SSE
+	 * ({@code text/event-stream}).
+	 * 
+	 * <p>
+	 * Cada alta, actualización o eliminación confirmada se envía como un evento
+	 * {@code creado}, {@code actualizado} o {@code borrado} con su identificador.
+	 * Al reconectarse, el cliente envía el último identificador recibido en la
+	 * cabecera {@code Last-Event-ID} y recibe los eventos que se ha perdido, o un
+	 * evento {@code resincronizar} si ya no se conservan o el identificador es
+	 * de antes de un reinicio.
+	 * </p>
+	 *
+	 * @param ultimoEvento El identificador del último evento recibido, si el
+	 *                     cliente se está reconectando.
+	 * @return El emisor de los eventos de la suscripción.
+	 */
+	@GetMapping(value = "libros/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter suscribirEventos(
+			@RequestHeader(value = "Last-Event-ID", required = false) String ultimoEvento) {
+		return canalEventos.suscribir(ultimoEvento);
 	}
 
 	/**
 	 * Busca un libro por su número de ISBN y devuelve una respuesta HTTP con el
 	 * libro encontrado en formato JSON. Si el libro no se encuentra, se devuelve
 	 * una respuesta HTTP con estado "NOT FOUND".
+	 * 
+	 * <p>
+	 * La respuesta incluye la ETag de la versión del libro, que sirve también
+	 * como cabecera {@code If-Match} al actualizarlo o eliminarlo. Si coincide
+	 * con la cabecera {@code If-None-Match} se responde "NOT MODIFIED" sin
+	 * buscar el libro ni serializarlo.
+	 * </p>
 	 *
-	 * @param isbn El número de ISBN del libro que se desea buscar.
-	 * @return Una respuesta HTTP con el libro encontrado en formato JSON o una
-	 *         respuesta "NOT FOUND" si el libro no se encuentra.
+	 * @param isbn        El número de ISBN del libro que se desea buscar.
+	 * @param ifNoneMatch Las ETag que ya tiene el cliente.
+	 * @param peticion    La petición, para conocer el formato de la respuesta.
+	 * @return Una respuesta HTTP con el libro encontrado en formato JSON, una
+	 *         respuesta "NOT MODIFIED" si el cliente ya tiene la versión actual,
+	 *         o una respuesta "NOT FOUND" si el libro no se encuentra.
 	 */
-	@GetMapping(value = "libro/{isbn}", produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<?> mostrarLibroByIsbn(@PathVariable("isbn") String isbn) {
+	@GetMapping(value = "libro/{isbn}", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+			FormatosBinariosConfig.APPLICATION_SMILE_VALUE })
+	public ResponseEntity<?> mostrarLibroByIsbn(@PathVariable("isbn") String isbn,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+			NativeWebRequest peticion) {
+
+		long version = versionCatalogo.getVersionLibro(isbn);
+		String formato = formatoRespuesta(peticion);
+
+		String vigente = etagLibroVigente(ifNoneMatch, version, formato);
+		if (vigente != null) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(vigente).varyBy(HttpHeaders.ACCEPT).build();
+		}
 
 		try {
 			Libro libro = libroService.mostrarLibroPorIsbn(isbn);
-			return ResponseEntity.ok(libro);
+			String etag = etagRepresentacion(versionCatalogo.etagLibro(libro, version), formato);
+			if (coincideEtag(ifNoneMatch, etag)) {
+				return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+			}
+			return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(libro);
 		} catch (EntityNotFoundException e) {
 			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(LIBRO_NOT_FOUND);
 		}
 
 	}
 
+	/**
+	 * Devuelve las estadísticas de uso de la caché de búsquedas por ISBN para
+	 * poder dimensionarla.
+	 *
+	 * @return Una respuesta HTTP con los aciertos, fallos, desalojos y ocupación
+	 *         de la caché en formato JSON.
+	 */
+	@GetMapping(value = "cache/libros", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<?> mostrarEstadisticasCache() {
+		EstadisticasCache estadisticas = libroService.mostrarEstadisticasCache();
+
+		return ResponseEntity.ok(estadisticas);
+	}
+
 	/**
 	 * Busca libros por su título y devuelve una respuesta HTTP con la lista de
 	 * libros encontrados en formato JSON. Si no se encuentran libros con el título
 	 * especificado, se devuelve una respuesta HTTP con estado "NOT FOUND".
 	 *
 	 * @param titulo El título de los libros que se desean buscar.
+	 * @param fields Los campos de cada libro que se desean obtener, separados por
+	 *               comas; si no se indica se devuelven todos.
 	 * @return Una respuesta HTTP con la lista de libros encontrados en formato JSON
 	 *         o una respuesta "NOT FOUND" si no se encuentran libros con el título
 	 *         especificado.
 	 */
-	@GetMapping(value = "libro/titulo/{titulo}", produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<?> mostrarLibroByTitulo(@PathVariable("titulo") String titulo) {
+	@GetMapping(value = "libro/titulo/{titulo}", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+			FormatosBinariosConfig.APPLICATION_SMILE_VALUE })
+	public ResponseEntity<?> mostrarLibroByTitulo(@PathVariable("titulo") String titulo,
+			@RequestParam(value = "fields", required = false) String fields) {
 		try {
-			List<Libro> listaLibrosByTitulo = libroService.mostrarLibrosPorTitulo(titulo);
+			List<?> listaLibrosByTitulo = libroService.mostrarLibrosPorTitulo(titulo, CampoLibro.desde(fields));
 			return ResponseEntity.ok(listaLibrosByTitulo);
 		} catch (EntityNotFoundException e) {
 			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(LIBRO_NOT_FOUND);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_CAMPOS);
 		}
 
 	}
@@ -113,58 +422,289 @@ public class LibroRestController {
 	 * escritos por el autor especificado, se devuelve una respuesta HTTP con estado
 	 * "NOT FOUND".
 	 *
-	 * @param autor El nombre del autor de los libros que se desean buscar.
+	 * @param autor  El nombre del autor de los libros que se desean buscar.
+	 * @param fields Los campos de cada libro que se desean obtener, separados por
+	 *               comas; si no se indica se devuelven todos.
 	 * @return Una respuesta HTTP con la lista de libros escritos por el autor
 	 *         encontrado en formato JSON o una respuesta "NOT FOUND" si no se
 	 *         encuentran libros escritos por el autor especificado.
 	 */
-	@GetMapping(value = "libro/autor/{autor}", produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<?> mostrarLibrosByAutor(@PathVariable("autor") String autor) {
+	@GetMapping(value = "libro/autor/{autor}", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+			FormatosBinariosConfig.APPLICATION_SMILE_VALUE })
+	public ResponseEntity<?> mostrarLibrosByAutor(@PathVariable("autor") String autor,
+			@RequestParam(value = "fields", required = false) String fields) {
 		try {
-			List<Libro> listaLibrosByAutor = libroService.mostrarLibrosPorAutor(autor);
+			List<?> listaLibrosByAutor = libroService.mostrarLibrosPorAutor(autor, CampoLibro.desde(fields));
 			return ResponseEntity.ok(listaLibrosByAutor);
 		} catch (EntityNotFoundException e) {
 			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(LIBRO_NOT_FOUND);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_CAMPOS);
 		}
 
 	}
 
+	/**
+	 * Busca los libros con un precio entre {@code min} y {@code max}, ambos
+	 * incluidos, y devuelve una respuesta HTTP con los libros encontrados, del más
+	 * barato al más caro, en formato JSON.
+	 *
+	 * @param min   El precio mínimo; si no se indica no hay mínimo.
+	 * @param max   El precio máximo; si no se indica no hay máximo.
+	 * @param limit El número máximo de libros que se devuelven.
+	 * @return Una respuesta HTTP con la lista de libros en formato JSON, o una
+	 *         respuesta "BAD REQUEST" si el rango o el límite no son válidos.
+	 */
+	@GetMapping(value = "libros/precio", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+			FormatosBinariosConfig.APPLICATION_SMILE_VALUE })
+	public ResponseEntity<?> mostrarLibrosByPrecio(@RequestParam(value = "min", required = false) Integer min,
+			@RequestParam(value = "max", required = false) Integer max,
+			@RequestParam(value = "limit", required = false) Integer limit) {
+		int minimo = min == null ? Integer.MIN_VALUE : min;
+		int maximo = max == null ? Integer.MAX_VALUE : max;
+		int limite = limit == null ? LIMITE_POR_DEFECTO : Math.min(limit, LIMITE_MAXIMO);
+
+		if (minimo > maximo || limite < 1) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_RANGO);
+		}
+
+		List<LibroDTO> listaLibros = libroService.mostrarLibrosPorPrecio(minimo, maximo, limite);
+		return ResponseEntity.ok(listaLibros);
+	}
+
+	/**
+	 * Busca libros cuyo título o autor contengan todos los términos de la consulta
+	 * y devuelve una respuesta HTTP con los libros encontrados, ordenados por
+	 * relevancia, en formato JSON. La búsqueda no distingue mayúsculas ni tildes,
+	 * por lo que "quijote" encuentra "El Ingenioso Hidalgo Don Quijote".
+	 *
+	 * @param q     El texto que se desea buscar.
+	 * @param limit El número máximo de libros que se devuelven.
+	 * @return Una respuesta HTTP con la lista de libros encontrados en formato
+	 *         JSON, o una respuesta "BAD REQUEST" si la consulta está vacía.
+	 */
+	@GetMapping(value = "libros/search", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+			FormatosBinariosConfig.APPLICATION_SMILE_VALUE })
+	public ResponseEntity<?> buscarLibros(@RequestParam("q") String q,
+			@RequestParam(value = "limit", required = false) Integer limit) {
+		if (q.isBlank()) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_BUSQUEDA);
+		}
+
+		int limite = limit == null ? LIMITE_BUSQUEDA_POR_DEFECTO : Math.max(1, Math.min(limit, LIMITE_BUSQUEDA_MAXIMO));
+		List<Libro> listaLibros = libroService.buscarLibros(q, limite);
+
+		return ResponseEntity.ok(listaLibros);
+	}
+
+	/**
+	 * Obtiene los cambios del catálogo posteriores a un número de secuencia y
+	 * devuelve una respuesta HTTP con el último cambio de cada libro modificado
+	 * en formato JSON.
+	 * 
+	 * <p>
+	 * Permite mantener una copia del catálogo transfiriendo solo lo que ha
+	 * cambiado. El cliente envía en {@code since} el número {@code siguiente} de
+	 * la respuesta anterior hasta que {@code hayMas} es {@code false}. Con
+	 * {@code limit=0} se obtiene el número del último cambio, desde el que se
+	 * sincroniza un cliente que acaba de leer el catálogo completo.
+	 * </p>
+	 *
+	 * @param since El número de secuencia del último cambio que tiene el cliente.
+	 * @param limit El número máximo de cambios que se devuelven.
+	 * @return Una respuesta HTTP con los cambios en formato JSON, una respuesta
+	 *         "BAD REQUEST" si los argumentos no son válidos, o una respuesta
+	 *         "GONE" si ya no se conservan los cambios solicitados.
+	 */
+	@GetMapping(value = "libros/changes", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+			FormatosBinariosConfig.APPLICATION_SMILE_VALUE })
+	public ResponseEntity<?> mostrarCambios(@RequestParam(value = "since", defaultValue = "0") long since,
+			@RequestParam(value = "limit", required = false) Integer limit) {
+		int limite = limit == null ? LIMITE_POR_DEFECTO : Math.min(limit, LIMITE_MAXIMO);
+		if (since < 0 || limite < 0) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_CAMBIOS);
+		}
+
+		try {
+			CambiosLibros cambios = libroService.mostrarCambios(since, limite);
+			return ResponseEntity.ok(cambios);
+		} catch (CambiosNoDisponiblesException e) {
+			return ResponseEntity.status(HttpStatus.GONE).body(CAMBIOS_NO_DISPONIBLES);
+		}
+	}
+
+	/**
+	 * Sugiere títulos y autores para autocompletar la caja de búsqueda y devuelve
+	 * una respuesta HTTP con las sugerencias en formato JSON. Se sugieren los
+	 * títulos y autores que contienen alguna palabra que empieza por el prefijo,
+	 * primero los que comparten más libros.
+	 *
+	 * @param prefix El texto escrito hasta el momento.
+	 * @param limit  El número máximo de sugerencias.
+	 * @return Una respuesta HTTP con la lista de sugerencias en formato JSON.
+	 */
+	@GetMapping(value = "libros/suggest", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+			FormatosBinariosConfig.APPLICATION_SMILE_VALUE })
+	public ResponseEntity<?> sugerirLibros(@RequestParam("prefix") String prefix,
+			@RequestParam(value = "limit", required = false) Integer limit) {
+		int limite = limit == null ? LIMITE_SUGERENCIAS_POR_DEFECTO
+				: Math.max(1, Math.min(limit, LIMITE_SUGERENCIAS_MAXIMO));
+		List<Sugerencia> sugerencias = libroService.sugerirLibros(prefix, limite);
+
+		return ResponseEntity.ok(sugerencias);
+	}
+
 	/**
 	 * Crea un nuevo libro en la base de datos a partir de los datos proporcionados
 	 * en el cuerpo de la solicitud HTTP.
+	 * 
+	 * <p>
+	 * Con la escritura diferida activada, el alta se agrupa con las que llegan al
+	 * mismo tiempo y se guarda en una carga por lotes. Según la confirmación
+	 * configurada se responde "ACCEPTED" en cuanto el alta está en la cola, o se
+	 * espera a que el libro esté guardado.
+	 * </p>
 	 *
 	 * @param libroForCreate El objeto {@code Libro} que se desea crear y guardar en la base
 	 *              de datos.
-	 * @return Una respuesta HTTP con el libro creado en formato JSON.
+	 * @return Una respuesta HTTP con el libro creado en formato JSON, una
+	 *         respuesta "ACCEPTED" si el alta se ha encolado, una respuesta
+	 *         "CONFLICT" si ya existe un libro con el mismo ISBN, una respuesta
+	 *         "SERVICE UNAVAILABLE" si hay demasiadas altas pendientes o la base
+	 *         de datos no está disponible, o una respuesta "INTERNAL SERVER
+	 *         ERROR" si el alta diferida no se ha podido guardar por otro motivo.
 	 * @throws NumberFormatException Si el precio proporcionado no es un número válido.
 	 */
-	@PostMapping(value = "libro", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+	@PostMapping(value = "libro",
+			produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+					FormatosBinariosConfig.APPLICATION_SMILE_VALUE },
+			consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+					FormatosBinariosConfig.APPLICATION_SMILE_VALUE })
 	public ResponseEntity<?> createLibro(@RequestBody Libro libroForCreate) {
+		if (agrupadorCreaciones != null) {
+			return crearLibroDiferido(libroForCreate);
+		}
+
 	    try {
 	        Libro libroCreado = libroService.crearLibro(libroForCreate);
 	        return ResponseEntity.ok(libroCreado);
+	    } catch (DataIntegrityViolationException e) {
+	        return ResponseEntity.status(HttpStatus.CONFLICT).body(LIBRO_DUPLICADO);
 	    } catch (NumberFormatException e) {
 	        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_PRECIO);
 	    }
 	}
 
+	private ResponseEntity<?> crearLibroDiferido(Libro libro) {
+		if (libro.getIsbn() == null || libro.getIsbn().isBlank()) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_ISBN);
+		}
+
+		CompletableFuture<ResultadoItemLibro> resultado;
+		try {
+			resultado = agrupadorCreaciones.crear(libro);
+		} catch (RejectedExecutionException e) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+					.body(COLA_LLENA);
+		}
+
+		if (agrupadorCreaciones.getConfirmacion() == AgrupadorCreaciones.Confirmacion.ENCOLADA) {
+			return ResponseEntity.accepted()
+					.location(ServletUriComponentsBuilder.fromCurrentContextPath().path("/libro/{isbn}")
+							.buildAndExpand(libro.getIsbn()).toUri())
+					.build();
+		}
+
+		ResultadoItemLibro.Estado estado;
+		try {
+			estado = resultado.join().getEstado();
+		} catch (CompletionException e) {
+			return altaNoGuardada(e.getCause());
+		}
+
+		return switch (estado) {
+		case CREADO -> ResponseEntity.ok(libro);
+		case DUPLICADO -> ResponseEntity.status(HttpStatus.CONFLICT).body(LIBRO_DUPLICADO);
+		case INVALIDO -> ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_ISBN);
+		};
+	}
+
+	/*
+	 * Respuesta de un alta diferida cuyo bloque no se ha podido guardar: los
+	 * fallos pasajeros de la base de datos se pueden reintentar, el resto no.
+	 */
+	private static ResponseEntity<?> altaNoGuardada(Throwable causa) {
+		if (causa instanceof DataIntegrityViolationException) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).body(LIBRO_DUPLICADO);
+		}
+		if (causa instanceof TransientDataAccessException || causa instanceof DataAccessResourceFailureException) {
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+					.body(ALTA_NO_GUARDADA);
+		}
+		return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ALTA_NO_GUARDADA);
+	}
+
+	/**
+	 * Crea varios libros en la base de datos a partir de la lista proporcionada en
+	 * el cuerpo de la solicitud HTTP.
+	 * 
+	 * <p>
+	 * Los libros se insertan en bloques usando lotes JDBC, de modo que cargar
+	 * miles de libros cuesta unas pocas transacciones en lugar de una por libro.
+	 * Un libro duplicado o inválido no impide que se creen los demás.
+	 * </p>
+	 *
+	 * @param librosForCreate La lista de objetos {@code Libro} que se desean crear.
+	 * @return Una respuesta HTTP con el resumen de la carga y el resultado de cada
+	 *         libro en formato JSON, o una respuesta "BAD REQUEST" si el lote
+	 *         supera el tamaño máximo admitido.
+	 */
+	@PostMapping(value = "libros/batch",
+			produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+					FormatosBinariosConfig.APPLICATION_SMILE_VALUE },
+			consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+					FormatosBinariosConfig.APPLICATION_SMILE_VALUE })
+	public ResponseEntity<?> createLibros(@RequestBody List<Libro> librosForCreate) {
+		if (librosForCreate.size() > LIMITE_LOTE) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_LOTE);
+		}
+
+		ResultadoLoteLibros resultado = libroService.crearLibros(librosForCreate);
+		return ResponseEntity.ok(resultado);
+	}
+
 	/**
 	 * Actualiza la información de un libro existente en la base de datos a partir
 	 * de los datos proporcionados en el cuerpo de la solicitud HTTP.
+	 * 
+	 * <p>
+	 * Si se envía la cabecera {@code If-Match} con la ETag o la versión del libro
+	 * (el campo {@code version}) obtenidas al consultarlo, solo se actualiza
+	 * cuando nadie lo ha modificado desde entonces.
+	 * </p>
 	 *
 	 * @param libroForUpdate El objeto {@code Libro} con la información actualizada
 	 *                       del libro.
-	 * @return Una respuesta HTTP con el libro actualizado en formato JSON.
+	 * @param ifMatch        La versión que debe tener el libro.
+	 * @return Una respuesta HTTP con el libro actualizado en formato JSON, o una
+	 *         respuesta "PRECONDITION FAILED" si la versión no coincide.
 	 * @throws EntityNotFoundException Si el libro a actualizar no se encuentra en la base de datos.
 	 * @throws NumberFormatException Si el precio proporcionado no es un número válido.
 	 */
-	@PutMapping(value = "libro", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<?> updateLibro(@RequestBody Libro libroForUpdate) {
+	@PutMapping(value = "libro",
+			produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+					FormatosBinariosConfig.APPLICATION_SMILE_VALUE },
+			consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+					FormatosBinariosConfig.APPLICATION_SMILE_VALUE })
+	public ResponseEntity<?> updateLibro(@RequestBody Libro libroForUpdate,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 	    try {
-	        Libro libroActualizado = libroService.actualizarLibro(libroForUpdate);
+	        Libro libroActualizado = libroService.actualizarLibro(libroForUpdate, versionEsperada(ifMatch));
 	        return ResponseEntity.ok(libroActualizado);
 	    } catch (EntityNotFoundException e) {
 	        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(LIBRO_NOT_FOUND);
+	    } catch (OptimisticLockingFailureException e) {
+	        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(VERSION_NO_COINCIDE);
 	    } catch (NumberFormatException e) {
 	        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INVALID_PRECIO);
 	    }
@@ -173,23 +713,184 @@ public class LibroRestController {
 
 	/**
 	 * Elimina un libro de la base de datos por su número de ISBN.
+	 * 
+	 * <p>
+	 * Si se envía la cabecera {@code If-Match} con la ETag o la versión del
+	 * libro, solo se elimina cuando nadie lo ha modificado desde que se consultó.
+	 * </p>
 	 *
-	 * @param isbn El número de ISBN del libro que se desea eliminar.
+	 * @param isbn    El número de ISBN del libro que se desea eliminar.
+	 * @param ifMatch La versión que debe tener el libro.
 	 * @return Una respuesta HTTP sin contenido (204 No Content) si la eliminación
-	 *         fue exitosa, o una respuesta "NOT FOUND" si el libro no se encuentra.
+	 *         fue exitosa, una respuesta "NOT FOUND" si el libro no se encuentra,
+	 *         o una respuesta "PRECONDITION FAILED" si la versión no coincide.
 	 */
 	@DeleteMapping(value = "libro/{isbn}", produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<?> deleteLibro(@PathVariable("isbn") String isbn) {
+	public ResponseEntity<?> deleteLibro(@PathVariable("isbn") String isbn,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
 		try {
-			libroService.deleteLibroPorIsbn(isbn);
+			libroService.deleteLibroPorIsbn(isbn, versionEsperada(ifMatch));
 
 			return ResponseEntity.noContent().build();
 
 		} catch (EntityNotFoundException e) {
 			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(LIBRO_NOT_FOUND);
-		} 
+		} catch (OptimisticLockingFailureException e) {
+			return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(VERSION_NO_COINCIDE);
+		}
+
+	}
 
+	/**
+	 * Obtiene la versión esperada de la cabecera {@code If-Match}, que admite la
+	 * ETag devuelta al consultar el libro o su versión con o sin comillas. La
+	 * ETag empieza por la versión de la fila, que es lo único que se compara: el
+	 * resto identifica el arranque y el formato de la representación, y no
+	 * cambia el estado del libro. Como {@code If-Match} usa la comparación
+	 * fuerte, una ETag débil o un valor que no es una versión no coinciden con
+	 * ningún libro.
+	 *
+	 * @param ifMatch El valor de la cabecera, o {@code null} si no se ha enviado.
+	 * @return La versión esperada, o {@code null} si no se exige ninguna.
+	 */
+	private static Long versionEsperada(String ifMatch) {
+		if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+			return null;
+		}
+
+		String valor = ifMatch.trim();
+		if (valor.length() > 1 && valor.startsWith("\"") && valor.endsWith("\"")) {
+			valor = valor.substring(1, valor.length() - 1);
+		}
+		int punto = valor.indexOf('.');
+		if (punto >= 0) {
+			valor = valor.substring(0, punto);
+		}
+
+		try {
+			return Long.valueOf(valor);
+		} catch (NumberFormatException e) {
+			return -1L;
+		}
+	}
+
+	/*
+	 * Formato de la respuesta según la cabecera Accept: json, cbor, smile, o
+	 * null si no se acepta ninguno de ellos.
+	 */
+	private String formatoRespuesta(NativeWebRequest peticion) {
+		try {
+			for (MediaType aceptado : contentNegotiationManager.resolveMediaTypes(peticion)) {
+				if (aceptado.includes(MediaType.APPLICATION_JSON)) {
+					return FORMATO_JSON;
+				} else if (aceptado.includes(MediaType.APPLICATION_CBOR)) {
+					return "cbor";
+				} else if (aceptado.includes(FormatosBinariosConfig.APPLICATION_SMILE)) {
+					return "smile";
+				}
+			}
+		} catch (HttpMediaTypeNotAcceptableException e) {
+			// La cabecera Accept no es válida: Spring MVC responderá con el error
+		}
+		return null;
+	}
+
+	/*
+	 * Cada formato y codificación de la respuesta es una representación distinta
+	 * y necesita su propia ETag: se añaden a la de la versión.
+	 */
+	private static String etagRepresentacion(String etag, String... variantes) {
+		StringBuilder representacion = new StringBuilder(etag.substring(0, etag.length() - 1));
+		for (String variante : variantes) {
+			if (variante != null && !variante.equals(FORMATO_JSON)) {
+				representacion.append('.').append(variante);
+			}
+		}
+		return representacion.append('"').toString();
+	}
+
+	private static boolean aceptaGzip(String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+
+		for (String codificacion : acceptEncoding.split(",")) {
+			String[] partes = codificacion.split(";");
+			String nombre = partes[0].trim();
+			if ((nombre.equalsIgnoreCase(GZIP) || nombre.equals("*")) && !rechazada(partes)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean rechazada(String[] partes) {
+		for (int i = 1; i < partes.length; i++) {
+			String parametro = partes[i].trim().replace(" ", "");
+			if (parametro.startsWith("q=")) {
+				try {
+					return Double.parseDouble(parametro.substring(2)) == 0;
+				} catch (NumberFormatException e) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Comprueba si alguna de las ETag de la cabecera {@code If-None-Match}
+	 * coincide con la ETag actual, usando la comparación débil que exige esta
+	 * cabecera (se ignora el prefijo {@code W/}).
+	 *
+	 * @param ifNoneMatch El valor de la cabecera, o {@code null} si no se ha
+	 *                    enviado.
+	 * @param etag        La ETag actual del recurso.
+	 * @return {@code true} si el cliente ya tiene la versión actual.
+	 */
+	private static boolean coincideEtag(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+
+		for (String candidata : ifNoneMatch.split(",")) {
+			String recortada = candidata.trim();
+			if (recortada.startsWith("W/")) {
+				recortada = recortada.substring(2);
+			}
+			if (recortada.equals("*") || recortada.equals(etag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * Busca entre las ETag del cliente la del libro en su versión actual del
+	 * catálogo, sin leer el libro: la versión de la fila se toma de la propia
+	 * ETag, porque cualquier modificación del libro cambia también su versión
+	 * en el catálogo.
+	 */
+	private String etagLibroVigente(String ifNoneMatch, long version, String formato) {
+		if (ifNoneMatch == null) {
+			return null;
+		}
+
+		for (String candidata : ifNoneMatch.split(",")) {
+			String recortada = candidata.trim();
+			if (recortada.startsWith("W/")) {
+				recortada = recortada.substring(2);
+			}
+			Long versionFila = versionEsperada(recortada);
+			if (versionFila != null && versionFila >= 0) {
+				String etag = etagRepresentacion(versionCatalogo.etagLibro(versionFila, version), formato);
+				if (etag.equals(recortada)) {
+					return etag;
+				}
+			}
+		}
+		return null;
 	}
 
 }
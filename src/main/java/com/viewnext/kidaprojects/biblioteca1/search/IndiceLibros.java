@@ -0,0 +1,239 @@
+package com.viewnext.kidaprojects.biblioteca1.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.viewnext.kidaprojects.biblioteca1.event.LibroEvento;
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+import com.viewnext.kidaprojects.biblioteca1.service.LectorCatalogo;
+
+/**
+ * Índice invertido en memoria sobre el título y el autor de los libros.
+ * 
+ * <p>
+ * Para cada término normalizado (en minúsculas y sin tildes) guarda el
+ * conjunto de ISBN de los libros que lo contienen en el título y en el autor,
+ * de modo que una búsqueda solo recorre los libros del término menos frecuente
+ * de la consulta en lugar de todo el catálogo. Se construye al arrancar la
+ * aplicación y se mantiene sincronizado escuchando los eventos de modificación
+ * de libros.
+ * </p>
+ *
+ * <p>
+ * El título normalizado de cada libro, que desempata los resultados con la
+ * misma puntuación, se calcula una sola vez al indexarlo. Los resultados se
+ * seleccionan con un montículo de {@code limite} elementos, de modo que una
+ * búsqueda con {@code n} candidatos cuesta {@code O(n log limite)} en lugar de
+ * ordenar todos los candidatos.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@Component
+public class IndiceLibros {
+
+	private record Documento(Libro libro, String tituloNormalizado) {
+	}
+
+	private record Resultado(Documento documento, int puntuacion) {
+	}
+
+	private static final int PESO_TITULO = 2;
+	private static final int PESO_AUTOR = 1;
+
+	// De más a menos relevante: puntuación, título normalizado e ISBN
+	private static final Comparator<Resultado> RELEVANCIA = Comparator.comparingInt(Resultado::puntuacion)
+			.reversed()
+			.thenComparing(resultado -> resultado.documento().tituloNormalizado())
+			.thenComparing(resultado -> resultado.documento().libro().getIsbn());
+
+	private final Map<String, Set<String>> indiceTitulo = new ConcurrentHashMap<>();
+	private final Map<String, Set<String>> indiceAutor = new ConcurrentHashMap<>();
+	private final Map<String, Documento> documentos = new ConcurrentHashMap<>();
+
+	/*
+	 * ISBN modificados mientras se carga el catálogo. La carga no debe
+	 * sobrescribirlos con la versión, posiblemente anterior, que ha leído.
+	 */
+	private final Set<String> modificadosDuranteCarga = ConcurrentHashMap.newKeySet();
+	private volatile boolean cargando;
+
+	@Autowired
+	private LectorCatalogo lectorCatalogo;
+
+	/**
+	 * Construye el índice a partir de todos los libros de la base de datos.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void cargar() {
+		cargando = true;
+		try {
+			lectorCatalogo.recorrer(libro -> documentos.compute(libro.getIsbn(),
+					(isbn, anterior) -> modificadosDuranteCarga.contains(isbn) ? anterior : reemplazar(anterior, libro)));
+		} finally {
+			cargando = false;
+			modificadosDuranteCarga.clear();
+		}
+	}
+
+	/**
+	 * Actualiza el índice cuando se crea, actualiza o elimina un libro, una vez
+	 * confirmada la transacción que lo modifica.
+	 *
+	 * @param evento El evento de modificación del libro.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void alModificarLibro(LibroEvento evento) {
+		if (cargando) {
+			modificadosDuranteCarga.add(evento.getIsbn());
+		}
+
+		if (evento.getTipo() == LibroEvento.Tipo.BORRADO) {
+			documentos.computeIfPresent(evento.getIsbn(), (isbn, anterior) -> {
+				desindexar(anterior);
+				return null;
+			});
+		} else {
+			documentos.compute(evento.getIsbn(), (isbn, anterior) -> reemplazar(anterior, evento.getLibro()));
+		}
+	}
+
+	/**
+	 * Busca los libros cuyo título o autor contienen todos los términos de la
+	 * consulta, ordenados por relevancia. Un término encontrado en el título
+	 * puntúa más que uno encontrado en el autor.
+	 *
+	 * @param consulta El texto que se desea buscar.
+	 * @param limite   El número máximo de libros que se devuelven.
+	 * @return Los libros encontrados, de más a menos relevante.
+	 */
+	public List<Libro> buscar(String consulta, int limite) {
+		List<String> terminos = Normalizador.tokenizar(consulta).stream().distinct().toList();
+
+		if (terminos.isEmpty() || limite <= 0) {
+			return List.of();
+		}
+
+		List<Set<String>> titulos = new ArrayList<>();
+		List<Set<String>> autores = new ArrayList<>();
+		int masRaro = 0;
+
+		for (int i = 0; i < terminos.size(); i++) {
+			titulos.add(indiceTitulo.getOrDefault(terminos.get(i), Set.of()));
+			autores.add(indiceAutor.getOrDefault(terminos.get(i), Set.of()));
+
+			if (frecuencia(titulos, autores, i) < frecuencia(titulos, autores, masRaro)) {
+				masRaro = i;
+			}
+		}
+
+		// Solo los libros que contienen el término menos frecuente pueden contener todos.
+		// El primero del montículo es el menos relevante de los seleccionados.
+		PriorityQueue<Resultado> mejores = new PriorityQueue<>(limite, RELEVANCIA.reversed());
+		seleccionar(titulos.get(masRaro), Set.of(), titulos, autores, limite, mejores);
+		seleccionar(autores.get(masRaro), titulos.get(masRaro), titulos, autores, limite, mejores);
+
+		List<Resultado> resultados = new ArrayList<>(mejores);
+		resultados.sort(RELEVANCIA);
+		return resultados.stream().map(resultado -> resultado.documento().libro()).toList();
+	}
+
+	/**
+	 * Devuelve el número de libros indexados.
+	 *
+	 * @return El número de libros del índice.
+	 */
+	public int tamano() {
+		return documentos.size();
+	}
+
+	private static int frecuencia(List<Set<String>> titulos, List<Set<String>> autores, int termino) {
+		return titulos.get(termino).size() + autores.get(termino).size();
+	}
+
+	private void seleccionar(Set<String> candidatos, Set<String> yaVistos, List<Set<String>> titulos,
+			List<Set<String>> autores, int limite, PriorityQueue<Resultado> mejores) {
+		for (String isbn : candidatos) {
+			if (yaVistos.contains(isbn)) {
+				continue;
+			}
+
+			int puntuacion = 0;
+			for (int i = 0; i < titulos.size(); i++) {
+				boolean enTitulo = titulos.get(i).contains(isbn);
+				boolean enAutor = autores.get(i).contains(isbn);
+
+				if (!enTitulo && !enAutor) {
+					puntuacion = 0;
+					break;
+				}
+				puntuacion += (enTitulo ? PESO_TITULO : 0) + (enAutor ? PESO_AUTOR : 0);
+			}
+
+			Documento documento = puntuacion > 0 ? documentos.get(isbn) : null;
+			if (documento == null) {
+				continue;
+			}
+
+			Resultado resultado = new Resultado(documento, puntuacion);
+			if (mejores.size() < limite) {
+				mejores.add(resultado);
+			} else if (RELEVANCIA.compare(resultado, mejores.peek()) < 0) {
+				mejores.poll();
+				mejores.add(resultado);
+			}
+		}
+	}
+
+	/*
+	 * Se ejecuta dentro de documentos.compute, por lo que las modificaciones de
+	 * un mismo ISBN quedan serializadas.
+	 */
+	private Documento reemplazar(Documento anterior, Libro libro) {
+		if (anterior != null) {
+			desindexar(anterior);
+		}
+
+		Libro copia = new Libro(libro.getIsbn(), libro.getTitulo(), libro.getAutor(), libro.getPrecio());
+		indexar(indiceTitulo, copia.getTitulo(), copia.getIsbn());
+		indexar(indiceAutor, copia.getAutor(), copia.getIsbn());
+		return new Documento(copia, Normalizador.normalizar(copia.getTitulo()));
+	}
+
+	private void desindexar(Documento documento) {
+		Libro libro = documento.libro();
+		desindexar(indiceTitulo, libro.getTitulo(), libro.getIsbn());
+		desindexar(indiceAutor, libro.getAutor(), libro.getIsbn());
+	}
+
+	private static void indexar(Map<String, Set<String>> indice, String texto, String isbn) {
+		for (String termino : Normalizador.tokenizar(texto)) {
+			indice.compute(termino, (t, isbns) -> {
+				Set<String> conjunto = isbns == null ? ConcurrentHashMap.newKeySet() : isbns;
+				conjunto.add(isbn);
+				return conjunto;
+			});
+		}
+	}
+
+	private static void desindexar(Map<String, Set<String>> indice, String texto, String isbn) {
+		for (String termino : Normalizador.tokenizar(texto)) {
+			indice.computeIfPresent(termino, (t, isbns) -> {
+				isbns.remove(isbn);
+				return isbns.isEmpty() ? null : isbns;
+			});
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package com.viewnext.kidaprojects.biblioteca1.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Utilidades para normalizar y dividir en términos los textos de los libros.
+ * 
+ * <p>
+ * Los textos se pasan a minúsculas y se les quitan las tildes y demás signos
+ * diacríticos, de modo que "Quijote", "QUIJOTE" y "quijoté" se consideran el
+ * mismo término.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+public final class Normalizador {
+
+	private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+	private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+	private Normalizador() {
+
+	}
+
+	/**
+	 * Normaliza un texto pasándolo a minúsculas y quitándole los diacríticos.
+	 *
+	 * @param texto El texto que se desea normalizar.
+	 * @return El texto normalizado, o una cadena vacía si es {@code null}.
+	 */
+	public static String normalizar(String texto) {
+		if (texto == null) {
+			return "";
+		}
+		String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+		return DIACRITICOS.matcher(descompuesto).replaceAll("").toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Divide un texto normalizado en sus términos, descartando signos de
+	 * puntuación y espacios.
+	 *
+	 * @param texto El texto que se desea dividir.
+	 * @return La lista de términos en el orden en el que aparecen.
+	 */
+	public static List<String> tokenizar(String texto) {
+		List<String> terminos = new ArrayList<>();
+
+		for (String termino : SEPARADORES.split(normalizar(texto))) {
+			if (!termino.isEmpty()) {
+				terminos.add(termino);
+			}
+		}
+		return terminos;
+	}
+}
@@ -0,0 +1,655 @@
+package com.viewnext.kidaprojects.biblioteca1.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.viewnext.kidaprojects.biblioteca1.dto.Sugerencia;
+import com.viewnext.kidaprojects.biblioteca1.event.LibroEvento;
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+import com.viewnext.kidaprojects.biblioteca1.service.LectorCatalogo;
+
+/**
+ * Árbol de prefijos en memoria para el autocompletado de títulos y autores.
+ *
+ * <p>
+ * Cada título y autor distinto del catálogo se guarda una sola vez, con el
+ * número de libros que lo comparten, y cada libro solo guarda referencias a
+ * sus dos entradas. Se indexa en un árbol de prefijos compacto (las cadenas de
+ * nodos con un solo hijo se funden en uno) por cada una de sus palabras,
+ * normalizadas en minúsculas y sin tildes, de modo que "quij" sugiere "El
+ * Ingenioso Hidalgo Don Quijote". Los textos que empiezan igual comparten los
+ * nodos del principio, y la etiqueta de cada nodo es un tramo del texto
+ * normalizado de una entrada, sin copiarlo.
+ * </p>
+ *
+ * <p>
+ * Solo los nodos con muchas coincidencias (al menos
+ * {@value #COINCIDENCIAS_LISTA} apariciones de textos en su subárbol) guardan
+ * la lista de las {@value #MAXIMO_SUGERENCIAS} entradas de su subárbol que
+ * comparten más libros. Un prefijo se resuelve bajando por el árbol, en tiempo
+ * proporcional a su longitud: si el nodo al que llega tiene lista se devuelve
+ * sin recorrer las coincidencias, y si no se recorre su subárbol, que es
+ * pequeño. Así las listas ocupan memoria solo en los nodos cercanos a la raíz
+ * y en los prefijos muy repetidos, no en cada nodo del árbol.
+ * </p>
+ *
+ * <p>
+ * Las altas y bajas se serializan con un cerrojo y actualizan las mejores
+ * entradas de los nodos de sus caminos. Las consultas no toman el cerrojo: los
+ * nodos y sus listas se sustituyen en lugar de modificarse, de modo que siempre
+ * leen un estado coherente.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@Component
+public class SugerenciasLibros {
+
+	/**
+	 * Número máximo de sugerencias que se devuelven en una consulta.
+	 */
+	public static final int MAXIMO_SUGERENCIAS = 50;
+
+	/*
+	 * Apariciones de textos en el subárbol de un nodo a partir de las cuales
+	 * guarda su lista de mejores entradas. La lista se descarta por debajo de la
+	 * mitad, para no crearla y descartarla una y otra vez.
+	 */
+	private static final int COINCIDENCIAS_LISTA = 256;
+
+	private static final Nodo[] SIN_HIJOS = {};
+	private static final Entrada[] SIN_ENTRADAS = {};
+
+	private static final Comparator<Entrada> ORDEN = SugerenciasLibros::comparar;
+
+	private final Nodo raiz = new Nodo("", 0, 0, SIN_HIJOS, SIN_ENTRADAS, null, 0);
+	private final Map<Sugerencia.Tipo, Map<String, Entrada>> entradas = new EnumMap<>(Sugerencia.Tipo.class);
+	private final Lock cerrojo = new ReentrantLock();
+	private final Map<String, Entrada[]> entradasPorIsbn = new ConcurrentHashMap<>();
+
+	private final Set<String> modificadosDuranteCarga = ConcurrentHashMap.newKeySet();
+	private volatile boolean cargando;
+
+	@Autowired
+	private LectorCatalogo lectorCatalogo;
+
+	public SugerenciasLibros() {
+		for (Sugerencia.Tipo tipo : Sugerencia.Tipo.values()) {
+			entradas.put(tipo, new HashMap<>());
+		}
+	}
+
+	/**
+	 * Construye la estructura a partir de todos los libros de la base de datos.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void cargar() {
+		cargando = true;
+		try {
+			lectorCatalogo.recorrer(libro -> entradasPorIsbn.compute(libro.getIsbn(),
+					(isbn, anteriores) -> modificadosDuranteCarga.contains(isbn) ? anteriores : reemplazar(anteriores, libro)));
+		} finally {
+			cargando = false;
+			modificadosDuranteCarga.clear();
+		}
+	}
+
+	/**
+	 * Actualiza las sugerencias cuando se crea, actualiza o elimina un libro, una
+	 * vez confirmada la transacción que lo modifica.
+	 *
+	 * @param evento El evento de modificación del libro.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void alModificarLibro(LibroEvento evento) {
+		if (cargando) {
+			modificadosDuranteCarga.add(evento.getIsbn());
+		}
+
+		if (evento.getTipo() == LibroEvento.Tipo.BORRADO) {
+			entradasPorIsbn.computeIfPresent(evento.getIsbn(), (isbn, anteriores) -> reemplazar(anteriores, null));
+		} else {
+			entradasPorIsbn.compute(evento.getIsbn(), (isbn, anteriores) -> reemplazar(anteriores, evento.getLibro()));
+		}
+	}
+
+	/**
+	 * Sugiere los títulos y autores que contienen una palabra que empieza por el
+	 * prefijo indicado. Se devuelven primero los que comparten más libros.
+	 *
+	 * @param prefijo El texto escrito hasta el momento.
+	 * @param limite  El número máximo de sugerencias, hasta
+	 *                {@value #MAXIMO_SUGERENCIAS}.
+	 * @return Las sugerencias encontradas.
+	 */
+	public List<Sugerencia> sugerir(String prefijo, int limite) {
+		String normalizado = String.join(" ", Normalizador.tokenizar(prefijo));
+		Nodo nodo = normalizado.isEmpty() ? null : buscar(normalizado);
+
+		if (nodo == null) {
+			return List.of();
+		}
+
+		Entrada[] mejores = nodo.mejores;
+		if (mejores == null) {
+			Map<Entrada, Boolean> coincidencias = new IdentityHashMap<>();
+			recoger(nodo, coincidencias);
+			mejores = mejores(coincidencias, limite);
+		}
+
+		List<Sugerencia> sugerencias = new ArrayList<>();
+		for (int i = 0; i < Math.min(limite, mejores.length); i++) {
+			sugerencias.add(new Sugerencia(mejores[i].texto, mejores[i].tipo, mejores[i].libros));
+		}
+		return sugerencias;
+	}
+
+	/*
+	 * Se ejecuta dentro de entradasPorIsbn.compute, por lo que las
+	 * modificaciones de un mismo ISBN quedan serializadas.
+	 */
+	private Entrada[] reemplazar(Entrada[] anteriores, Libro libro) {
+		if (anteriores != null) {
+			quitar(anteriores[0]);
+			quitar(anteriores[1]);
+		}
+
+		if (libro == null) {
+			return null;
+		}
+
+		return new Entrada[] { anadir(Sugerencia.Tipo.TITULO, libro.getTitulo()),
+				anadir(Sugerencia.Tipo.AUTOR, libro.getAutor()) };
+	}
+
+	private Entrada anadir(Sugerencia.Tipo tipo, String texto) {
+		List<String> palabras = Normalizador.tokenizar(texto);
+
+		if (palabras.isEmpty()) {
+			return null;
+		}
+
+		String normalizado = String.join(" ", palabras);
+		cerrojo.lock();
+		try {
+			Entrada entrada = entradas.get(tipo).computeIfAbsent(normalizado, clave -> new Entrada(texto, tipo, clave));
+			boolean nueva = entrada.libros == 0;
+			entrada.libros++;
+
+			// Primero los cambios de estructura, que pueden sustituir nodos de otros caminos
+			int[] sufijos = sufijos(entrada.normalizado);
+			if (nueva) {
+				for (int sufijo : sufijos) {
+					Nodo fin = insertar(entrada.normalizado, sufijo);
+					fin.terminales = anadida(fin.terminales, entrada);
+					for (Nodo nodo : camino(entrada.normalizado, sufijo)) {
+						nodo.coincidencias++;
+					}
+				}
+			}
+
+			// Los nodos más profundos primero, porque las listas nuevas se calculan a partir de sus hijos
+			for (Nodo nodo : porProfundidad(nodos(entrada.normalizado, sufijos))) {
+				if (nodo.mejores != null) {
+					subir(nodo, entrada);
+				} else if (nodo.coincidencias >= COINCIDENCIAS_LISTA) {
+					nodo.mejores = recalcular(nodo);
+				}
+			}
+			return entrada;
+		} finally {
+			cerrojo.unlock();
+		}
+	}
+
+	private void quitar(Entrada entrada) {
+		if (entrada == null) {
+			return;
+		}
+
+		cerrojo.lock();
+		try {
+			String normalizado = entrada.normalizado;
+			int[] sufijos = sufijos(normalizado);
+			Map<Nodo, Integer> caminos = nodos(normalizado, sufijos);
+			if (--entrada.libros == 0) {
+				entradas.get(entrada.tipo).remove(normalizado);
+				for (int sufijo : sufijos) {
+					List<Nodo> camino = camino(normalizado, sufijo);
+					Nodo fin = camino.get(camino.size() - 1);
+					fin.terminales = quitada(fin.terminales, entrada);
+					for (Nodo nodo : camino) {
+						nodo.coincidencias--;
+					}
+				}
+			}
+
+			// Los nodos más profundos primero, porque los demás se recalculan a partir de sus hijos
+			for (Nodo nodo : porProfundidad(caminos)) {
+				if (nodo.coincidencias < COINCIDENCIAS_LISTA / 2) {
+					nodo.mejores = null;
+				} else if (nodo.mejores != null) {
+					bajar(nodo, entrada);
+				}
+			}
+
+			if (entrada.libros == 0) {
+				for (int sufijo : sufijos) {
+					podar(normalizado, sufijo);
+				}
+			}
+		} finally {
+			cerrojo.unlock();
+		}
+	}
+
+	/*
+	 * La entrada ha ganado un libro, o aparece por primera vez en el subárbol
+	 * del nodo, y solo puede subir en su lista.
+	 */
+	private static void subir(Nodo nodo, Entrada entrada) {
+		Entrada[] mejores = nodo.mejores;
+		int posicion = posicion(mejores, entrada);
+
+		if (posicion >= 0) {
+			nodo.mejores = ordenada(quitada(mejores, posicion), entrada);
+		} else if (mejores.length < MAXIMO_SUGERENCIAS) {
+			nodo.mejores = ordenada(mejores, entrada);
+		} else if (ORDEN.compare(entrada, mejores[mejores.length - 1]) < 0) {
+			nodo.mejores = ordenada(quitada(mejores, mejores.length - 1), entrada);
+		}
+	}
+
+	/*
+	 * La entrada ha perdido un libro. Si la lista del nodo está completa y la
+	 * entrada queda por detrás de la última, puede dejar su sitio a otra que
+	 * solo está en las de sus hijos.
+	 */
+	private static void bajar(Nodo nodo, Entrada entrada) {
+		Entrada[] mejores = nodo.mejores;
+		int posicion = posicion(mejores, entrada);
+
+		if (posicion < 0) {
+			return;
+		}
+		Entrada[] restantes = quitada(mejores, posicion);
+		if (mejores.length < MAXIMO_SUGERENCIAS) {
+			nodo.mejores = entrada.libros == 0 ? restantes : ordenada(restantes, entrada);
+		} else if (entrada.libros > 0 && ORDEN.compare(entrada, restantes[restantes.length - 1]) < 0) {
+			nodo.mejores = ordenada(restantes, entrada);
+		} else {
+			nodo.mejores = recalcular(nodo);
+		}
+	}
+
+	// De más a menos libros y, a igualdad, por orden alfabético
+	private static int comparar(Entrada una, Entrada otra) {
+		int resultado = Integer.compare(otra.libros, una.libros);
+		if (resultado == 0) {
+			resultado = una.normalizado.compareTo(otra.normalizado);
+		}
+		return resultado != 0 ? resultado : una.tipo.compareTo(otra.tipo);
+	}
+
+	/*
+	 * Lista del nodo a partir de sus textos y de las listas de sus hijos. Los
+	 * hijos sin lista tienen pocas coincidencias y se recorren enteros.
+	 */
+	private static Entrada[] recalcular(Nodo nodo) {
+		Map<Entrada, Boolean> candidatas = new IdentityHashMap<>();
+		for (Entrada entrada : nodo.terminales) {
+			candidatas.put(entrada, Boolean.TRUE);
+		}
+		for (Nodo hijo : nodo.hijos) {
+			Entrada[] mejores = hijo.mejores;
+			if (mejores == null) {
+				recoger(hijo, candidatas);
+			} else {
+				for (Entrada entrada : mejores) {
+					candidatas.put(entrada, Boolean.TRUE);
+				}
+			}
+		}
+		return mejores(candidatas, MAXIMO_SUGERENCIAS);
+	}
+
+	/*
+	 * Añade las entradas de todos los textos del subárbol del nodo.
+	 */
+	private static void recoger(Nodo nodo, Map<Entrada, Boolean> entradas) {
+		List<Nodo> pendientes = new ArrayList<>();
+		pendientes.add(nodo);
+
+		while (!pendientes.isEmpty()) {
+			Nodo actual = pendientes.remove(pendientes.size() - 1);
+			for (Entrada entrada : actual.terminales) {
+				entradas.put(entrada, Boolean.TRUE);
+			}
+			pendientes.addAll(Arrays.asList(actual.hijos));
+		}
+	}
+
+	private static Entrada[] mejores(Map<Entrada, Boolean> candidatas, int limite) {
+		List<Entrada> ordenadas = new ArrayList<>(candidatas.keySet());
+		ordenadas.sort(ORDEN);
+		return ordenadas.subList(0, Math.min(limite, ordenadas.size())).toArray(SIN_ENTRADAS);
+	}
+
+	private static List<Nodo> porProfundidad(Map<Nodo, Integer> nodos) {
+		List<Nodo> ordenados = new ArrayList<>(nodos.keySet());
+		ordenados.sort(Comparator.comparing(nodos::get, Comparator.reverseOrder()));
+		return ordenados;
+	}
+
+	/*
+	 * Nodos de los caminos de los sufijos del texto, con su profundidad.
+	 */
+	private Map<Nodo, Integer> nodos(String texto, int[] sufijos) {
+		Map<Nodo, Integer> nodos = new IdentityHashMap<>();
+		for (int sufijo : sufijos) {
+			List<Nodo> camino = camino(texto, sufijo);
+			for (int i = 0; i < camino.size(); i++) {
+				nodos.put(camino.get(i), i);
+			}
+		}
+		return nodos;
+	}
+
+	/*
+	 * Baja por el árbol hasta el nodo en el que termina el prefijo o cuya
+	 * etiqueta lo contiene, o devuelve null si ningún texto empieza por él.
+	 */
+	private Nodo buscar(String prefijo) {
+		Nodo nodo = raiz;
+		int i = 0;
+
+		while (i < prefijo.length()) {
+			Nodo[] hijos = nodo.hijos;
+			int posicion = hijo(hijos, prefijo.charAt(i));
+			if (posicion < 0) {
+				return null;
+			}
+
+			Nodo hijo = hijos[posicion];
+			int longitud = Math.min(hijo.longitud(), prefijo.length() - i);
+			if (!prefijo.regionMatches(i, hijo.fuente, hijo.desde, longitud)) {
+				return null;
+			}
+			nodo = hijo;
+			i += longitud;
+		}
+		return nodo;
+	}
+
+	/*
+	 * Nodos desde la raíz hasta el que termina exactamente en la clave (el
+	 * texto a partir de la posición indicada), o lista vacía si la clave no
+	 * termina en un nodo.
+	 */
+	private List<Nodo> camino(String texto, int desde) {
+		List<Nodo> camino = new ArrayList<>();
+		Nodo nodo = raiz;
+		int i = desde;
+		camino.add(raiz);
+
+		while (i < texto.length()) {
+			int posicion = hijo(nodo.hijos, texto.charAt(i));
+			if (posicion < 0) {
+				return List.of();
+			}
+
+			nodo = nodo.hijos[posicion];
+			if (!texto.regionMatches(i, nodo.fuente, nodo.desde, nodo.longitud())) {
+				return List.of();
+			}
+			i += nodo.longitud();
+			camino.add(nodo);
+		}
+		return camino;
+	}
+
+	/*
+	 * Crea, si no existe, el nodo en el que termina la clave, partiendo la
+	 * etiqueta del nodo en el que cae en medio. Los nodos nuevos se preparan
+	 * antes de enlazarlos para que las consultas nunca vean uno a medias.
+	 */
+	private Nodo insertar(String texto, int desde) {
+		Nodo nodo = raiz;
+		int i = desde;
+
+		while (i < texto.length()) {
+			Nodo[] hijos = nodo.hijos;
+			int posicion = hijo(hijos, texto.charAt(i));
+			if (posicion < 0) {
+				Nodo hoja = new Nodo(texto, i, texto.length(), SIN_HIJOS, SIN_ENTRADAS, null, 0);
+				nodo.hijos = conHijo(hijos, -posicion - 1, hoja);
+				return hoja;
+			}
+
+			Nodo hijo = hijos[posicion];
+			int comun = prefijoComun(hijo, texto, i);
+			if (comun < hijo.longitud()) {
+				Nodo resto = hijo.conEtiqueta(hijo.desde + comun);
+				Nodo intermedio = new Nodo(hijo.fuente, hijo.desde, hijo.desde + comun, new Nodo[] { resto },
+						SIN_ENTRADAS, resto.mejores, resto.coincidencias);
+				hijos = hijos.clone();
+				hijos[posicion] = intermedio;
+				nodo.hijos = hijos;
+				hijo = intermedio;
+			}
+			nodo = hijo;
+			i += comun;
+		}
+		return nodo;
+	}
+
+	/*
+	 * Quita los nodos que se han quedado sin textos y funde con su hijo los que
+	 * se han quedado con uno solo, desde el final del sufijo hacia la raíz.
+	 */
+	private void podar(String texto, int desde) {
+		List<Nodo> camino = camino(texto, desde);
+
+		for (int i = camino.size() - 1; i > 0; i--) {
+			Nodo nodo = camino.get(i);
+			Nodo padre = camino.get(i - 1);
+
+			if (nodo.terminales.length > 0 || nodo.hijos.length > 1) {
+				return;
+			}
+
+			int posicion = Arrays.asList(padre.hijos).indexOf(nodo);
+			if (nodo.hijos.length == 0) {
+				padre.hijos = sinHijo(padre.hijos, posicion);
+			} else {
+				// En la fuente del hijo, su etiqueta va precedida del camino desde la raíz
+				Nodo hijo = nodo.hijos[0];
+				Nodo[] hijos = padre.hijos.clone();
+				hijos[posicion] = hijo.conEtiqueta(hijo.desde - nodo.longitud());
+				padre.hijos = hijos;
+				return;
+			}
+		}
+	}
+
+	// Posiciones en las que empieza cada palabra del texto normalizado
+	private static int[] sufijos(String normalizado) {
+		int palabras = 1;
+		for (int i = 0; i < normalizado.length(); i++) {
+			if (normalizado.charAt(i) == ' ') {
+				palabras++;
+			}
+		}
+
+		int[] sufijos = new int[palabras];
+		for (int i = 0, palabra = 1; i < normalizado.length(); i++) {
+			if (normalizado.charAt(i) == ' ') {
+				sufijos[palabra++] = i + 1;
+			}
+		}
+		return sufijos;
+	}
+
+	// Los hijos están ordenados por el primer carácter de su etiqueta
+	private static int hijo(Nodo[] hijos, char caracter) {
+		int desde = 0;
+		int hasta = hijos.length - 1;
+
+		while (desde <= hasta) {
+			int medio = (desde + hasta) >>> 1;
+			char primero = hijos[medio].primero();
+			if (primero < caracter) {
+				desde = medio + 1;
+			} else if (primero > caracter) {
+				hasta = medio - 1;
+			} else {
+				return medio;
+			}
+		}
+		return -(desde + 1);
+	}
+
+	private static int prefijoComun(Nodo nodo, String texto, int desde) {
+		int longitud = Math.min(nodo.longitud(), texto.length() - desde);
+		int comun = 0;
+
+		while (comun < longitud && nodo.fuente.charAt(nodo.desde + comun) == texto.charAt(desde + comun)) {
+			comun++;
+		}
+		return comun;
+	}
+
+	private static Nodo[] conHijo(Nodo[] hijos, int posicion, Nodo hijo) {
+		Nodo[] resultado = new Nodo[hijos.length + 1];
+		System.arraycopy(hijos, 0, resultado, 0, posicion);
+		resultado[posicion] = hijo;
+		System.arraycopy(hijos, posicion, resultado, posicion + 1, hijos.length - posicion);
+		return resultado;
+	}
+
+	private static Nodo[] sinHijo(Nodo[] hijos, int posicion) {
+		Nodo[] resultado = new Nodo[hijos.length - 1];
+		System.arraycopy(hijos, 0, resultado, 0, posicion);
+		System.arraycopy(hijos, posicion + 1, resultado, posicion, hijos.length - posicion - 1);
+		return resultado;
+	}
+
+	private static int posicion(Entrada[] lista, Entrada entrada) {
+		for (int i = 0; i < lista.length; i++) {
+			if (lista[i] == entrada) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static Entrada[] anadida(Entrada[] lista, Entrada entrada) {
+		Entrada[] resultado = Arrays.copyOf(lista, lista.length + 1);
+		resultado[lista.length] = entrada;
+		return resultado;
+	}
+
+	private static Entrada[] quitada(Entrada[] lista, Entrada entrada) {
+		int posicion = posicion(lista, entrada);
+		return posicion < 0 ? lista : quitada(lista, posicion);
+	}
+
+	private static Entrada[] quitada(Entrada[] lista, int posicion) {
+		Entrada[] resultado = new Entrada[lista.length - 1];
+		System.arraycopy(lista, 0, resultado, 0, posicion);
+		System.arraycopy(lista, posicion + 1, resultado, posicion, lista.length - posicion - 1);
+		return resultado;
+	}
+
+	// La lista está ordenada y no contiene la entrada
+	private static Entrada[] ordenada(Entrada[] lista, Entrada entrada) {
+		int posicion = Arrays.binarySearch(lista, entrada, ORDEN);
+		posicion = posicion < 0 ? -posicion - 1 : posicion;
+
+		Entrada[] resultado = new Entrada[lista.length + 1];
+		System.arraycopy(lista, 0, resultado, 0, posicion);
+		resultado[posicion] = entrada;
+		System.arraycopy(lista, posicion, resultado, posicion + 1, lista.length - posicion);
+		return resultado;
+	}
+
+	/*
+	 * Nodo del árbol. La etiqueta es el tramo de texto entre su padre y él: los
+	 * caracteres entre desde y hasta del texto normalizado de alguna entrada,
+	 * que en ese texto van precedidos del camino desde la raíz. No cambia
+	 * nunca: al partir o fundir nodos se crean nodos nuevos. Las listas solo se
+	 * modifican con el cerrojo y se sustituyen enteras; la de mejores entradas
+	 * es null en los nodos con pocas coincidencias. El número de coincidencias
+	 * solo lo usan las escrituras.
+	 */
+	private static final class Nodo {
+
+		private final String fuente;
+		private final int desde;
+		private final int hasta;
+		private volatile Nodo[] hijos;
+		private volatile Entrada[] terminales;
+		private volatile Entrada[] mejores;
+		private int coincidencias;
+
+		private Nodo(String fuente, int desde, int hasta, Nodo[] hijos, Entrada[] terminales, Entrada[] mejores,
+				int coincidencias) {
+			this.fuente = fuente;
+			this.desde = desde;
+			this.hasta = hasta;
+			this.hijos = hijos;
+			this.terminales = terminales;
+			this.mejores = mejores;
+			this.coincidencias = coincidencias;
+		}
+
+		private int longitud() {
+			return hasta - desde;
+		}
+
+		private char primero() {
+			return fuente.charAt(desde);
+		}
+
+		// El mismo nodo con la etiqueta empezando en otra posición de su fuente
+		private Nodo conEtiqueta(int nuevoDesde) {
+			return new Nodo(fuente, nuevoDesde, hasta, hijos, terminales, mejores, coincidencias);
+		}
+	}
+
+	/*
+	 * Título o autor distinto del catálogo. El contador solo se modifica con el
+	 * cerrojo; las consultas pueden ver un valor ligeramente desfasado, lo que
+	 * basta para mostrar las sugerencias.
+	 */
+	private static final class Entrada {
+
+		private final String texto;
+		private final Sugerencia.Tipo tipo;
+		private final String normalizado;
+		private volatile int libros;
+
+		private Entrada(String texto, Sugerencia.Tipo tipo, String normalizado) {
+			this.texto = texto;
+			this.tipo = tipo;
+			this.normalizado = normalizado;
+		}
+	}
+}
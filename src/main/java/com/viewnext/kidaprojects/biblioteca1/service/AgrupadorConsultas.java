@@ -0,0 +1,144 @@
+package com.viewnext.kidaprojects.biblioteca1.service;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.viewnext.kidaprojects.biblioteca1.config.EnrutadorDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Componente que agrupa las consultas idénticas simultáneas por título o por
+ * autor en una sola consulta a la base de datos.
+ *
+ * <p>
+ * La primera petición de una consulta la ejecuta en una transacción de solo
+ * lectura y deja su resultado en un futuro. Las peticiones idénticas (mismo
+ * criterio, mismo valor y mismos campos) que llegan mientras se ejecuta no
+ * abren transacción ni piden conexión: esperan a ese futuro y reciben la misma
+ * lista, que no se puede modificar, o la misma excepción. En cuanto termina la
+ * consulta se olvida, de modo que la siguiente petición vuelve a la base de
+ * datos: solo se reparte el resultado de una consulta que aún no había
+ * terminado cuando llegó la petición, y no se guarda nada en caché. Las
+ * lecturas de un hilo que ha escrito en la misma petición van a la base de
+ * datos primaria y no se agrupan con las que van a la réplica, y las que se
+ * hacen dentro de una transacción ya abierta no se agrupan nunca, porque deben
+ * ver sus propios cambios.
+ * </p>
+ *
+ * <p>
+ * Se desactiva con {@code biblioteca.consultas-agrupadas.habilitadas=false}.
+ * Publica en {@code biblioteca.consultas.agrupadas}, por criterio
+ * ({@code consulta}), las consultas ejecutadas ({@code resultado=ejecutada}) y
+ * las resueltas con el resultado de otra ({@code resultado=compartida}); la
+ * proporción de compartidas sobre el total es el ahorro de consultas.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@Component
+public class AgrupadorConsultas {
+
+	private record Clave(CampoLibro criterio, String valor, Set<CampoLibro> campos, boolean primaria) {
+	}
+
+	private final boolean habilitadas;
+	private final TransactionTemplate soloLectura;
+	private final Map<Clave, CompletableFuture<List<?>>> enCurso = new ConcurrentHashMap<>();
+	private final Map<CampoLibro, Counter> ejecutadas = new EnumMap<>(CampoLibro.class);
+	private final Map<CampoLibro, Counter> compartidas = new EnumMap<>(CampoLibro.class);
+
+	public AgrupadorConsultas(@Value("${biblioteca.consultas-agrupadas.habilitadas:true}") boolean habilitadas,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+		this.habilitadas = habilitadas;
+		this.soloLectura = new TransactionTemplate(transactionManager);
+		this.soloLectura.setReadOnly(true);
+		for (CampoLibro criterio : List.of(CampoLibro.TITULO, CampoLibro.AUTOR)) {
+			ejecutadas.put(criterio, contador(meterRegistry, criterio, "ejecutada"));
+			compartidas.put(criterio, contador(meterRegistry, criterio, "compartida"));
+		}
+	}
+
+	/**
+	 * Ejecuta una consulta por título o por autor, o espera a la consulta
+	 * idéntica que ya se está ejecutando y devuelve su resultado.
+	 *
+	 * @param criterio El campo por el que se busca: {@code TITULO} o
+	 *                 {@code AUTOR}.
+	 * @param valor    El valor buscado.
+	 * @param campos   Los campos que se desean obtener, o {@code null} para
+	 *                 obtenerlos todos.
+	 * @param consulta La consulta, que se ejecuta dentro de una transacción de
+	 *                 solo lectura.
+	 * @return La lista de resultados, que no se puede modificar.
+	 */
+	public List<?> consultar(CampoLibro criterio, String valor, Set<CampoLibro> campos, Supplier<List<?>> consulta) {
+		if (!habilitadas || TransactionSynchronizationManager.isActualTransactionActive()) {
+			ejecutadas.get(criterio).increment();
+			return ejecutar(consulta);
+		}
+
+		Clave clave = new Clave(criterio, valor, campos, EnrutadorDataSource.leeDePrimaria());
+		CompletableFuture<List<?>> propia = new CompletableFuture<>();
+		CompletableFuture<List<?>> existente = enCurso.putIfAbsent(clave, propia);
+		if (existente != null) {
+			compartidas.get(criterio).increment();
+			return esperar(existente);
+		}
+
+		ejecutadas.get(criterio).increment();
+		try {
+			List<?> resultado = ejecutar(consulta);
+			// Se olvida antes de completar para que nadie reciba el resultado después
+			enCurso.remove(clave, propia);
+			propia.complete(resultado);
+			return resultado;
+		} catch (RuntimeException | Error e) {
+			enCurso.remove(clave, propia);
+			propia.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	private List<?> ejecutar(Supplier<List<?>> consulta) {
+		return soloLectura.execute(estado -> Collections.unmodifiableList(consulta.get()));
+	}
+
+	private static List<?> esperar(CompletableFuture<List<?>> futuro) {
+		try {
+			return futuro.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException causa) {
+				throw causa;
+			}
+			if (e.getCause() instanceof Error causa) {
+				throw causa;
+			}
+			throw e;
+		}
+	}
+
+	private static Counter contador(MeterRegistry meterRegistry, CampoLibro criterio, String resultado) {
+		return Counter.builder("biblioteca.consultas.agrupadas")
+				.description("Consultas por título o autor ejecutadas o resueltas con el resultado de otra idéntica")
+				.tag("consulta", criterio.name().toLowerCase(Locale.ROOT))
+				.tag("resultado", resultado)
+				.register(meterRegistry);
+	}
+}
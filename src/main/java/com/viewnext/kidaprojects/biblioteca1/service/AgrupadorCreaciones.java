@@ -0,0 +1,254 @@
+package com.viewnext.kidaprojects.biblioteca1.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.viewnext.kidaprojects.biblioteca1.dto.ResultadoItemLibro;
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Componente que agrupa las altas de libros individuales en cargas por lotes
+ * (escritura diferida).
+ *
+ * <p>
+ * Se activa con {@code biblioteca.escritura-diferida.habilitada=true}. Cada
+ * alta se deja en una cola acotada
+ * ({@code biblioteca.escritura-diferida.capacidad}) y un único hilo la vacía en
+ * bloques: espera al primer libro y recoge los que lleguen durante la ventana
+ * ({@code biblioteca.escritura-diferida.ventana}) hasta un máximo de
+ * {@code biblioteca.escritura-diferida.tamano-maximo}. Cada bloque se guarda
+ * con {@link LibroserviceImpl#crearLibros(List)}, de modo que cientos de altas
+ * cuestan una transacción y un lote JDBC en lugar de una transacción cada una.
+ * Los ISBN repetidos dentro de un bloque se insertan una sola vez y el resto
+ * de sus altas se resuelven como duplicadas, igual que si hubieran llegado una
+ * detrás de otra.
+ * </p>
+ *
+ * <p>
+ * Cada alta devuelve un futuro que se completa cuando su bloque se ha
+ * confirmado en la base de datos. Con
+ * {@code biblioteca.escritura-diferida.confirmacion=ENCOLADA} el controlador
+ * responde sin esperarlo: es más rápido, pero las altas encoladas se pierden si
+ * la aplicación se detiene de forma abrupta o si falla la base de datos.
+ * Con {@code CONFIRMADA} (por defecto) se responde cuando el libro está
+ * guardado.
+ * </p>
+ *
+ * <p>
+ * Publica el tamaño de los bloques en {@code biblioteca.escritura.diferida.bloque},
+ * las altas pendientes en {@code biblioteca.escritura.diferida.pendientes} y
+ * las altas perdidas por errores en {@code biblioteca.escritura.diferida.fallidas}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@Component
+@ConditionalOnProperty(name = "biblioteca.escritura-diferida.habilitada", havingValue = "true")
+public class AgrupadorCreaciones {
+
+	/**
+	 * Momento en que se responde a quien da de alta un libro.
+	 */
+	public enum Confirmacion {
+		/** Al dejar el alta en la cola. */
+		ENCOLADA,
+		/** Al confirmar en la base de datos el bloque que contiene el alta. */
+		CONFIRMADA
+	}
+
+	private record Alta(Libro libro, CompletableFuture<ResultadoItemLibro> resultado) {
+	}
+
+	private static final Logger log = LoggerFactory.getLogger(AgrupadorCreaciones.class);
+
+	/*
+	 * Cada cuánto comprueba el hilo si la aplicación se está deteniendo cuando
+	 * no llegan altas.
+	 */
+	private static final long ESPERA_MAXIMA_MS = 100;
+
+	private final BlockingQueue<Alta> cola;
+	private final long ventanaNanos;
+	private final int tamanoMaximo;
+	private final Confirmacion confirmacion;
+	private final DistributionSummary tamanoBloques;
+	private final Counter fallidas;
+
+	private volatile boolean detenido;
+	private Thread hilo;
+
+	@Autowired
+	private LibroserviceImpl libroService;
+
+	public AgrupadorCreaciones(@Value("${biblioteca.escritura-diferida.capacidad:10000}") int capacidad,
+			@Value("${biblioteca.escritura-diferida.ventana:5ms}") Duration ventana,
+			@Value("${biblioteca.escritura-diferida.tamano-maximo:500}") int tamanoMaximo,
+			@Value("${biblioteca.escritura-diferida.confirmacion:CONFIRMADA}") Confirmacion confirmacion,
+			MeterRegistry meterRegistry) {
+		this.cola = new ArrayBlockingQueue<>(capacidad);
+		this.ventanaNanos = ventana.toNanos();
+		this.tamanoMaximo = tamanoMaximo;
+		this.confirmacion = confirmacion;
+		this.tamanoBloques = DistributionSummary.builder("biblioteca.escritura.diferida.bloque")
+				.description("Altas guardadas en cada transacción de la escritura diferida")
+				.register(meterRegistry);
+		this.fallidas = Counter.builder("biblioteca.escritura.diferida.fallidas")
+				.description("Altas diferidas que no se han podido guardar")
+				.register(meterRegistry);
+		Gauge.builder("biblioteca.escritura.diferida.pendientes", cola, BlockingQueue::size)
+				.description("Altas a la espera de guardarse")
+				.register(meterRegistry);
+	}
+
+	@PostConstruct
+	void arrancar() {
+		hilo = Thread.ofPlatform().name("escritura-diferida").daemon().start(this::vaciarCola);
+	}
+
+	/**
+	 * Deja de aceptar altas y espera a que se guarden las que ya están en la
+	 * cola.
+	 *
+	 * <p>
+	 * Si el hilo termina antes de vaciarla, porque se ha interrumpido, las
+	 * altas que quedan se completan con una
+	 * {@link RejectedExecutionException} para que nadie espere su resultado
+	 * indefinidamente.
+	 * </p>
+	 *
+	 * @throws InterruptedException Si se interrumpe la espera.
+	 */
+	@PreDestroy
+	void detener() throws InterruptedException {
+		detenido = true;
+		hilo.join();
+		rechazarPendientes();
+	}
+
+	/**
+	 * Encola el alta de un libro.
+	 *
+	 * @param libro El libro que se desea crear.
+	 * @return Un futuro que se completa con el resultado del alta cuando se ha
+	 *         guardado el bloque que la contiene, o con la excepción que impidió
+	 *         guardarlo.
+	 * @throws RejectedExecutionException Si la cola está llena o la aplicación
+	 *                                    se está deteniendo.
+	 */
+	public CompletableFuture<ResultadoItemLibro> crear(Libro libro) throws RejectedExecutionException {
+		CompletableFuture<ResultadoItemLibro> resultado = new CompletableFuture<>();
+		Alta alta = new Alta(libro, resultado);
+		if (detenido || !cola.offer(alta)) {
+			throw new RejectedExecutionException("La cola de escritura diferida está llena");
+		}
+		// El hilo puede haber terminado entre la comprobación y la inserción: si
+		// el alta sigue en la cola nadie la va a guardar
+		if (detenido && cola.remove(alta)) {
+			throw new RejectedExecutionException("La aplicación se está deteniendo");
+		}
+		return resultado;
+	}
+
+	/**
+	 * Indica en qué momento se responde a quien da de alta un libro.
+	 *
+	 * @return El modo de confirmación configurado.
+	 */
+	public Confirmacion getConfirmacion() {
+		return confirmacion;
+	}
+
+	private void vaciarCola() {
+		List<Alta> bloque = new ArrayList<>(tamanoMaximo);
+
+		// Al detener la aplicación se siguen guardando bloques hasta vaciar la cola
+		while (!detenido || !cola.isEmpty()) {
+			try {
+				recogerBloque(bloque);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				rechazar(bloque);
+				return;
+			}
+			if (!bloque.isEmpty()) {
+				guardar(bloque);
+				bloque.clear();
+			}
+		}
+	}
+
+	private void rechazarPendientes() {
+		List<Alta> pendientes = new ArrayList<>();
+		cola.drainTo(pendientes);
+		rechazar(pendientes);
+	}
+
+	private void rechazar(List<Alta> altas) {
+		RejectedExecutionException e = new RejectedExecutionException("La aplicación se está deteniendo");
+		altas.forEach(alta -> alta.resultado().completeExceptionally(e));
+	}
+
+	private void recogerBloque(List<Alta> bloque) throws InterruptedException {
+		Alta primera = cola.poll(ESPERA_MAXIMA_MS, TimeUnit.MILLISECONDS);
+		if (primera == null) {
+			return;
+		}
+		bloque.add(primera);
+		long limite = System.nanoTime() + ventanaNanos;
+
+		while (bloque.size() < tamanoMaximo) {
+			cola.drainTo(bloque, tamanoMaximo - bloque.size());
+			long restante = limite - System.nanoTime();
+			if (bloque.size() >= tamanoMaximo || restante <= 0) {
+				return;
+			}
+			Alta alta = cola.poll(restante, TimeUnit.NANOSECONDS);
+			if (alta == null) {
+				return;
+			}
+			bloque.add(alta);
+		}
+	}
+
+	private void guardar(List<Alta> bloque) {
+		tamanoBloques.record(bloque.size());
+		try {
+			List<ResultadoItemLibro> resultados = libroService
+					.crearLibros(bloque.stream().map(Alta::libro).toList())
+					.getResultados();
+
+			for (int i = 0; i < bloque.size(); i++) {
+				bloque.get(i).resultado().complete(resultados.get(i));
+			}
+		} catch (Throwable e) {
+			// También los errores: si el hilo muriera, las altas siguientes no se
+			// guardarían nunca
+			fallidas.increment(bloque.size());
+			if (confirmacion == Confirmacion.ENCOLADA) {
+				log.error("No se han podido guardar {} altas diferidas", bloque.size(), e);
+			}
+			bloque.forEach(alta -> alta.resultado().completeExceptionally(e));
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package com.viewnext.kidaprojects.biblioteca1.service;
+
+/**
+ * Excepción que indica que el registro de cambios ya no conserva los cambios
+ * posteriores al número de secuencia solicitado, por lo que el cliente debe
+ * volver a leer el catálogo completo.
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+public class CambiosNoDisponiblesException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public CambiosNoDisponiblesException(String message) {
+		super(message);
+	}
+}
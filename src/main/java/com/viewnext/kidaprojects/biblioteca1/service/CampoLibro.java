@@ -0,0 +1,56 @@
+package com.viewnext.kidaprojects.biblioteca1.service;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Campos de un libro que pueden pedirse en las consultas con el parámetro
+ * {@code fields}.
+ * 
+ * <p>
+ * El nombre de cada campo coincide con el del atributo de la entidad
+ * {@code Libro} y con el de la propiedad JSON de la respuesta.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+public enum CampoLibro {
+
+	ISBN("isbn"), TITULO("titulo"), AUTOR("autor"), PRECIO("precio"), VERSION("version");
+
+	private final String nombre;
+
+	CampoLibro(String nombre) {
+		this.nombre = nombre;
+	}
+
+	public String getNombre() {
+		return nombre;
+	}
+
+	/**
+	 * Obtiene los campos a partir de una lista de nombres separados por comas,
+	 * sin distinguir mayúsculas de minúsculas.
+	 *
+	 * @param nombres Los nombres de los campos (por ejemplo "isbn,titulo").
+	 * @return Los campos en el orden en que se declaran, o {@code null} si no se
+	 *         indica ninguno, lo que equivale a pedir todos.
+	 * @throws IllegalArgumentException Si algún nombre no corresponde a ningún
+	 *                                  campo.
+	 */
+	public static Set<CampoLibro> desde(String nombres) {
+		if (nombres == null || nombres.isBlank()) {
+			return null;
+		}
+
+		Set<CampoLibro> campos = EnumSet.noneOf(CampoLibro.class);
+		for (String nombre : nombres.split(",")) {
+			if (!nombre.isBlank()) {
+				campos.add(valueOf(nombre.trim().toUpperCase(Locale.ROOT)));
+			}
+		}
+		return campos.isEmpty() ? null : campos;
+	}
+}
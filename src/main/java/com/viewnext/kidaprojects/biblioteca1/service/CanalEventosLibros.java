@@ -0,0 +1,240 @@
+package com.viewnext.kidaprojects.biblioteca1.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.viewnext.kidaprojects.biblioteca1.event.LibroEvento;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Canal que envía a los suscriptores de {@code GET /libros/events} las
+ * modificaciones del catálogo como eventos SSE (server-sent events).
+ *
+ * <p>
+ * Cada creación, actualización o eliminación confirmada de un libro se
+ * serializa una sola vez y se reparte a todos los suscriptores con un
+ * identificador formado por el arranque de la aplicación y un número
+ * creciente. Los últimos eventos ({@code biblioteca.eventos.historial}) se
+ * conservan para que un cliente que se reconecta con la cabecera
+ * {@code Last-Event-ID} reciba los que se ha perdido. Si ya no están en el
+ * historial, o el identificador es de otro arranque de la aplicación (de antes
+ * de un reinicio o de otra instancia), recibe el evento {@code resincronizar}
+ * y debe volver a leer el catálogo.
+ * </p>
+ *
+ * <p>
+ * Cada suscriptor tiene una cola acotada ({@code biblioteca.eventos.buffer}) y
+ * un hilo virtual que la vacía hacia su conexión, de modo que un cliente lento
+ * no retrasa a los demás ni las modificaciones. Si la cola se llena, el cliente
+ * se desconecta; al reconectarse recupera los eventos perdidos del historial.
+ * Cada {@code biblioteca.eventos.latido} se envía un comentario vacío para
+ * detectar las conexiones cerradas.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@Component
+public class CanalEventosLibros {
+
+	private record Evento(long id, String nombre, String datos) {
+	}
+
+	private static final Evento LATIDO = new Evento(0, null, null);
+	private static final Evento FIN = new Evento(0, null, null);
+	private static final String RESINCRONIZAR = "resincronizar";
+	private static final char SEPARADOR_ID = '.';
+
+	private final class Suscriptor {
+
+		private final SseEmitter emisor = new SseEmitter(tiempoMaximoMs);
+		private final BlockingQueue<Evento> cola = new ArrayBlockingQueue<>(capacidadBuffer);
+
+		private void desconectar() {
+			suscriptores.remove(this);
+			cola.clear();
+			cola.offer(FIN);
+		}
+
+		private void enviar() {
+			try {
+				for (Evento evento = cola.take(); evento != FIN; evento = cola.take()) {
+					if (evento == LATIDO) {
+						emisor.send(SseEmitter.event().comment(""));
+					} else {
+						emisor.send(SseEmitter.event()
+								.id(arranque + SEPARADOR_ID + evento.id())
+								.name(evento.nombre())
+								.data(evento.datos(), MediaType.APPLICATION_JSON));
+					}
+				}
+				emisor.complete();
+			} catch (IOException | IllegalStateException e) {
+				// El cliente ha cerrado la conexión o la petición ha expirado
+				suscriptores.remove(this);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private final int capacidadHistorial;
+	private final int capacidadBuffer;
+	private final long tiempoMaximoMs;
+	private final ObjectMapper objectMapper;
+	private final Counter desconectados;
+
+	private final String arranque = Long.toString(System.currentTimeMillis(), 36);
+	private final Deque<Evento> historial = new ArrayDeque<>();
+	private final Set<Suscriptor> suscriptores = ConcurrentHashMap.newKeySet();
+	private long ultimoId;
+
+	public CanalEventosLibros(@Value("${biblioteca.eventos.historial:1000}") int capacidadHistorial,
+			@Value("${biblioteca.eventos.buffer:256}") int capacidadBuffer,
+			@Value("${biblioteca.eventos.tiempo-maximo:30m}") Duration tiempoMaximo,
+			ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+		this.capacidadHistorial = capacidadHistorial;
+		this.capacidadBuffer = capacidadBuffer;
+		this.tiempoMaximoMs = tiempoMaximo.toMillis();
+		this.objectMapper = objectMapper;
+		this.desconectados = Counter.builder("biblioteca.eventos.desconectados")
+				.description("Suscriptores de eventos desconectados por no leerlos a tiempo")
+				.register(meterRegistry);
+		Gauge.builder("biblioteca.eventos.suscriptores", suscriptores, Set::size)
+				.description("Suscriptores conectados a los eventos del catálogo")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Suscribe un cliente a las modificaciones del catálogo.
+	 *
+	 * @param ultimoEvento El identificador del último evento que recibió el
+	 *                     cliente, o {@code null} si es una suscripción nueva.
+	 * @return El emisor de eventos de la respuesta.
+	 */
+	public SseEmitter suscribir(String ultimoEvento) {
+		Suscriptor suscriptor = new Suscriptor();
+		suscriptor.emisor.onCompletion(suscriptor::desconectar);
+		suscriptor.emisor.onTimeout(suscriptor::desconectar);
+		suscriptor.emisor.onError(error -> suscriptor.desconectar());
+
+		synchronized (historial) {
+			if (ultimoEvento != null && !ultimoEvento.isBlank()) {
+				for (Evento evento : pendientes(ultimoEvento)) {
+					suscriptor.cola.offer(evento);
+				}
+			}
+			suscriptores.add(suscriptor);
+		}
+
+		Thread.ofVirtual().name("eventos-libros").start(suscriptor::enviar);
+		return suscriptor.emisor;
+	}
+
+	/*
+	 * Eventos posteriores a ultimoEvento, o un evento de resincronización si no
+	 * se pueden recuperar todos.
+	 */
+	private List<Evento> pendientes(String ultimoEvento) {
+		Long ultimoId = numeroDelArranque(ultimoEvento.trim());
+		if (ultimoId == null) {
+			return List.of(resincronizar());
+		}
+
+		long primeroConservado = historial.isEmpty() ? ultimoId + 1 : historial.peekFirst().id();
+		if (ultimoId > this.ultimoId || ultimoId + 1 < primeroConservado
+				|| this.ultimoId - ultimoId >= capacidadBuffer) {
+			return List.of(resincronizar());
+		}
+
+		List<Evento> pendientes = new ArrayList<>();
+		for (Evento evento : historial) {
+			if (evento.id() > ultimoId) {
+				pendientes.add(evento);
+			}
+		}
+		return pendientes;
+	}
+
+	/*
+	 * Número de un identificador de evento de este arranque, o null si es de
+	 * otro arranque o no es un identificador válido.
+	 */
+	private Long numeroDelArranque(String id) {
+		int separador = id.lastIndexOf(SEPARADOR_ID);
+		if (separador < 0 || !id.substring(0, separador).equals(arranque)) {
+			return null;
+		}
+		try {
+			long numero = Long.parseLong(id.substring(separador + 1));
+			return numero < 0 ? null : numero;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private Evento resincronizar() {
+		return new Evento(ultimoId, RESINCRONIZAR, "{}");
+	}
+
+	/**
+	 * Reparte a los suscriptores una modificación del catálogo, una vez
+	 * confirmada la transacción que la hace. Los suscriptores cuya cola está
+	 * llena se desconectan.
+	 *
+	 * @param libroEvento El evento de modificación del libro.
+	 * @throws JsonProcessingException Si no se puede serializar el evento.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void alModificarLibro(LibroEvento libroEvento) throws JsonProcessingException {
+		String datos = objectMapper.writeValueAsString(libroEvento);
+
+		synchronized (historial) {
+			Evento evento = new Evento(++ultimoId, libroEvento.getTipo().name().toLowerCase(Locale.ROOT), datos);
+			if (historial.size() == capacidadHistorial) {
+				historial.removeFirst();
+			}
+			historial.addLast(evento);
+			repartir(evento);
+		}
+	}
+
+	/**
+	 * Envía un latido a todos los suscriptores para detectar las conexiones
+	 * cerradas.
+	 */
+	@Scheduled(fixedDelayString = "${biblioteca.eventos.latido:PT15S}")
+	public void enviarLatido() {
+		repartir(LATIDO);
+	}
+
+	private void repartir(Evento evento) {
+		for (Suscriptor suscriptor : suscriptores) {
+			if (!suscriptor.cola.offer(evento)) {
+				desconectados.increment();
+				suscriptor.desconectar();
+			}
+		}
+	}
+}
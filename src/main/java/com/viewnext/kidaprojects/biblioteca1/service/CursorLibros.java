@@ -0,0 +1,104 @@
+package com.viewnext.kidaprojects.biblioteca1.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+
+/**
+ * Cursor opaco del listado paginado de libros.
+ * 
+ * <p>
+ * Guarda el criterio de ordenación y el par (valor, isbn) del último libro
+ * devuelto. Se codifica en Base64 URL para que el cliente lo trate como un
+ * valor opaco y lo devuelva tal cual en el parámetro {@code after}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+final class CursorLibros {
+
+	private static final String SEPARADOR = "\u0000";
+	private static final String PREFIJO_VALOR = "v";
+
+	private final OrdenLibros orden;
+	private final String valor;
+	private final String isbn;
+
+	private CursorLibros(OrdenLibros orden, String valor, String isbn) {
+		this.orden = orden;
+		this.valor = valor;
+		this.isbn = isbn;
+	}
+
+	/**
+	 * Crea el cursor que apunta justo detrás del libro indicado.
+	 *
+	 * @param orden El criterio de ordenación del listado.
+	 * @param libro El último libro de la página.
+	 * @return El cursor correspondiente.
+	 */
+	static CursorLibros tras(OrdenLibros orden, Libro libro) {
+		String valor = switch (orden) {
+		case ISBN -> libro.getIsbn();
+		case PRECIO -> String.valueOf(libro.getPrecio());
+		case AUTOR -> libro.getAutor();
+		case TITULO -> libro.getTitulo();
+		};
+		return new CursorLibros(orden, valor, libro.getIsbn());
+	}
+
+	/**
+	 * Decodifica un cursor recibido del cliente.
+	 *
+	 * @param codificado El cursor en Base64 URL.
+	 * @param orden      El criterio de ordenación solicitado.
+	 * @return El cursor decodificado.
+	 * @throws IllegalArgumentException Si el cursor no es válido o se generó con
+	 *                                  otro criterio de ordenación.
+	 */
+	static CursorLibros decodificar(String codificado, OrdenLibros orden) {
+		String texto = new String(Base64.getUrlDecoder().decode(codificado), StandardCharsets.UTF_8);
+		String[] partes = texto.split(SEPARADOR, 3);
+
+		if (partes.length != 3 || !partes[0].equals(orden.name())) {
+			throw new IllegalArgumentException("Cursor no válido para el orden " + orden);
+		}
+
+		String valor = partes[1].startsWith(PREFIJO_VALOR) ? partes[1].substring(PREFIJO_VALOR.length()) : null;
+		CursorLibros cursor = new CursorLibros(orden, valor, partes[2]);
+
+		if (orden == OrdenLibros.PRECIO) {
+			// Valida el precio ahora para no fallar más tarde al construir la consulta.
+			Integer.parseInt(cursor.getValor());
+		}
+		return cursor;
+	}
+
+	/**
+	 * Codifica el cursor para enviarlo al cliente.
+	 *
+	 * @return El cursor en Base64 URL sin relleno.
+	 */
+	String codificar() {
+		String texto = orden.name() + SEPARADOR + (valor == null ? "" : PREFIJO_VALOR + valor) + SEPARADOR + isbn;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+	}
+
+	OrdenLibros getOrden() {
+		return orden;
+	}
+
+	String getValor() {
+		return valor;
+	}
+
+	int getPrecio() {
+		return Integer.parseInt(valor);
+	}
+
+	String getIsbn() {
+		return isbn;
+	}
+}
@@ -0,0 +1,110 @@
+package com.viewnext.kidaprojects.biblioteca1.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.viewnext.kidaprojects.biblioteca1.config.EnrutadorDataSource;
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+import com.viewnext.kidaprojects.biblioteca1.repository.LibroRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Componente que recorre el catálogo completo de libros.
+ * 
+ * <p>
+ * Lo usan las estructuras en memoria que se construyen a partir de todos los
+ * libros al arrancar la aplicación. Los libros se leen en bloques y se separan
+ * del contexto de persistencia en cuanto se han procesado, de modo que la
+ * memoria usada no depende del tamaño del catálogo. También carga los libros
+ * que se guardan en la caché de búsquedas por ISBN.
+ * </p>
+ * 
+ * <p>
+ * Con una réplica de lectura configurada, los recorridos y las cargas se hacen
+ * en la base de datos primaria para no perder los libros que aún no han
+ * llegado a la réplica ni guardar en memoria una versión obsoleta.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@Component
+public class LectorCatalogo {
+
+	@Autowired
+	private LibroRepository libroRepository;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	/**
+	 * Entrega cada libro del catálogo, ordenado por ISBN, a la función indicada.
+	 * El libro deja de estar gestionado por JPA en cuanto la función termina.
+	 *
+	 * @param consumidor La función que procesa cada libro.
+	 */
+	@Transactional(readOnly = true)
+	public void recorrer(Consumer<Libro> consumidor) {
+		EnrutadorDataSource.enPrimaria(() -> {
+			try (Stream<Libro> libros = libroRepository.streamAllLibros()) {
+				libros.forEach(libro -> {
+					consumidor.accept(libro);
+					entityManager.detach(libro);
+				});
+			}
+		});
+	}
+
+	/**
+	 * Entrega el ISBN de cada libro del catálogo a la función indicada, sin
+	 * cargar los libros.
+	 *
+	 * @param consumidor La función que procesa cada ISBN.
+	 */
+	@Transactional(readOnly = true)
+	public void recorrerIsbns(Consumer<String> consumidor) {
+		EnrutadorDataSource.enPrimaria(() -> {
+			try (Stream<String> isbns = libroRepository.streamIsbns()) {
+				isbns.forEach(consumidor);
+			}
+		});
+	}
+
+	/**
+	 * Busca un libro por su ISBN en la base de datos primaria.
+	 *
+	 * @param isbn El ISBN del libro.
+	 * @return El libro, o un valor vacío si no existe.
+	 */
+	public Optional<Libro> buscar(String isbn) {
+		return EnrutadorDataSource.enPrimaria(() -> libroRepository.findById(isbn));
+	}
+
+	/**
+	 * Busca varios libros por su ISBN en la base de datos primaria.
+	 *
+	 * @param isbns Los ISBN de los libros.
+	 * @return Los libros encontrados, en cualquier orden.
+	 */
+	public List<Libro> buscar(Collection<String> isbns) {
+		return EnrutadorDataSource.enPrimaria(() -> libroRepository.findAllById(isbns));
+	}
+
+	/**
+	 * Cuenta los libros del catálogo.
+	 *
+	 * @return El número de libros.
+	 */
+	public long contar() {
+		return libroRepository.count();
+	}
+}
@@ -0,0 +1,31 @@
+package com.viewnext.kidaprojects.biblioteca1.service;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Excepción que indica que no existe ningún libro con los argumentos
+ * indicados.
+ * 
+ * <p>
+ * Es un caso esperado (buena parte de las búsquedas son de ISBN inexistentes)
+ * que el controlador transforma en una respuesta "NOT FOUND", por lo que no se
+ * captura la pila de llamadas: crear la excepción cuesta lo mismo que crear
+ * cualquier otro objeto.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+public class LibroNoEncontradoException extends EntityNotFoundException {
+
+	private static final long serialVersionUID = 1L;
+
+	public LibroNoEncontradoException(String message) {
+		super(message);
+	}
+
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return this;
+	}
+}
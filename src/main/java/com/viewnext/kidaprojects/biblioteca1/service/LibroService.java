@@ -1,7 +1,16 @@
 package com.viewnext.kidaprojects.biblioteca1.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Set;
 
+import com.viewnext.kidaprojects.biblioteca1.dto.CambiosLibros;
+import com.viewnext.kidaprojects.biblioteca1.dto.LibroDTO;
+import com.viewnext.kidaprojects.biblioteca1.dto.PaginaLibros;
+import com.viewnext.kidaprojects.biblioteca1.dto.ResultadoBusquedaIsbns;
+import com.viewnext.kidaprojects.biblioteca1.dto.ResultadoLoteLibros;
+import com.viewnext.kidaprojects.biblioteca1.dto.Sugerencia;
 import com.viewnext.kidaprojects.biblioteca1.model.Libro;
 
 /**
@@ -30,17 +39,43 @@ public interface LibroService {
 
 	public List<Libro> mostrarLibros();
 	
+	public List<?> mostrarLibros(Set<CampoLibro> campos);
+	
+	public PaginaLibros mostrarPaginaLibros(String cursor, int limite, OrdenLibros orden);
+	
+	public void exportarLibros(OutputStream salida) throws IOException;
+	
 	public Libro mostrarLibroPorIsbn(String isbn);
 	
+	public ResultadoBusquedaIsbns mostrarLibrosPorIsbns(List<String> isbns);
+	
 	public List<Libro> mostrarLibrosPorTitulo(String titulo);
 	
+	public List<?> mostrarLibrosPorTitulo(String titulo, Set<CampoLibro> campos);
+	
 	public List<Libro> mostrarLibrosPorAutor(String autor);
 	
+	public List<?> mostrarLibrosPorAutor(String autor, Set<CampoLibro> campos);
+	
+	public List<LibroDTO> mostrarLibrosPorPrecio(int minimo, int maximo, int limite);
+	
+	public List<Libro> buscarLibros(String consulta, int limite);
+	
+	public List<Sugerencia> sugerirLibros(String prefijo, int limite);
+	
+	public CambiosLibros mostrarCambios(long desde, int limite);
+	
 	public Libro crearLibro(Libro libro);
 	
+	public ResultadoLoteLibros crearLibros(List<Libro> libros);
+	
 	public Libro actualizarLibro(Libro libro);
 	
+	public Libro actualizarLibro(Libro libro, Long versionEsperada);
+	
 	public void deleteLibroPorIsbn(String isbn);
 	
+	public void deleteLibroPorIsbn(String isbn, Long versionEsperada);
+	
 		
 }
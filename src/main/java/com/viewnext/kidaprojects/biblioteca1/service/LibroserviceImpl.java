@@ -1,21 +1,60 @@
 package com.viewnext.kidaprojects.biblioteca1.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.viewnext.kidaprojects.biblioteca1.cache.FiltroIsbns;
+import com.viewnext.kidaprojects.biblioteca1.cache.LibroCache;
+import com.viewnext.kidaprojects.biblioteca1.config.EnrutadorDataSource;
+import com.viewnext.kidaprojects.biblioteca1.dto.CambiosLibros;
+import com.viewnext.kidaprojects.biblioteca1.dto.EstadisticasCache;
+import com.viewnext.kidaprojects.biblioteca1.dto.LibroDTO;
+import com.viewnext.kidaprojects.biblioteca1.dto.PaginaLibros;
+import com.viewnext.kidaprojects.biblioteca1.dto.ResultadoBusquedaIsbns;
+import com.viewnext.kidaprojects.biblioteca1.dto.ResultadoItemLibro;
+import com.viewnext.kidaprojects.biblioteca1.dto.ResultadoLoteLibros;
+import com.viewnext.kidaprojects.biblioteca1.dto.Sugerencia;
+import com.viewnext.kidaprojects.biblioteca1.event.LibroEvento;
 import com.viewnext.kidaprojects.biblioteca1.model.Libro;
 import com.viewnext.kidaprojects.biblioteca1.repository.LibroRepository;
+import com.viewnext.kidaprojects.biblioteca1.search.IndiceLibros;
+import com.viewnext.kidaprojects.biblioteca1.search.SugerenciasLibros;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
 
 /**
  * Servicio de gestión de libros en la biblioteca.
@@ -38,9 +77,54 @@ import jakarta.persistence.EntityNotFoundException;
 @Service
 public class LibroserviceImpl implements LibroRepository, LibroService {
 
+	/*
+	 * Número máximo de ISBN de cada consulta IN. Con el relleno de parámetros de
+	 * Hibernate las consultas comparten unas pocas sentencias preparadas.
+	 */
+	private static final int TAMANO_BLOQUE_ISBNS = 500;
+
 	@Autowired
 	private LibroRepository libroRepository;
 	
+	@Autowired
+	private LibroCache libroCache;
+	
+	@Autowired
+	private FiltroIsbns filtroIsbns;
+	
+	@Autowired
+	private IndiceLibros indiceLibros;
+	
+	@Autowired
+	private SugerenciasLibros sugerenciasLibros;
+	
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	@Autowired
+	private ProyeccionLibros proyeccionLibros;
+	
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	
+	@Autowired
+	private RegistroCambios registroCambios;
+
+	@Autowired
+	private AgrupadorConsultas agrupadorConsultas;
+	
+	@Autowired
+	private LectorCatalogo lectorCatalogo;
+	
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+	private int tamanoLote;
+	
 	
 	//###########################################################
 	//################### MÉTODOS DE BÚSQUEDA ###################
@@ -65,11 +149,314 @@ public class LibroserviceImpl implements LibroRepository, LibroService {
 	 *         en la base de datos.
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public List<Libro> mostrarLibros(){
 		return libroRepository.findAll();
 	}
 	
 	
+	/**
+	 * Recupera todos los libros de la base de datos como DTO, sin crear
+	 * entidades.
+	 *
+	 * @return Una lista de objetos {@code LibroDTO} con todos los libros.
+	 */
+	@Override
+	public List<LibroDTO> findAllLibrosDTO() {
+		return libroRepository.findAllLibrosDTO();
+	}
+	
+	
+	/**
+	 * Recupera todos los libros de la base de datos en una transacción de solo
+	 * lectura, sin crear entidades gestionadas.
+	 * 
+	 * <p>
+	 * El listado se responde con la ETag de la versión del catálogo, que cambia
+	 * en cuanto la primaria confirma una escritura, así que se lee de la
+	 * primaria: leído de una réplica con retraso, el cliente guardaría como
+	 * actual una copia obsoleta.
+	 * </p>
+	 *
+	 * @param campos Los campos que se desean obtener, o {@code null} para
+	 *               obtenerlos todos.
+	 * @return Una lista de objetos {@code LibroDTO} si se piden todos los campos,
+	 *         o de {@code CamposLibro} con solo los campos pedidos.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<?> mostrarLibros(Set<CampoLibro> campos) {
+		if (campos == null) {
+			return EnrutadorDataSource.enPrimaria(() -> findAllLibrosDTO());
+		}
+		return EnrutadorDataSource.enPrimaria(() -> proyeccionLibros.consultar(campos, null, null));
+	}
+	
+	
+	/**
+	 * Recupera todos los libros de la base de datos en el orden indicado.
+	 *
+	 * @param sort El orden en el que se desean recuperar los libros.
+	 * @return Una lista de objetos {@code Libro} ordenada.
+	 */
+	@Override
+	public List<Libro> findAll(Sort sort) {
+		return libroRepository.findAll(sort);
+	}
+	
+	
+	/**
+	 * Recupera una página de libros usando paginación por desplazamiento.
+	 *
+	 * @param pageable La página que se desea recuperar.
+	 * @return Una página de objetos {@code Libro}.
+	 */
+	@Override
+	public Page<Libro> findAll(Pageable pageable) {
+		return libroRepository.findAll(pageable);
+	}
+	
+	
+	/**
+	 * Recupera una página del listado de libros usando paginación por cursor.
+	 * 
+	 * <p>
+	 * En lugar de saltar filas con OFFSET, la consulta continúa a partir del par
+	 * (valor, isbn) guardado en el cursor, de modo que el coste de cada página es
+	 * el mismo independientemente de lo avanzado que esté el recorrido.
+	 * </p>
+	 * 
+	 * <p>
+	 * Como el listado completo, la página se lee de la primaria porque se
+	 * responde con la ETag de la versión del catálogo.
+	 * </p>
+	 *
+	 * @param cursor El cursor devuelto en la página anterior, o {@code null} para
+	 *               obtener la primera página.
+	 * @param limite El número máximo de libros de la página.
+	 * @param orden  El criterio de ordenación del listado.
+	 * @return La página de libros junto con el cursor de la página siguiente.
+	 * @throws IllegalArgumentException Si el cursor no es válido para el orden indicado.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public PaginaLibros mostrarPaginaLibros(String cursor, int limite, OrdenLibros orden) {
+		CursorLibros desde = cursor == null ? null : CursorLibros.decodificar(cursor, orden);
+		
+		// Se pide un libro de más para saber si existe una página siguiente.
+		List<Libro> libros = EnrutadorDataSource.enPrimaria(
+				() -> buscarPagina(desde, orden, PageRequest.of(0, limite + 1)));
+		
+		if (libros.size() <= limite) {
+			return new PaginaLibros(libros, null);
+		}
+		
+		List<Libro> pagina = libros.subList(0, limite);
+		String siguiente = CursorLibros.tras(orden, pagina.get(limite - 1)).codificar();
+		
+		return new PaginaLibros(pagina, siguiente);
+	}
+	
+	private List<Libro> buscarPagina(CursorLibros desde, OrdenLibros orden, Pageable pageable) {
+		if (desde == null) {
+			return switch (orden) {
+			case ISBN -> libroRepository.findPrimeraPaginaPorIsbn(pageable);
+			case PRECIO -> libroRepository.findPrimeraPaginaPorPrecio(pageable);
+			case AUTOR -> libroRepository.findPrimeraPaginaPorAutor(pageable);
+			case TITULO -> libroRepository.findPrimeraPaginaPorTitulo(pageable);
+			};
+		}
+		
+		return switch (orden) {
+		case ISBN -> libroRepository.findPaginaPorIsbn(desde.getIsbn(), pageable);
+		case PRECIO -> libroRepository.findPaginaPorPrecio(desde.getPrecio(), desde.getIsbn(), pageable);
+		case AUTOR -> desde.getValor() == null
+				? libroRepository.findPaginaPorAutorTrasNulos(desde.getIsbn(), pageable)
+				: libroRepository.findPaginaPorAutor(desde.getValor(), desde.getIsbn(), pageable);
+		case TITULO -> desde.getValor() == null
+				? libroRepository.findPaginaPorTituloTrasNulos(desde.getIsbn(), pageable)
+				: libroRepository.findPaginaPorTitulo(desde.getValor(), desde.getIsbn(), pageable);
+		};
+	}
+	
+	
+	/**
+	 * Recorre todos los libros de la base de datos sin cargarlos a la vez en memoria.
+	 *
+	 * @return Un {@code Stream} de objetos {@code Libro} ordenado por ISBN que debe
+	 *         consumirse y cerrarse dentro de una transacción.
+	 */
+	@Override
+	public Stream<Libro> streamAllLibros() {
+		return libroRepository.streamAllLibros();
+	}
+	
+	
+	/**
+	 * Recorre los ISBN de todos los libros de la base de datos sin cargar los libros.
+	 *
+	 * @return Un {@code Stream} de ISBN que debe consumirse y cerrarse dentro de
+	 *         una transacción.
+	 */
+	@Override
+	public Stream<String> streamIsbns() {
+		return libroRepository.streamIsbns();
+	}
+	
+	
+	/**
+	 * Escribe todos los libros de la base de datos en formato NDJSON, un objeto
+	 * JSON por línea.
+	 * 
+	 * <p>
+	 * Los libros se leen en bloques y cada uno se separa del contexto de
+	 * persistencia en cuanto se ha escrito, de modo que la memoria usada no
+	 * depende del número de libros del catálogo.
+	 * </p>
+	 *
+	 * @param salida El flujo de salida en el que se escriben los libros. No se cierra.
+	 * @throws IOException Si se produce un error al escribir en el flujo de salida.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public void exportarLibros(OutputStream salida) throws IOException {
+		try (Stream<Libro> libros = libroRepository.streamAllLibros();
+				JsonGenerator generador = objectMapper.getFactory().createGenerator(salida)) {
+			
+			generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			generador.setRootValueSeparator(null);
+			Iterator<Libro> iterador = libros.iterator();
+			
+			while (iterador.hasNext()) {
+				Libro libro = iterador.next();
+				generador.writeObject(libro);
+				generador.writeRaw('\n');
+				entityManager.detach(libro);
+			}
+		}
+	}
+	
+	
+	/**
+	 * Recupera la primera página de libros ordenados por ISBN.
+	 *
+	 * @param pageable El tamaño de la página.
+	 * @return Una lista de objetos {@code Libro} ordenada por ISBN.
+	 */
+	@Override
+	public List<Libro> findPrimeraPaginaPorIsbn(Pageable pageable) {
+		return libroRepository.findPrimeraPaginaPorIsbn(pageable);
+	}
+	
+	/**
+	 * Recupera los libros con ISBN posterior al indicado, ordenados por ISBN.
+	 *
+	 * @param isbn     El ISBN del último libro de la página anterior.
+	 * @param pageable El tamaño de la página.
+	 * @return Una lista de objetos {@code Libro} ordenada por ISBN.
+	 */
+	@Override
+	public List<Libro> findPaginaPorIsbn(String isbn, Pageable pageable) {
+		return libroRepository.findPaginaPorIsbn(isbn, pageable);
+	}
+	
+	/**
+	 * Recupera la primera página de libros ordenados por precio.
+	 *
+	 * @param pageable El tamaño de la página.
+	 * @return Una lista de objetos {@code Libro} ordenada por precio e ISBN.
+	 */
+	@Override
+	public List<Libro> findPrimeraPaginaPorPrecio(Pageable pageable) {
+		return libroRepository.findPrimeraPaginaPorPrecio(pageable);
+	}
+	
+	/**
+	 * Recupera los libros posteriores al par (precio, isbn) indicado.
+	 *
+	 * @param precio   El precio del último libro de la página anterior.
+	 * @param isbn     El ISBN del último libro de la página anterior.
+	 * @param pageable El tamaño de la página.
+	 * @return Una lista de objetos {@code Libro} ordenada por precio e ISBN.
+	 */
+	@Override
+	public List<Libro> findPaginaPorPrecio(int precio, String isbn, Pageable pageable) {
+		return libroRepository.findPaginaPorPrecio(precio, isbn, pageable);
+	}
+	
+	/**
+	 * Recupera la primera página de libros ordenados por autor.
+	 *
+	 * @param pageable El tamaño de la página.
+	 * @return Una lista de objetos {@code Libro} ordenada por autor e ISBN.
+	 */
+	@Override
+	public List<Libro> findPrimeraPaginaPorAutor(Pageable pageable) {
+		return libroRepository.findPrimeraPaginaPorAutor(pageable);
+	}
+	
+	/**
+	 * Recupera los libros posteriores al par (autor, isbn) indicado.
+	 *
+	 * @param autor    El autor del último libro de la página anterior.
+	 * @param isbn     El ISBN del último libro de la página anterior.
+	 * @param pageable El tamaño de la página.
+	 * @return Una lista de objetos {@code Libro} ordenada por autor e ISBN.
+	 */
+	@Override
+	public List<Libro> findPaginaPorAutor(String autor, String isbn, Pageable pageable) {
+		return libroRepository.findPaginaPorAutor(autor, isbn, pageable);
+	}
+	
+	/**
+	 * Recupera los libros posteriores a un libro sin autor, ordenados por autor.
+	 *
+	 * @param isbn     El ISBN del último libro de la página anterior.
+	 * @param pageable El tamaño de la página.
+	 * @return Una lista de objetos {@code Libro} ordenada por autor e ISBN.
+	 */
+	@Override
+	public List<Libro> findPaginaPorAutorTrasNulos(String isbn, Pageable pageable) {
+		return libroRepository.findPaginaPorAutorTrasNulos(isbn, pageable);
+	}
+	
+	/**
+	 * Recupera la primera página de libros ordenados por título.
+	 *
+	 * @param pageable El tamaño de la página.
+	 * @return Una lista de objetos {@code Libro} ordenada por título e ISBN.
+	 */
+	@Override
+	public List<Libro> findPrimeraPaginaPorTitulo(Pageable pageable) {
+		return libroRepository.findPrimeraPaginaPorTitulo(pageable);
+	}
+	
+	/**
+	 * Recupera los libros posteriores al par (titulo, isbn) indicado.
+	 *
+	 * @param titulo   El título del último libro de la página anterior.
+	 * @param isbn     El ISBN del último libro de la página anterior.
+	 * @param pageable El tamaño de la página.
+	 * @return Una lista de objetos {@code Libro} ordenada por título e ISBN.
+	 */
+	@Override
+	public List<Libro> findPaginaPorTitulo(String titulo, String isbn, Pageable pageable) {
+		return libroRepository.findPaginaPorTitulo(titulo, isbn, pageable);
+	}
+	
+	/**
+	 * Recupera los libros posteriores a un libro sin título, ordenados por título.
+	 *
+	 * @param isbn     El ISBN del último libro de la página anterior.
+	 * @param pageable El tamaño de la página.
+	 * @return Una lista de objetos {@code Libro} ordenada por título e ISBN.
+	 */
+	@Override
+	public List<Libro> findPaginaPorTituloTrasNulos(String isbn, Pageable pageable) {
+		return libroRepository.findPaginaPorTituloTrasNulos(isbn, pageable);
+	}
+	
+	
 
 	/**
 	 * Busca un libro en la base de datos por su identificador (ISBN).
@@ -86,7 +473,14 @@ public class LibroserviceImpl implements LibroRepository, LibroService {
 	
 	
 	/**
-	 * Busca un libro en la base de datos por su número de ISBN y lo devuelve.
+	 * Busca un libro por su número de ISBN y lo devuelve.
+	 * 
+	 * <p>
+	 * Los ISBN que seguro que no existen, según el filtro de ISBN, se descartan
+	 * sin más. El resto pasa por la caché de libros; solo se consulta la base de
+	 * datos cuando el libro no está en ella, y siempre la primaria, porque lo que
+	 * se guarda en la caché se sirve hasta la siguiente modificación.
+	 * </p>
 	 *
 	 * @param isbn El número de ISBN del libro que se desea buscar.
 	 * @return Un objeto {@code Libro} que representa el libro si se encuentra.
@@ -95,16 +489,126 @@ public class LibroserviceImpl implements LibroRepository, LibroService {
 	 */
 	@Override
 	public Libro mostrarLibroPorIsbn(String isbn) throws EntityNotFoundException {
-		Optional<Libro> optionalLibro = findById(isbn);
+		if (!filtroIsbns.puedeExistir(isbn)) {
+			throw libroNoEncontrado(isbn);
+		}
+		
+		Libro libro = libroCache.obtener(isbn, id -> lectorCatalogo.buscar(id).orElse(null));
 
-		if (optionalLibro.isPresent()) {
-			return optionalLibro.get();
+		if (libro != null) {
+			return libro;
 		} else {
-			throw new EntityNotFoundException();
+			throw libroNoEncontrado(isbn);
 		}
 
 	}
 	
+	
+	/**
+	 * Busca varios libros por su ISBN.
+	 *
+	 * @param ids Los ISBN de los libros que se desean buscar.
+	 * @return Los libros encontrados, en cualquier orden.
+	 */
+	@Override
+	public List<Libro> findAllById(Iterable<String> ids) {
+		return libroRepository.findAllById(ids);
+	}
+	
+	
+	/**
+	 * Busca varios libros por su ISBN y devuelve los encontrados y los ISBN que
+	 * no existen.
+	 * 
+	 * <p>
+	 * Cada ISBN pasa primero por el filtro de ISBN y la caché de libros, igual
+	 * que en {@link #mostrarLibroPorIsbn(String)}. Los que quedan se buscan en la
+	 * base de datos con consultas {@code IN} de como mucho
+	 * {@value #TAMANO_BLOQUE_ISBNS} ISBN en la base de datos primaria.
+	 * </p>
+	 * 
+	 * <p>
+	 * Los libros leídos así no se guardan en la caché: la lectura no se hace
+	 * dentro de la carga de la caché, de modo que nada la ordena respecto a la
+	 * invalidación de una actualización o eliminación simultánea, y la caché
+	 * podría quedarse con un libro ya modificado o eliminado.
+	 * </p>
+	 *
+	 * @param isbns Los ISBN de los libros que se desean buscar. Los repetidos se
+	 *              buscan una sola vez.
+	 * @return Los libros encontrados y los ISBN no encontrados, en el orden en el
+	 *         que se pidieron.
+	 */
+	@Override
+	public ResultadoBusquedaIsbns mostrarLibrosPorIsbns(List<String> isbns) {
+		Map<String, Libro> encontrados = new HashMap<>();
+		List<String> pendientes = new ArrayList<>();
+		Set<String> distintos = new LinkedHashSet<>(isbns);
+		
+		for (String isbn : distintos) {
+			if (!filtroIsbns.puedeExistir(isbn)) {
+				continue;
+			}
+			
+			Libro libro = libroCache.consultar(isbn);
+			if (libro != null) {
+				encontrados.put(isbn, libro);
+			} else {
+				pendientes.add(isbn);
+			}
+		}
+		
+		for (int desde = 0; desde < pendientes.size(); desde += TAMANO_BLOQUE_ISBNS) {
+			List<String> bloque = pendientes.subList(desde, Math.min(desde + TAMANO_BLOQUE_ISBNS, pendientes.size()));
+			
+			for (Libro libro : lectorCatalogo.buscar(bloque)) {
+				encontrados.put(libro.getIsbn(), libro);
+			}
+		}
+		
+		List<Libro> libros = new ArrayList<>(encontrados.size());
+		List<String> noEncontrados = new ArrayList<>();
+		
+		for (String isbn : distintos) {
+			Libro libro = encontrados.get(isbn);
+			if (libro != null) {
+				libros.add(libro);
+			} else {
+				noEncontrados.add(isbn);
+			}
+		}
+		
+		return new ResultadoBusquedaIsbns(libros, noEncontrados);
+	}
+	
+	
+	/**
+	 * Obtiene las estadísticas de uso de la caché de búsquedas por ISBN.
+	 *
+	 * @return Los aciertos, fallos, desalojos y ocupación de la caché.
+	 */
+	public EstadisticasCache mostrarEstadisticasCache() {
+		return libroCache.estadisticas();
+	}
+	
+	
+	/**
+	 * Obtiene los cambios del catálogo posteriores a un número de secuencia,
+	 * con el último cambio de cada libro modificado.
+	 *
+	 * @param desde  El número de secuencia del último cambio que tiene el
+	 *               cliente.
+	 * @param limite El número máximo de cambios, o 0 para obtener solo el
+	 *               número del último cambio.
+	 * @return Los cambios y el número de secuencia desde el que continuar.
+	 * @throws CambiosNoDisponiblesException Si ya no se conservan todos los
+	 *                                       cambios posteriores a {@code desde}.
+	 */
+	@Override
+	public CambiosLibros mostrarCambios(long desde, int limite) throws CambiosNoDisponiblesException {
+		return registroCambios.leer(desde, limite);
+	}
+	
 
 	/**
 	 * Busca libros en la base de datos por el título y devuelve una lista de los libros que coinciden.
@@ -125,16 +629,52 @@ public class LibroserviceImpl implements LibroRepository, LibroService {
 	 * @throws EntityNotFoundException Si no se encuentran libros con el título especificado.
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public List<Libro> mostrarLibrosPorTitulo(String titulo) throws EntityNotFoundException {
 	    List<Libro> listaLibrosByTitulo = libroRepository.findLibrosByTitulo(titulo);
 
 	    if (listaLibrosByTitulo.isEmpty()) {
-	        throw new EntityNotFoundException();
+	        throw new LibroNoEncontradoException("No hay libros con el título " + titulo);
 	    } 
 
 	    return listaLibrosByTitulo;
 	}
 
+	/**
+	 * Busca libros en la base de datos por el título y los devuelve como DTO, sin
+	 * crear entidades.
+	 *
+	 * @param titulo El título de los libros que se desea buscar.
+	 * @return Una lista de objetos {@code LibroDTO} con el título especificado.
+	 */
+	@Override
+	public List<LibroDTO> findLibrosDTOByTitulo(String titulo) {
+		return libroRepository.findLibrosDTOByTitulo(titulo);
+	}
+
+	/**
+	 * Busca libros en la base de datos por el título en una transacción de solo
+	 * lectura, sin crear entidades gestionadas. Las búsquedas idénticas
+	 * simultáneas comparten una sola consulta ({@link AgrupadorConsultas}).
+	 *
+	 * @param titulo El título de los libros que se desea buscar.
+	 * @param campos Los campos que se desean obtener, o {@code null} para
+	 *               obtenerlos todos.
+	 * @return Una lista de objetos {@code LibroDTO} si se piden todos los campos,
+	 *         o de {@code CamposLibro} con solo los campos pedidos.
+	 * @throws EntityNotFoundException Si no se encuentran libros con el título especificado.
+	 */
+	@Override
+	public List<?> mostrarLibrosPorTitulo(String titulo, Set<CampoLibro> campos) throws EntityNotFoundException {
+		List<?> libros = agrupadorConsultas.consultar(CampoLibro.TITULO, titulo, campos,
+				() -> campos == null ? findLibrosDTOByTitulo(titulo) : proyeccionLibros.consultar(campos, CampoLibro.TITULO, titulo));
+
+		if (libros.isEmpty()) {
+			throw new LibroNoEncontradoException("No hay libros con el título " + titulo);
+		}
+		return libros;
+	}
+
 	/**
 	 * Busca libros en la base de datos por el nombre del autor y devuelve una lista de los libros que coinciden.
 	 *
@@ -154,16 +694,123 @@ public class LibroserviceImpl implements LibroRepository, LibroService {
 	 * @throws EntityNotFoundException Si no se encuentran libros escritos por el autor especificado.
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public List<Libro> mostrarLibrosPorAutor(String autor) throws EntityNotFoundException {
 	    List<Libro> listaLibrosByAutor = libroRepository.findLibrosByAutor(autor);
 
 	    if (listaLibrosByAutor.isEmpty()) {
-	        throw new EntityNotFoundException();
+	        throw new LibroNoEncontradoException("No hay libros del autor " + autor);
 	    } 
 
 	    return listaLibrosByAutor;
 	}
 
+	/**
+	 * Busca libros en la base de datos por el nombre del autor y los devuelve como
+	 * DTO, sin crear entidades.
+	 *
+	 * @param autor El nombre del autor de los libros que se desea buscar.
+	 * @return Una lista de objetos {@code LibroDTO} escritos por el autor especificado.
+	 */
+	@Override
+	public List<LibroDTO> findLibrosDTOByAutor(String autor) {
+		return libroRepository.findLibrosDTOByAutor(autor);
+	}
+
+	/**
+	 * Busca libros en la base de datos por el nombre del autor en una transacción
+	 * de solo lectura, sin crear entidades gestionadas. Las búsquedas idénticas
+	 * simultáneas comparten una sola consulta ({@link AgrupadorConsultas}).
+	 *
+	 * @param autor  El nombre del autor de los libros que se desea buscar.
+	 * @param campos Los campos que se desean obtener, o {@code null} para
+	 *               obtenerlos todos.
+	 * @return Una lista de objetos {@code LibroDTO} si se piden todos los campos,
+	 *         o de {@code CamposLibro} con solo los campos pedidos.
+	 * @throws EntityNotFoundException Si no se encuentran libros escritos por el autor especificado.
+	 */
+	@Override
+	public List<?> mostrarLibrosPorAutor(String autor, Set<CampoLibro> campos) throws EntityNotFoundException {
+		List<?> libros = agrupadorConsultas.consultar(CampoLibro.AUTOR, autor, campos,
+				() -> campos == null ? findLibrosDTOByAutor(autor) : proyeccionLibros.consultar(campos, CampoLibro.AUTOR, autor));
+
+		if (libros.isEmpty()) {
+			throw new LibroNoEncontradoException("No hay libros del autor " + autor);
+		}
+		return libros;
+	}
+
+	/**
+	 * Busca en la base de datos los libros con un precio dentro del rango
+	 * indicado, del más barato al más caro, y los devuelve como DTO.
+	 *
+	 * @param minimo   El precio mínimo, incluido.
+	 * @param maximo   El precio máximo, incluido.
+	 * @param pageable La página de resultados que se desea obtener.
+	 * @return Una lista de objetos {@code LibroDTO} ordenada por precio e ISBN.
+	 */
+	@Override
+	public List<LibroDTO> findLibrosDTOByPrecioEntre(int minimo, int maximo, Pageable pageable) {
+		return libroRepository.findLibrosDTOByPrecioEntre(minimo, maximo, pageable);
+	}
+
+	/**
+	 * Busca los libros con un precio dentro del rango indicado, del más barato
+	 * al más caro, en una transacción de solo lectura.
+	 * 
+	 * <p>
+	 * La consulta recorre el índice sobre (precio, isbn) desde el precio mínimo
+	 * y se detiene al alcanzar el límite, por lo que su coste depende del número
+	 * de libros devueltos y no del tamaño del catálogo.
+	 * </p>
+	 *
+	 * @param minimo El precio mínimo, incluido.
+	 * @param maximo El precio máximo, incluido.
+	 * @param limite El número máximo de libros que se devuelven.
+	 * @return Una lista de objetos {@code LibroDTO} ordenada por precio e ISBN.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<LibroDTO> mostrarLibrosPorPrecio(int minimo, int maximo, int limite) {
+		return findLibrosDTOByPrecioEntre(minimo, maximo, PageRequest.of(0, limite));
+	}
+	
+	/**
+	 * Busca libros cuyo título o autor contengan todos los términos de la consulta,
+	 * sin distinguir mayúsculas ni tildes, y los devuelve ordenados por relevancia.
+	 * 
+	 * <p>
+	 * La búsqueda se resuelve en el índice invertido en memoria, sin consultar la
+	 * base de datos.
+	 * </p>
+	 *
+	 * @param consulta El texto que se desea buscar.
+	 * @param limite   El número máximo de libros que se devuelven.
+	 * @return Una lista de objetos {@code Libro} ordenada de más a menos relevante.
+	 */
+	@Override
+	public List<Libro> buscarLibros(String consulta, int limite) {
+		return indiceLibros.buscar(consulta, limite);
+	}
+	
+	/**
+	 * Sugiere títulos y autores del catálogo que contienen una palabra que empieza
+	 * por el prefijo indicado, para autocompletar la caja de búsqueda.
+	 * 
+	 * <p>
+	 * Las sugerencias se resuelven en una estructura de prefijos en memoria, sin
+	 * consultar la base de datos.
+	 * </p>
+	 *
+	 * @param prefijo El texto escrito hasta el momento.
+	 * @param limite  El número máximo de sugerencias.
+	 * @return Una lista de sugerencias, primero las que comparten más libros.
+	 */
+	@Override
+	public List<Sugerencia> sugerirLibros(String prefijo, int limite) {
+		return sugerenciasLibros.sugerir(prefijo, limite);
+	}
+
 	
 	
 	//###########################################################
@@ -184,17 +831,165 @@ public class LibroserviceImpl implements LibroRepository, LibroService {
 	
 	/**
 	 * Crea un nuevo libro en la base de datos a partir de los datos proporcionados.
+	 * 
+	 * <p>
+	 * El libro se inserta directamente, sin consultar antes si existe: si ya hay
+	 * un libro con el mismo ISBN la base de datos rechaza el INSERT. El alta se
+	 * anota en el registro de cambios en la misma transacción.
+	 * </p>
 	 *
 	 * @param libro El objeto {@code Libro} que se desea crear y guardar en la base de datos.
 	 * @return El libro creado y guardado en la base de datos.
+	 * @throws DataIntegrityViolationException Si ya existe un libro con el mismo ISBN.
 	 */
 	@Override
-	public Libro crearLibro(Libro libro) {
-		libroRepository.save(libro);
+	public Libro crearLibro(Libro libro) throws DataIntegrityViolationException {
+		libro.setVersion(null);
+		transactionTemplate.executeWithoutResult(estado -> {
+			libroRepository.saveAndFlush(libro);
+			registroCambios.registrar(LibroEvento.Tipo.CREADO, List.of(libro.getIsbn()));
+		});
+		libroCache.guardar(libro);
+		eventPublisher.publishEvent(LibroEvento.creado(libro));
 		return libro;
 	}
 	
 	
+	/**
+	 * Guarda varios libros en la base de datos.
+	 *
+	 * @param entities Los objetos {@code Libro} que se desean guardar.
+	 * @return Los objetos {@code Libro} guardados.
+	 */
+	@Override
+	public <S extends Libro> List<S> saveAll(Iterable<S> entities) {
+		return libroRepository.saveAll(entities);
+	}
+	
+	
+	/**
+	 * Guarda varios libros en la base de datos y sincroniza los cambios de inmediato.
+	 *
+	 * @param entities Los objetos {@code Libro} que se desean guardar.
+	 * @return Los objetos {@code Libro} guardados.
+	 */
+	@Override
+	public <S extends Libro> List<S> saveAllAndFlush(Iterable<S> entities) {
+		return libroRepository.saveAllAndFlush(entities);
+	}
+	
+	
+	/**
+	 * Crea varios libros en la base de datos en una carga por lotes.
+	 * 
+	 * <p>
+	 * Los libros se guardan en bloques del tamaño del lote JDBC configurado, cada
+	 * uno en su propia transacción. Antes de insertar un bloque se consultan en
+	 * una sola sentencia los ISBN que ya existen, y el resto se persiste
+	 * directamente para que Hibernate agrupe los INSERT en un único lote JDBC.
+	 * Los libros sin ISBN se marcan como inválidos y los ISBN repetidos, ya sea
+	 * en la base de datos o dentro del propio lote, como duplicados.
+	 * </p>
+	 *
+	 * @param libros Los libros que se desean crear.
+	 * @return El resumen de la carga con el resultado de cada libro en el orden
+	 *         en el que se recibieron.
+	 */
+	@Override
+	public ResultadoLoteLibros crearLibros(List<Libro> libros) {
+		ResultadoItemLibro[] resultados = new ResultadoItemLibro[libros.size()];
+		Set<String> isbnsVistos = new HashSet<>();
+		List<Integer> pendientes = new ArrayList<>();
+		
+		for (int i = 0; i < libros.size(); i++) {
+			Libro libro = libros.get(i);
+			
+			if (libro == null || libro.getIsbn() == null || libro.getIsbn().isBlank()) {
+				resultados[i] = new ResultadoItemLibro(libro == null ? null : libro.getIsbn(),
+						ResultadoItemLibro.Estado.INVALIDO);
+			} else if (!isbnsVistos.add(libro.getIsbn())) {
+				resultados[i] = new ResultadoItemLibro(libro.getIsbn(), ResultadoItemLibro.Estado.DUPLICADO);
+			} else {
+				pendientes.add(i);
+			}
+		}
+		
+		for (int desde = 0; desde < pendientes.size(); desde += tamanoLote) {
+			List<Integer> indices = pendientes.subList(desde, Math.min(desde + tamanoLote, pendientes.size()));
+			List<Libro> lote = indices.stream().map(libros::get).toList();
+			Map<String, ResultadoItemLibro.Estado> estados = guardarLote(lote);
+			
+			for (int indice : indices) {
+				Libro libro = libros.get(indice);
+				ResultadoItemLibro.Estado estado = estados.get(libro.getIsbn());
+				resultados[indice] = new ResultadoItemLibro(libro.getIsbn(), estado);
+				
+				if (estado == ResultadoItemLibro.Estado.CREADO) {
+					eventPublisher.publishEvent(LibroEvento.creado(libro));
+				}
+			}
+		}
+		
+		return new ResultadoLoteLibros(Arrays.asList(resultados));
+	}
+	
+	private Map<String, ResultadoItemLibro.Estado> guardarLote(List<Libro> lote) {
+		try {
+			return transactionTemplate.execute(estado -> insertarLote(lote));
+		} catch (DataIntegrityViolationException | PersistenceException e) {
+			// Otra petición ha insertado alguno de los ISBN entre la comprobación y
+			// el INSERT: se repite el bloque libro a libro para aislar el conflicto.
+			Map<String, ResultadoItemLibro.Estado> estados = new HashMap<>();
+			
+			for (Libro libro : lote) {
+				try {
+					estados.putAll(transactionTemplate.execute(estado -> insertarLote(List.of(libro))));
+				} catch (DataIntegrityViolationException | PersistenceException ex) {
+					estados.put(libro.getIsbn(), libroRepository.existsById(libro.getIsbn())
+							? ResultadoItemLibro.Estado.DUPLICADO
+							: ResultadoItemLibro.Estado.INVALIDO);
+				}
+			}
+			return estados;
+		}
+	}
+	
+	private Map<String, ResultadoItemLibro.Estado> insertarLote(List<Libro> lote) {
+		Set<String> existentes = new HashSet<>(
+				libroRepository.findIsbnsExistentes(lote.stream().map(Libro::getIsbn).toList()));
+		Map<String, ResultadoItemLibro.Estado> estados = new HashMap<>();
+		List<String> creados = new ArrayList<>();
+		
+		for (Libro libro : lote) {
+			if (existentes.contains(libro.getIsbn())) {
+				estados.put(libro.getIsbn(), ResultadoItemLibro.Estado.DUPLICADO);
+			} else {
+				libro.setVersion(null);
+				entityManager.persist(libro);
+				estados.put(libro.getIsbn(), ResultadoItemLibro.Estado.CREADO);
+				creados.add(libro.getIsbn());
+			}
+		}
+		
+		entityManager.flush();
+		entityManager.clear();
+		registroCambios.registrar(LibroEvento.Tipo.CREADO, creados);
+		return estados;
+	}
+	
+	
+	/**
+	 * Comprueba qué ISBN de los indicados existen ya en la base de datos.
+	 *
+	 * @param isbns Los ISBN que se desean comprobar.
+	 * @return La lista de ISBN que ya existen.
+	 */
+	@Override
+	public List<String> findIsbnsExistentes(Collection<String> isbns) {
+		return libroRepository.findIsbnsExistentes(isbns);
+	}
+	
+	
 	
 	
 	
@@ -228,18 +1023,70 @@ public class LibroserviceImpl implements LibroRepository, LibroService {
 	}
 
 	/**
-	 * Elimina un libro de la base de datos por su ISBN, verificando previamente si existe.
+	 * Elimina un libro de la base de datos por su ISBN en una sola sentencia.
+	 *
+	 * @param isbn    El ISBN del libro que se desea eliminar.
+	 * @param version La versión que debe tener el libro, o {@code null} para
+	 *                eliminarlo sea cual sea.
+	 * @return El número de libros eliminados.
+	 */
+	@Override
+	public int deleteLibro(String isbn, Long version) {
+		return libroRepository.deleteLibro(isbn, version);
+	}
+
+	/**
+	 * Elimina un libro de la base de datos por su ISBN.
 	 *
 	 * @param isbn El ISBN del libro que se desea eliminar.
 	 * @throws EntityNotFoundException Si no se encuentra ningún libro con el ISBN especificado.
 	 */
 	@Override
 	public void deleteLibroPorIsbn(String isbn) throws EntityNotFoundException {
-	    if (!existsById(isbn)) {
-	        throw new EntityNotFoundException();
-	    }
-	    
-	    deleteById(isbn);
+		deleteLibroPorIsbn(isbn, null);
+	}
+
+	/**
+	 * Elimina un libro de la base de datos por su ISBN si su versión coincide
+	 * con la indicada.
+	 * 
+	 * <p>
+	 * Si el filtro de ISBN indica que el libro seguro que no existe no se
+	 * consulta la base de datos. Si no, el borrado se hace con una sola sentencia
+	 * DELETE y el número de filas afectadas indica si el libro existía. Solo cuando no se ha borrado nada y
+	 * se esperaba una versión se consulta si el libro existe, para distinguir un
+	 * libro inexistente de uno modificado por otra petición. El borrado se anota
+	 * en el registro de cambios en la misma transacción.
+	 * </p>
+	 *
+	 * @param isbn            El ISBN del libro que se desea eliminar.
+	 * @param versionEsperada La versión que debe tener el libro, o {@code null}
+	 *                        para eliminarlo sea cual sea.
+	 * @throws EntityNotFoundException            Si no se encuentra ningún libro
+	 *                                            con el ISBN especificado.
+	 * @throws OptimisticLockingFailureException Si el libro existe pero su
+	 *                                            versión no coincide.
+	 */
+	@Override
+	public void deleteLibroPorIsbn(String isbn, Long versionEsperada)
+			throws EntityNotFoundException, OptimisticLockingFailureException {
+		if (!filtroIsbns.puedeExistir(isbn)) {
+			throw libroNoEncontrado(isbn);
+		}
+		
+		boolean borrado = transactionTemplate.execute(estado -> {
+			if (deleteLibro(isbn, versionEsperada) == 0) {
+				return false;
+			}
+			registroCambios.registrar(LibroEvento.Tipo.BORRADO, List.of(isbn));
+			return true;
+		});
+		if (!borrado) {
+			throw noModificado(isbn, versionEsperada);
+		}
+		
+		libroCache.invalidar(isbn);
+		eventPublisher.publishEvent(LibroEvento.borrado(isbn));
 	}
 
 	
@@ -250,6 +1097,23 @@ public class LibroserviceImpl implements LibroRepository, LibroService {
 	//###########################################################
 	
 	
+	/**
+	 * Actualiza el título, el autor y el precio de un libro en una sola sentencia
+	 * e incrementa su versión.
+	 *
+	 * @param isbn    El ISBN del libro que se desea actualizar.
+	 * @param titulo  El nuevo título.
+	 * @param autor   El nuevo autor.
+	 * @param precio  El nuevo precio.
+	 * @param version La versión que debe tener el libro, o {@code null} para
+	 *                actualizarlo sea cual sea.
+	 * @return El número de libros actualizados.
+	 */
+	@Override
+	public int updateLibro(String isbn, String titulo, String autor, int precio, Long version) {
+		return libroRepository.updateLibro(isbn, titulo, autor, precio, version);
+	}
+
 	/**
 	 * Actualiza la información de un libro en la base de datos.
 	 *
@@ -259,19 +1123,84 @@ public class LibroserviceImpl implements LibroRepository, LibroService {
 	 */
 	@Override
 	public Libro actualizarLibro(Libro libroForUpdate) throws EntityNotFoundException {
-		Optional<Libro> optionalLibro = libroRepository.findById(libroForUpdate.getIsbn());
+		return actualizarLibro(libroForUpdate, null);
+	}
+
+	/**
+	 * Actualiza la información de un libro en la base de datos si su versión
+	 * coincide con la indicada.
+	 * 
+	 * <p>
+	 * Si el filtro de ISBN indica que el libro seguro que no existe no se
+	 * consulta la base de datos. Si no, la actualización se hace con una sola
+	 * sentencia UPDATE, sin leer antes el libro, y el número de filas afectadas
+	 * indica si existía. Si se indica la
+	 * versión esperada, el libro devuelto lleva la nueva versión y se guarda en
+	 * la caché; si no, la nueva versión no se conoce sin otra consulta, por lo
+	 * que el libro se devuelve sin versión y se invalida en la caché. La
+	 * actualización se anota en el registro de cambios en la misma transacción.
+	 * </p>
+	 *
+	 * @param libroForUpdate  El objeto {@code Libro} con la información
+	 *                        actualizada del libro.
+	 * @param versionEsperada La versión que debe tener el libro, o {@code null}
+	 *                        para actualizarlo sea cual sea.
+	 * @return El objeto {@code Libro} actualizado.
+	 * @throws EntityNotFoundException            Si no se encuentra ningún libro
+	 *                                            con el ISBN especificado.
+	 * @throws OptimisticLockingFailureException Si el libro existe pero su
+	 *                                            versión no coincide.
+	 */
+	@Override
+	public Libro actualizarLibro(Libro libroForUpdate, Long versionEsperada)
+			throws EntityNotFoundException, OptimisticLockingFailureException {
+		String isbn = libroForUpdate.getIsbn();
 		
-		if(optionalLibro.isEmpty()) {
-			throw new EntityNotFoundException();
+		if (!filtroIsbns.puedeExistir(isbn)) {
+			throw libroNoEncontrado(isbn);
 		}
 		
-		Libro libroActualizado;
+		boolean actualizado = transactionTemplate.execute(estado -> {
+			if (updateLibro(isbn, libroForUpdate.getTitulo(), libroForUpdate.getAutor(), libroForUpdate.getPrecio(),
+					versionEsperada) == 0) {
+				return false;
+			}
+			registroCambios.registrar(LibroEvento.Tipo.ACTUALIZADO, List.of(isbn));
+			return true;
+		});
+		if (!actualizado) {
+			throw noModificado(isbn, versionEsperada);
+		}
+		
+		Libro libroActualizado = new Libro(isbn, libroForUpdate.getTitulo(), libroForUpdate.getAutor(),
+				libroForUpdate.getPrecio());
 		
-		libroActualizado = libroRepository.save(libroForUpdate);
+		if (versionEsperada != null) {
+			libroActualizado.setVersion(versionEsperada + 1);
+			libroCache.guardar(libroActualizado);
+		} else {
+			libroCache.invalidar(isbn);
+		}
+		eventPublisher.publishEvent(LibroEvento.actualizado(libroActualizado));
 		
 		return libroActualizado;
 	}
 	
+	/*
+	 * Excepción de una modificación que no ha afectado a ninguna fila. Solo en
+	 * este caso, y si se esperaba una versión, se consulta si el libro existe.
+	 */
+	private RuntimeException noModificado(String isbn, Long versionEsperada) {
+		if (versionEsperada != null && existsById(isbn)) {
+			return new OptimisticLockingFailureException("La versión del libro " + isbn + " no es " + versionEsperada);
+		}
+		return libroNoEncontrado(isbn);
+	}
+	
+	private static LibroNoEncontradoException libroNoEncontrado(String isbn) {
+		return new LibroNoEncontradoException("No existe ningún libro con el ISBN " + isbn);
+	}
+	
 	
 	
 	
@@ -281,8 +1210,7 @@ public class LibroserviceImpl implements LibroRepository, LibroService {
 	
 	@Override
 	public void flush() {
-		// TODO Auto-generated method stub
-
+		libroRepository.flush();
 	}
 
 	@Override
@@ -291,12 +1219,6 @@ public class LibroserviceImpl implements LibroRepository, LibroService {
 		return null;
 	}
 
-	@Override
-	public <S extends Libro> List<S> saveAllAndFlush(Iterable<S> entities) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
 	@Override
 	public void deleteAllInBatch(Iterable<Libro> entities) {
 		// TODO Auto-generated method stub
@@ -345,18 +1267,6 @@ public class LibroserviceImpl implements LibroRepository, LibroService {
 		return null;
 	}
 
-	@Override
-	public <S extends Libro> List<S> saveAll(Iterable<S> entities) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public List<Libro> findAllById(Iterable<String> ids) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
 	
 
 	
@@ -393,18 +1303,6 @@ public class LibroserviceImpl implements LibroRepository, LibroService {
 
 	}
 
-	@Override
-	public List<Libro> findAll(Sort sort) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public Page<Libro> findAll(Pageable pageable) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
 	@Override
 	public <S extends Libro> Optional<S> findOne(Example<S> example) {
 		// TODO Auto-generated method stub
@@ -0,0 +1,35 @@
+package com.viewnext.kidaprojects.biblioteca1.service;
+
+import java.util.Locale;
+
+/**
+ * Criterios de ordenación admitidos en el listado paginado de libros.
+ * 
+ * <p>
+ * Todos los criterios usan el ISBN como desempate, de modo que el par
+ * (valor, isbn) identifica de forma única la posición de un libro dentro del
+ * listado y puede usarse como cursor.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+public enum OrdenLibros {
+
+	ISBN, PRECIO, AUTOR, TITULO;
+
+	/**
+	 * Obtiene el criterio de ordenación a partir de su nombre, sin distinguir
+	 * mayúsculas de minúsculas. Si no se indica ninguno se ordena por ISBN.
+	 *
+	 * @param nombre El nombre del criterio (por ejemplo "precio").
+	 * @return El criterio de ordenación correspondiente.
+	 * @throws IllegalArgumentException Si el nombre no corresponde a ningún criterio.
+	 */
+	public static OrdenLibros desde(String nombre) {
+		if (nombre == null || nombre.isBlank()) {
+			return ISBN;
+		}
+		return valueOf(nombre.trim().toUpperCase(Locale.ROOT));
+	}
+}
@@ -0,0 +1,73 @@
+package com.viewnext.kidaprojects.biblioteca1.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.viewnext.kidaprojects.biblioteca1.dto.CamposLibro;
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Componente que consulta solo algunos campos de los libros.
+ * 
+ * <p>
+ * Construye con la API Criteria una consulta que selecciona únicamente las
+ * columnas de los campos pedidos y devuelve cada fila como un
+ * {@code CamposLibro}, de modo que ni se leen ni se serializan los demás. Las
+ * filas no son entidades, por lo que Hibernate no las gestiona.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@Component
+public class ProyeccionLibros {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	/**
+	 * Consulta los campos indicados de los libros cuyo atributo {@code filtro}
+	 * es igual a {@code valor}, o de todos si no se indica filtro.
+	 *
+	 * @param campos Los campos que se desean obtener.
+	 * @param filtro El campo por el que se filtra, o {@code null}.
+	 * @param valor  El valor que debe tener el campo del filtro.
+	 * @return Una fila por libro con los campos pedidos, en el orden de
+	 *         {@code campos}.
+	 */
+	public List<CamposLibro> consultar(Set<CampoLibro> campos, CampoLibro filtro, Object valor) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Object[]> consulta = cb.createQuery(Object[].class);
+		Root<Libro> libro = consulta.from(Libro.class);
+
+		List<Selection<?>> columnas = new ArrayList<>(campos.size());
+		String[] nombres = new String[campos.size()];
+		for (CampoLibro campo : campos) {
+			nombres[columnas.size()] = campo.getNombre();
+			columnas.add(libro.get(campo.getNombre()));
+		}
+		consulta.multiselect(columnas);
+
+		if (filtro != null) {
+			consulta.where(cb.equal(libro.get(filtro.getNombre()), valor));
+		}
+
+		List<Object[]> valores = entityManager.createQuery(consulta).getResultList();
+		List<CamposLibro> filas = new ArrayList<>(valores.size());
+
+		for (Object[] valoresFila : valores) {
+			filas.add(new CamposLibro(nombres, valoresFila));
+		}
+		return filas;
+	}
+}
@@ -0,0 +1,177 @@
+package com.viewnext.kidaprojects.biblioteca1.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.viewnext.kidaprojects.biblioteca1.dto.CambioLibro;
+import com.viewnext.kidaprojects.biblioteca1.dto.CambiosLibros;
+import com.viewnext.kidaprojects.biblioteca1.dto.LibroDTO;
+import com.viewnext.kidaprojects.biblioteca1.event.LibroEvento;
+
+/**
+ * Registro de cambios del catálogo para la sincronización incremental.
+ *
+ * <p>
+ * Cada alta, actualización o eliminación hecha a través de
+ * {@link LibroserviceImpl} guarda en la tabla {@code libros_cambios} el ISBN y
+ * el tipo del cambio con un número de secuencia, en la misma transacción que
+ * la modificación. Los números se toman de la fila de
+ * {@code libros_cambios_secuencia} al final de la transacción, y el bloqueo de
+ * esa fila dura hasta la confirmación: los números se asignan sin huecos y en
+ * el mismo orden en que se confirman los cambios, por lo que un cliente que
+ * pide los cambios posteriores a un número nunca se salta uno que se confirme
+ * más tarde.
+ * </p>
+ *
+ * <p>
+ * Las consultas devuelven solo el último cambio de cada libro, con el estado
+ * actual del libro, de modo que su coste depende de los libros modificados y
+ * no del número de modificaciones ni del tamaño del catálogo. Los cambios con
+ * más antigüedad que {@code biblioteca.cambios.retencion} se eliminan
+ * periódicamente; quien pida cambios anteriores debe volver a leer el
+ * catálogo completo.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+@Component
+public class RegistroCambios {
+
+	private static final String INCREMENTAR_SECUENCIA =
+			"UPDATE libros_cambios_secuencia SET valor = valor + ? WHERE id = 1";
+	private static final String LEER_SECUENCIA = "SELECT valor FROM libros_cambios_secuencia WHERE id = 1";
+	private static final String INSERTAR_CAMBIO =
+			"INSERT INTO libros_cambios (secuencia, isbn, tipo, fecha) VALUES (?, ?, ?, ?)";
+	private static final String PRIMER_CAMBIO = "SELECT MIN(secuencia) FROM libros_cambios";
+	private static final String ULTIMO_CAMBIO_ANTERIOR = "SELECT MAX(secuencia) FROM libros_cambios WHERE fecha < ?";
+	private static final String BORRAR_CAMBIOS = "DELETE FROM libros_cambios WHERE secuencia <= ?";
+
+	/*
+	 * Último cambio de cada libro modificado después de la secuencia indicada,
+	 * con el estado actual del libro si no se ha eliminado.
+	 */
+	private static final String LEER_CAMBIOS = "SELECT c.secuencia, c.tipo, c.isbn, "
+			+ "l.isbn AS existente, l.titulo, l.autor, l.precio, l.version "
+			+ "FROM libros_cambios c LEFT JOIN libros l ON l.isbn = c.isbn AND c.tipo <> 'BORRADO' "
+			+ "WHERE c.secuencia > ? AND NOT EXISTS (SELECT 1 FROM libros_cambios p "
+			+ "WHERE p.isbn = c.isbn AND p.secuencia > c.secuencia) "
+			+ "ORDER BY c.secuencia LIMIT ?";
+
+	private final Duration retencion;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	public RegistroCambios(@Value("${biblioteca.cambios.retencion:P30D}") Duration retencion) {
+		this.retencion = retencion;
+	}
+
+	/**
+	 * Registra un cambio de varios libros. Debe llamarse dentro de la
+	 * transacción que los modifica, después de la última sentencia de la
+	 * modificación.
+	 *
+	 * @param tipo  El tipo de cambio.
+	 * @param isbns Los ISBN de los libros modificados.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void registrar(LibroEvento.Tipo tipo, List<String> isbns) {
+		if (isbns.isEmpty()) {
+			return;
+		}
+
+		jdbcTemplate.update(INCREMENTAR_SECUENCIA, isbns.size());
+		long primera = jdbcTemplate.queryForObject(LEER_SECUENCIA, Long.class) - isbns.size() + 1;
+		Timestamp fecha = Timestamp.from(Instant.now());
+
+		jdbcTemplate.batchUpdate(INSERTAR_CAMBIO, new BatchPreparedStatementSetter() {
+
+			@Override
+			public void setValues(PreparedStatement sentencia, int i) throws SQLException {
+				sentencia.setLong(1, primera + i);
+				sentencia.setString(2, isbns.get(i));
+				sentencia.setString(3, tipo.name());
+				sentencia.setTimestamp(4, fecha);
+			}
+
+			@Override
+			public int getBatchSize() {
+				return isbns.size();
+			}
+		});
+	}
+
+	/**
+	 * Obtiene los cambios posteriores a un número de secuencia: el último
+	 * cambio de cada libro modificado, ordenados por número de secuencia.
+	 *
+	 * <p>
+	 * Con un límite de 0 no se devuelve ningún cambio y el número siguiente es
+	 * el del último cambio confirmado, que es desde donde debe sincronizarse un
+	 * cliente que va a leer el catálogo completo.
+	 * </p>
+	 *
+	 * @param desde  El número de secuencia del último cambio que tiene el
+	 *               cliente, o 0 para obtenerlos todos.
+	 * @param limite El número máximo de cambios.
+	 * @return Los cambios y el número de secuencia desde el que continuar.
+	 * @throws CambiosNoDisponiblesException Si ya no se conservan todos los
+	 *                                       cambios posteriores a {@code desde}.
+	 */
+	@Transactional(readOnly = true)
+	public CambiosLibros leer(long desde, int limite) throws CambiosNoDisponiblesException {
+		long ultima = jdbcTemplate.queryForObject(LEER_SECUENCIA, Long.class);
+		Long primera = jdbcTemplate.queryForObject(PRIMER_CAMBIO, Long.class);
+		if (desde > ultima || desde + 1 < (primera == null ? ultima + 1 : primera)) {
+			throw new CambiosNoDisponiblesException(
+					"El registro no conserva los cambios posteriores a " + desde);
+		}
+
+		if (limite == 0) {
+			return new CambiosLibros(List.of(), ultima, false);
+		}
+
+		List<CambioLibro> cambios = jdbcTemplate.query(LEER_CAMBIOS, (fila, numero) -> {
+			String isbn = fila.getString("isbn");
+			if (fila.getString("existente") == null) {
+				// Eliminado, también si se ha borrado de la base de datos por otra vía
+				return new CambioLibro(fila.getLong("secuencia"), LibroEvento.Tipo.BORRADO, isbn, null);
+			}
+			LibroDTO libro = new LibroDTO(isbn, fila.getString("titulo"), fila.getString("autor"),
+					fila.getInt("precio"), fila.getObject("version", Long.class));
+			return new CambioLibro(fila.getLong("secuencia"), LibroEvento.Tipo.valueOf(fila.getString("tipo")), isbn,
+					libro);
+		}, desde, limite);
+
+		long siguiente = cambios.isEmpty() ? desde : cambios.get(cambios.size() - 1).getSecuencia();
+		return new CambiosLibros(cambios, siguiente, cambios.size() == limite);
+	}
+
+	/**
+	 * Elimina los cambios con más antigüedad que la retención configurada.
+	 */
+	@Scheduled(fixedDelayString = "${biblioteca.cambios.purga:PT1H}",
+			initialDelayString = "${biblioteca.cambios.purga:PT1H}")
+	@Transactional
+	public void purgar() {
+		Long ultimaCaducada = jdbcTemplate.queryForObject(ULTIMO_CAMBIO_ANTERIOR, Long.class,
+				Timestamp.from(Instant.now().minus(retencion)));
+		if (ultimaCaducada != null) {
+			jdbcTemplate.update(BORRAR_CAMBIOS, ultimaCaducada);
+		}
+	}
+}
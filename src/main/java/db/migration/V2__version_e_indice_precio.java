@@ -0,0 +1,74 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Migración que añade la columna {@code version} para el bloqueo optimista de
+ * las actualizaciones y el índice {@code idx_libros_precio} para las búsquedas
+ * por rango de precio y el listado ordenado por precio.
+ *
+ * <p>
+ * Antes de usar migraciones había que añadir la columna y el índice a mano, y
+ * MySQL no admite {@code IF NOT EXISTS} en {@code ADD COLUMN} ni en
+ * {@code CREATE INDEX}. Por eso la migración consulta los metadatos de la base
+ * de datos y solo crea lo que falta, de modo que funciona tanto en las bases
+ * de datos nuevas como en las que ya los tenían. Las filas existentes quedan
+ * con la versión {@code NULL}, que se trata como la versión 0.
+ * </p>
+ *
+ * @version 1.0
+ * @since 17 de octubre de 2026
+ */
+public class V2__version_e_indice_precio extends BaseJavaMigration {
+
+	private static final String TABLA = "libros";
+
+	@Override
+	public void migrate(Context context) throws SQLException {
+		Connection conexion = context.getConnection();
+		DatabaseMetaData metaData = conexion.getMetaData();
+
+		try (Statement sentencia = conexion.createStatement()) {
+			if (!existeColumna(conexion, metaData, "version")) {
+				sentencia.execute("ALTER TABLE libros ADD COLUMN version BIGINT");
+			}
+			if (!existeIndice(conexion, metaData, "idx_libros_precio")) {
+				sentencia.execute("CREATE INDEX idx_libros_precio ON libros (precio, isbn)");
+			}
+		}
+	}
+
+	private static boolean existeColumna(Connection conexion, DatabaseMetaData metaData, String columna)
+			throws SQLException {
+		try (ResultSet columnas = metaData.getColumns(conexion.getCatalog(), conexion.getSchema(),
+				identificador(metaData, TABLA), identificador(metaData, columna))) {
+			return columnas.next();
+		}
+	}
+
+	private static boolean existeIndice(Connection conexion, DatabaseMetaData metaData, String indice)
+			throws SQLException {
+		try (ResultSet indices = metaData.getIndexInfo(conexion.getCatalog(), conexion.getSchema(),
+				identificador(metaData, TABLA), false, false)) {
+			while (indices.next()) {
+				if (indice.equalsIgnoreCase(indices.getString("INDEX_NAME"))) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	// H2 guarda en mayúsculas los nombres sin comillas y MySQL tal como se escriben
+	private static String identificador(DatabaseMetaData metaData, String nombre) throws SQLException {
+		return metaData.storesUpperCaseIdentifiers() ? nombre.toUpperCase(Locale.ROOT) : nombre;
+	}
+}
@@ -0,0 +1,9 @@
+-- Tabla de libros tal como la generaba Hibernate. IF NOT EXISTS permite
+-- adoptar las bases de datos creadas antes de usar migraciones.
+CREATE TABLE IF NOT EXISTS libros (
+	isbn VARCHAR(255) NOT NULL,
+	titulo VARCHAR(255),
+	autor VARCHAR(255),
+	precio INT NOT NULL,
+	PRIMARY KEY (isbn)
+);
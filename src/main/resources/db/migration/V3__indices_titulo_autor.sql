@@ -0,0 +1,7 @@
+-- Búsquedas por título y por autor. Como el índice secundario incluye la clave
+-- primaria, también sirven al listado paginado por (titulo, isbn) y (autor, isbn).
+CREATE INDEX idx_libros_titulo ON libros (titulo);
+CREATE INDEX idx_libros_autor ON libros (autor);
+
+-- Libros de un autor ordenados o filtrados por precio.
+CREATE INDEX idx_libros_autor_precio ON libros (autor, precio);
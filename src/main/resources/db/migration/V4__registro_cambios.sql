@@ -0,0 +1,23 @@
+-- Registro de cambios del catálogo para la sincronización incremental. Cada
+-- alta, actualización o eliminación añade una fila con el siguiente número de
+-- la secuencia, en la misma transacción que la modificación.
+CREATE TABLE libros_cambios (
+	secuencia BIGINT NOT NULL,
+	isbn VARCHAR(255) NOT NULL,
+	tipo VARCHAR(16) NOT NULL,
+	fecha TIMESTAMP NOT NULL,
+	PRIMARY KEY (secuencia)
+);
+
+-- Último cambio de cada libro, para devolver solo el más reciente.
+CREATE INDEX idx_libros_cambios_isbn ON libros_cambios (isbn, secuencia);
+
+-- Último número de la secuencia. Se incrementa al final de cada transacción,
+-- de modo que los números se asignan sin huecos y en orden de confirmación.
+CREATE TABLE libros_cambios_secuencia (
+	id INT NOT NULL,
+	valor BIGINT NOT NULL,
+	PRIMARY KEY (id)
+);
+
+INSERT INTO libros_cambios_secuencia (id, valor) VALUES (1, 0);
@@ -0,0 +1,115 @@
+package com.viewnext.kidaprojects.biblioteca1.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.viewnext.kidaprojects.biblioteca1.config.EnrutadorDataSource;
+import com.viewnext.kidaprojects.biblioteca1.dto.LibroDTO;
+import com.viewnext.kidaprojects.biblioteca1.event.LibroEvento;
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+import com.viewnext.kidaprojects.biblioteca1.service.LibroserviceImpl;
+
+class InstantaneaCatalogoTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final VersionCatalogo versionCatalogo = new VersionCatalogo();
+	private final List<Runnable> programadas = new ArrayList<>();
+	private final List<LibroDTO> libros = new ArrayList<>();
+	private final List<Boolean> lecturasEnPrimaria = new ArrayList<>();
+
+	private InstantaneaCatalogo instantaneaCatalogo;
+
+	@BeforeEach
+	void crearInstantanea() {
+		LibroserviceImpl libroService = mock(LibroserviceImpl.class);
+		when(libroService.findAllLibrosDTO()).thenAnswer(invocacion -> {
+			lecturasEnPrimaria.add(EnrutadorDataSource.leeDePrimaria());
+			return List.copyOf(libros);
+		});
+
+		TaskScheduler taskScheduler = mock(TaskScheduler.class);
+		when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(invocacion -> {
+			programadas.add(invocacion.getArgument(0));
+			return null;
+		});
+
+		instantaneaCatalogo = new InstantaneaCatalogo(Duration.ZERO);
+		ReflectionTestUtils.setField(instantaneaCatalogo, "versionCatalogo", versionCatalogo);
+		ReflectionTestUtils.setField(instantaneaCatalogo, "libroService", libroService);
+		ReflectionTestUtils.setField(instantaneaCatalogo, "objectMapper", objectMapper);
+		ReflectionTestUtils.setField(instantaneaCatalogo, "taskScheduler", taskScheduler);
+	}
+
+	@Test
+	void leeElCatalogoDeLaPrimariaYLoSirveEnJsonYGzip() throws IOException {
+		libros.add(new LibroDTO("1", "Rayuela", "Cortázar", 20, 0L));
+
+		instantaneaCatalogo.alArrancar();
+		ejecutarProgramadas();
+
+		InstantaneaCatalogo.Instantanea instantanea = instantaneaCatalogo.obtener();
+		assertNotNull(instantanea);
+		assertEquals(List.of(true), lecturasEnPrimaria);
+		assertFalse(EnrutadorDataSource.leeDePrimaria());
+		assertArrayEquals(objectMapper.writeValueAsBytes(libros), instantanea.identidad());
+		assertArrayEquals(instantanea.identidad(), descomprimir(instantanea.gzip()));
+	}
+
+	@Test
+	void soloSeSirveMientrasNoCambiaElCatalogo() throws IOException {
+		instantaneaCatalogo.alArrancar();
+		ejecutarProgramadas();
+		assertNotNull(instantaneaCatalogo.obtener());
+
+		Libro libro = new Libro("1", "Rayuela", "Cortázar", 20);
+		libros.add(new LibroDTO("1", "Rayuela", "Cortázar", 20, 0L));
+		LibroEvento evento = LibroEvento.creado(libro);
+		versionCatalogo.alModificarLibro(evento);
+		instantaneaCatalogo.alModificarLibro(evento);
+		instantaneaCatalogo.alModificarLibro(evento);
+
+		assertNull(instantaneaCatalogo.obtener());
+		assertEquals(1, programadas.size());
+
+		ejecutarProgramadas();
+
+		InstantaneaCatalogo.Instantanea instantanea = instantaneaCatalogo.obtener();
+		assertNotNull(instantanea);
+		assertEquals(versionCatalogo.getVersion(), instantanea.version());
+		assertTrue(new String(instantanea.identidad(), StandardCharsets.UTF_8).contains("Rayuela"));
+	}
+
+	private void ejecutarProgramadas() {
+		List<Runnable> tareas = new ArrayList<>(programadas);
+		programadas.clear();
+		tareas.forEach(Runnable::run);
+	}
+
+	private static byte[] descomprimir(byte[] datos) throws IOException {
+		try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(datos))) {
+			return gzip.readAllBytes();
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package com.viewnext.kidaprojects.biblioteca1.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class EnrutadorDataSourceTests {
+
+	private EmbeddedDatabase primaria;
+	private EmbeddedDatabase replica;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate lectura;
+	private TransactionTemplate escritura;
+
+	@BeforeEach
+	void crearBasesDeDatos() {
+		primaria = crearBaseDeDatos("primaria");
+		replica = crearBaseDeDatos("replica");
+
+		DataSource dataSource = EnrutadorDataSource.crear(primaria, replica);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		escritura = new TransactionTemplate(transactionManager);
+		lectura = new TransactionTemplate(transactionManager);
+		lectura.setReadOnly(true);
+	}
+
+	@AfterEach
+	void cerrarBasesDeDatos() {
+		EnrutadorDataSource.olvidarEscrituras();
+		primaria.shutdown();
+		replica.shutdown();
+	}
+
+	@Test
+	void lasLecturasVanALaReplicaYLasEscriturasALaPrimaria() {
+		assertEquals("replica", leerOrigen());
+
+		escritura.executeWithoutResult(estado -> jdbcTemplate.update("UPDATE origen SET nombre = 'escrita'"));
+
+		assertEquals("escrita", jdbcTemplate.queryForObject("SELECT nombre FROM origen", String.class));
+		EnrutadorDataSource.olvidarEscrituras();
+		assertEquals("replica", leerOrigen());
+	}
+
+	@Test
+	void trasUnaEscrituraSeLeeDeLaPrimaria() {
+		escritura.executeWithoutResult(estado -> jdbcTemplate.update("UPDATE origen SET nombre = 'escrita'"));
+
+		assertEquals("escrita", leerOrigen());
+	}
+
+	@Test
+	void enPrimariaLeeDeLaPrimaria() {
+		String[] origen = new String[1];
+		EnrutadorDataSource.enPrimaria(() -> origen[0] = leerOrigen());
+
+		assertEquals("primaria", origen[0]);
+		assertEquals("replica", leerOrigen());
+	}
+
+	private String leerOrigen() {
+		return lectura.execute(estado -> jdbcTemplate.queryForObject("SELECT nombre FROM origen", String.class));
+	}
+
+	private static EmbeddedDatabase crearBaseDeDatos(String nombre) {
+		EmbeddedDatabase baseDeDatos = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.setName(nombre)
+				.build();
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(baseDeDatos);
+		jdbcTemplate.execute("CREATE TABLE origen (nombre VARCHAR(20))");
+		jdbcTemplate.update("INSERT INTO origen VALUES (?)", nombre);
+		return baseDeDatos;
+	}
+}
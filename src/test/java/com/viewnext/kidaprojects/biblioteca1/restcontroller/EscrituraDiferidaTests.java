@@ -0,0 +1,88 @@
+package com.viewnext.kidaprojects.biblioteca1.restcontroller;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.Timeout.ThreadMode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.viewnext.kidaprojects.biblioteca1.service.LibroserviceImpl;
+
+/*
+ * Sin la copia del catálogo: se reconstruye en otro hilo llamando al servicio
+ * espiado, y esa llamada podría quedarse con la simulación a medio preparar.
+ */
+@SpringBootTest(properties = { "biblioteca.escritura-diferida.habilitada=true",
+		"biblioteca.instantanea-catalogo.habilitada=false" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EscrituraDiferidaTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@SpyBean
+	private LibroserviceImpl libroService;
+
+	@Test
+	void creaElLibroYRechazaLosDuplicados() throws Exception {
+		mockMvc.perform(post("/libro").contentType(MediaType.APPLICATION_JSON).content(libro("diferida-1")))
+				.andExpect(status().isOk());
+		mockMvc.perform(post("/libro").contentType(MediaType.APPLICATION_JSON).content(libro("diferida-1")))
+				.andExpect(status().isConflict());
+	}
+
+	@Test
+	void unFalloPasajeroAlGuardarElBloqueSePuedeReintentar() throws Exception {
+		doThrow(new CannotAcquireLockException("Bloqueo no disponible")).when(espia()).crearLibros(anyList());
+
+		mockMvc.perform(post("/libro").contentType(MediaType.APPLICATION_JSON).content(libro("diferida-2")))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+	}
+
+	@Test
+	void cualquierOtroFalloAlGuardarElBloqueTieneSuPropiaRespuesta() throws Exception {
+		doThrow(new IllegalStateException("Fallo inesperado")).when(espia()).crearLibros(anyList());
+
+		mockMvc.perform(post("/libro").contentType(MediaType.APPLICATION_JSON).content(libro("diferida-3")))
+				.andExpect(status().isInternalServerError());
+	}
+
+	@Test
+	@Timeout(value = 30, threadMode = ThreadMode.SEPARATE_THREAD)
+	void unErrorAlGuardarElBloqueNoDetieneLaEscrituraDiferida() throws Exception {
+		doThrow(new StackOverflowError()).doCallRealMethod().when(espia()).crearLibros(anyList());
+
+		mockMvc.perform(post("/libro").contentType(MediaType.APPLICATION_JSON).content(libro("diferida-4")))
+				.andExpect(status().isInternalServerError());
+		mockMvc.perform(post("/libro").contentType(MediaType.APPLICATION_JSON).content(libro("diferida-4")))
+				.andExpect(status().isOk());
+	}
+
+	/*
+	 * El espía está detrás del proxy de Spring, que no se puede usar para
+	 * simular sus métodos.
+	 */
+	private LibroserviceImpl espia() {
+		return AopTestUtils.getUltimateTargetObject(libroService);
+	}
+
+	private static String libro(String isbn) {
+		return "{\"isbn\":\"" + isbn + "\",\"titulo\":\"Titulo\",\"autor\":\"Autor\",\"precio\":10}";
+	}
+}
@@ -0,0 +1,220 @@
+package com.viewnext.kidaprojects.biblioteca1.restcontroller;
+
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.viewnext.kidaprojects.biblioteca1.cache.LibroCache;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LibroRestControllerTests {
+
+	private static final String RESINCRONIZAR = "event:resincronizar";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private LibroCache libroCache;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void laEtagDeUnLibroSirveComoIfMatch() throws Exception {
+		crear("if-match-1", "Rayuela", 20);
+
+		String etag = etag("if-match-1");
+
+		mockMvc.perform(put("/libro").header(HttpHeaders.IF_MATCH, etag)
+				.contentType(MediaType.APPLICATION_JSON).content(libro("if-match-1", "Rayuela", 25)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.version").value(1));
+
+		mockMvc.perform(put("/libro").header(HttpHeaders.IF_MATCH, etag)
+				.contentType(MediaType.APPLICATION_JSON).content(libro("if-match-1", "Rayuela", 30)))
+				.andExpect(status().isPreconditionFailed());
+
+		String nuevaEtag = etag("if-match-1");
+		assertNotEquals(etag, nuevaEtag);
+
+		mockMvc.perform(delete("/libro/if-match-1").header(HttpHeaders.IF_MATCH, etag))
+				.andExpect(status().isPreconditionFailed());
+		mockMvc.perform(delete("/libro/if-match-1").header(HttpHeaders.IF_MATCH, nuevaEtag))
+				.andExpect(status().isNoContent());
+	}
+
+	@Test
+	void ifMatchAdmiteLaVersionDelLibroYRechazaLasEtagDebiles() throws Exception {
+		crear("if-match-2", "Ficciones", 15);
+
+		mockMvc.perform(put("/libro").header(HttpHeaders.IF_MATCH, "W/" + etag("if-match-2"))
+				.contentType(MediaType.APPLICATION_JSON).content(libro("if-match-2", "Ficciones", 16)))
+				.andExpect(status().isPreconditionFailed());
+
+		mockMvc.perform(put("/libro").header(HttpHeaders.IF_MATCH, "0")
+				.contentType(MediaType.APPLICATION_JSON).content(libro("if-match-2", "Ficciones", 16)))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void respondeNotModifiedHastaQueCambiaElCatalogo() throws Exception {
+		String etag = mockMvc.perform(get("/libros").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/libros").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, "W/" + etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag));
+
+		crear("etag-1", "Pedro Páramo", 12);
+
+		mockMvc.perform(get("/libros").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+	}
+
+	@Test
+	void cadaLibroYCadaFormatoTienenSuPropiaEtag() throws Exception {
+		crear("etag-2", "Aura", 8);
+		String etag = etag("etag-2");
+
+		mockMvc.perform(get("/libro/etag-2").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+		mockMvc.perform(get("/libro/etag-2").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+
+		mockMvc.perform(put("/libro").contentType(MediaType.APPLICATION_JSON).content(libro("etag-2", "Aura", 9)))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(get("/libro/etag-2").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.precio").value(9));
+	}
+
+	@Test
+	void respondeNotModifiedSinBuscarElLibro() throws Exception {
+		crear("etag-3", "Nada", 10);
+		String etag = etag("etag-3");
+
+		// Se borra solo la fila: buscar el libro daría "NOT FOUND".
+		libroCache.invalidar("etag-3");
+		jdbcTemplate.update("DELETE FROM libros WHERE isbn = ?", "etag-3");
+
+		mockMvc.perform(get("/libro/etag-3").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag));
+		mockMvc.perform(get("/libro/etag-3").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void laEtagDeUnLibroEliminadoNoVuelveACoincidir() throws Exception {
+		crear("etag-4", "Nada", 10);
+		String etag = etag("etag-4");
+
+		mockMvc.perform(delete("/libro/etag-4")).andExpect(status().isNoContent());
+		mockMvc.perform(get("/libro/etag-4").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotFound());
+
+		crear("etag-4", "Nada", 10);
+		mockMvc.perform(get("/libro/etag-4").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+	}
+
+	@Test
+	void alReconectarseSeRecibenLosEventosPerdidosDelMismoArranque() throws Exception {
+		MvcResult suscripcion = suscribir(null);
+		crear("eventos-1", "Los de abajo", 10);
+		String primerId = ultimoId(esperarEventos(suscripcion, "eventos-1"));
+		assertTrue(primerId.matches("[0-9a-z]+\\.[0-9]+"), primerId);
+
+		crear("eventos-2", "El llano en llamas", 11);
+
+		String reconexion = esperarEventos(suscribir(primerId), "eventos-2");
+		assertTrue(reconexion.contains("event:creado"));
+		assertFalse(reconexion.contains("eventos-1"));
+		assertFalse(reconexion.contains(RESINCRONIZAR));
+	}
+
+	@Test
+	void unIdentificadorDeOtroArranqueObligaAResincronizar() throws Exception {
+		MvcResult suscripcion = suscribir(null);
+		crear("eventos-3", "Balún Canán", 10);
+		String id = ultimoId(esperarEventos(suscripcion, "eventos-3"));
+		String numero = id.substring(id.lastIndexOf('.') + 1);
+
+		esperarEventos(suscribir(numero), RESINCRONIZAR);
+		esperarEventos(suscribir("otroarranque." + numero), RESINCRONIZAR);
+		esperarEventos(suscribir("basura"), RESINCRONIZAR);
+	}
+
+	private MvcResult suscribir(String ultimoEvento) throws Exception {
+		MockHttpServletRequestBuilder peticion = get("/libros/events").accept(MediaType.TEXT_EVENT_STREAM);
+		if (ultimoEvento != null) {
+			peticion.header("Last-Event-ID", ultimoEvento);
+		}
+		return mockMvc.perform(peticion).andExpect(request().asyncStarted()).andReturn();
+	}
+
+	/*
+	 * Los eventos se envían desde otro hilo: se espera a que la respuesta
+	 * contenga el texto indicado.
+	 */
+	private static String esperarEventos(MvcResult suscripcion, String esperado) throws Exception {
+		String contenido = suscripcion.getResponse().getContentAsString(StandardCharsets.UTF_8);
+		for (int intento = 0; !contenido.contains(esperado) && intento < 100; intento++) {
+			Thread.sleep(50);
+			contenido = suscripcion.getResponse().getContentAsString(StandardCharsets.UTF_8);
+		}
+		assertTrue(contenido.contains(esperado), contenido);
+		return contenido;
+	}
+
+	private static String ultimoId(String eventos) {
+		int inicio = eventos.lastIndexOf("id:") + 3;
+		return eventos.substring(inicio, eventos.indexOf('\n', inicio));
+	}
+
+	private void crear(String isbn, String titulo, int precio) throws Exception {
+		mockMvc.perform(post("/libro").contentType(MediaType.APPLICATION_JSON).content(libro(isbn, titulo, precio)))
+				.andExpect(status().isOk());
+	}
+
+	private String etag(String isbn) throws Exception {
+		return mockMvc.perform(get("/libro/" + isbn).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+	}
+
+	private static String libro(String isbn, String titulo, int precio) {
+		return "{\"isbn\":\"" + isbn + "\",\"titulo\":\"" + titulo + "\",\"autor\":\"Autor\",\"precio\":" + precio + "}";
+	}
+}
@@ -0,0 +1,74 @@
+package com.viewnext.kidaprojects.biblioteca1.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.viewnext.kidaprojects.biblioteca1.event.LibroEvento;
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+
+class IndiceLibrosTests {
+
+	private IndiceLibros indice;
+
+	@BeforeEach
+	void crearIndice() {
+		indice = new IndiceLibros();
+	}
+
+	@Test
+	void elTituloPuntuaMasQueElAutorYLosEmpatesSeOrdenanPorTitulo() {
+		crear("1", "Rayuela", "Quijote Sánchez");
+		crear("2", "Vida del Quijote", "Unamuno");
+		crear("3", "El Quijote", "Cervantes");
+		crear("4", "Novelas", "Cervantes");
+
+		assertEquals(List.of("3", "2", "1"), isbns(indice.buscar("QUIJOTÉ", 10)));
+	}
+
+	@Test
+	void exigeTodosLosTerminos() {
+		crear("1", "El Quijote", "Cervantes");
+		crear("2", "El Quijote apócrifo", "Avellaneda");
+
+		assertEquals(List.of("1"), isbns(indice.buscar("quijote cervantes", 10)));
+		assertEquals(List.of(), isbns(indice.buscar("quijote borges", 10)));
+	}
+
+	@Test
+	void elLimiteSeleccionaLosMasRelevantes() {
+		for (int i = 0; i < 100; i++) {
+			crear(String.format("a%03d", i), "Obra " + i, "Ana");
+		}
+		crear("t1", "Ana Karenina", "Tolstoi");
+		crear("t2", "Ana", "Ana");
+
+		assertEquals(List.of("t2", "t1", "a000"), isbns(indice.buscar("ana", 3)));
+		assertEquals(List.of(), isbns(indice.buscar("ana", 0)));
+	}
+
+	@Test
+	void seMantieneAlActualizarYBorrarLibros() {
+		crear("1", "El Quijote", "Cervantes");
+		indice.alModificarLibro(LibroEvento.actualizado(new Libro("1", "Novelas ejemplares", "Cervantes", 10)));
+
+		assertEquals(List.of(), isbns(indice.buscar("quijote", 10)));
+		assertEquals(List.of("1"), isbns(indice.buscar("ejemplares", 10)));
+
+		indice.alModificarLibro(LibroEvento.borrado("1"));
+
+		assertEquals(List.of(), isbns(indice.buscar("cervantes", 10)));
+		assertEquals(0, indice.tamano());
+	}
+
+	private void crear(String isbn, String titulo, String autor) {
+		indice.alModificarLibro(LibroEvento.creado(new Libro(isbn, titulo, autor, 10)));
+	}
+
+	private static List<String> isbns(List<Libro> libros) {
+		return libros.stream().map(Libro::getIsbn).toList();
+	}
+}
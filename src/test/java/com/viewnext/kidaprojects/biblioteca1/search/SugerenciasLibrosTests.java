@@ -0,0 +1,181 @@
+package com.viewnext.kidaprojects.biblioteca1.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.viewnext.kidaprojects.biblioteca1.dto.Sugerencia;
+import com.viewnext.kidaprojects.biblioteca1.event.LibroEvento;
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+
+class SugerenciasLibrosTests {
+
+	private SugerenciasLibros sugerencias;
+
+	@BeforeEach
+	void crearSugerencias() {
+		sugerencias = new SugerenciasLibros();
+	}
+
+	@Test
+	void sugiereCualquierPalabraDelTituloOElAutor() {
+		crear("1", "El Ingenioso Hidalgo Don Quijote", "Miguel de Cervantes");
+
+		assertEquals(List.of("El Ingenioso Hidalgo Don Quijote"), textos(sugerencias.sugerir("quij", 10)));
+		assertEquals(List.of("El Ingenioso Hidalgo Don Quijote"), textos(sugerencias.sugerir("Don QUÍJ", 10)));
+		assertEquals(List.of("Miguel de Cervantes"), textos(sugerencias.sugerir("cerv", 10)));
+		assertEquals(List.of(), textos(sugerencias.sugerir("quijote don", 10)));
+		assertEquals(List.of(), textos(sugerencias.sugerir("  ", 10)));
+	}
+
+	@Test
+	void devuelveLosQueCompartenMasLibrosAunqueHayaMuchasCoincidencias() {
+		for (int i = 0; i < 500; i++) {
+			crear("a" + i, String.format("Obra %03d", i), "Autor " + i);
+		}
+		for (int i = 0; i < 3; i++) {
+			crear("m" + i, "Obra maestra", "Anónimo");
+		}
+		crear("p", "Obra póstuma", "Anónimo");
+		crear("q", "Obra póstuma", "Otro");
+
+		List<Sugerencia> resultado = sugerencias.sugerir("obra", 3);
+
+		assertEquals(List.of("Obra maestra", "Obra póstuma", "Obra 000"), textos(resultado));
+		assertEquals(List.of(3, 2, 1), resultado.stream().map(Sugerencia::getLibros).toList());
+		assertEquals(List.of("Anónimo"), textos(sugerencias.sugerir("an", 1)));
+	}
+
+	@Test
+	void seMantieneAlActualizarYBorrarLibros() {
+		crear("1", "Obra maestra", "Ana");
+		crear("2", "Obra maestra", "Ana");
+		crear("3", "Obra menor", "Ana");
+
+		sugerencias.alModificarLibro(LibroEvento.actualizado(new Libro("1", "Obra menor", "Ana", 10)));
+		assertEquals(List.of("Obra menor", "Obra maestra"), textos(sugerencias.sugerir("obra m", 10)));
+
+		sugerencias.alModificarLibro(LibroEvento.borrado("2"));
+		assertEquals(List.of("Obra menor"), textos(sugerencias.sugerir("obra m", 10)));
+		assertEquals(List.of(), textos(sugerencias.sugerir("maes", 10)));
+
+		sugerencias.alModificarLibro(LibroEvento.borrado("1"));
+		sugerencias.alModificarLibro(LibroEvento.borrado("3"));
+		assertEquals(List.of(), textos(sugerencias.sugerir("o", 10)));
+		assertEquals(List.of(), textos(sugerencias.sugerir("ana", 10)));
+	}
+
+	@Test
+	void coincideConUnRecorridoCompletoTrasAltasYBajasAleatorias() {
+		SplittableRandom aleatorio = new SplittableRandom(42);
+		Map<String, Libro> catalogo = new HashMap<>();
+
+		for (int paso = 0; paso < 5000; paso++) {
+			String isbn = Integer.toString(aleatorio.nextInt(400));
+			if (aleatorio.nextInt(4) == 0) {
+				catalogo.remove(isbn);
+				sugerencias.alModificarLibro(LibroEvento.borrado(isbn));
+			} else {
+				Libro libro = new Libro(isbn, "Obra " + aleatorio.nextInt(80) + " tomo " + aleatorio.nextInt(3),
+						"Autor " + aleatorio.nextInt(60), 10);
+				catalogo.put(isbn, libro);
+				sugerencias.alModificarLibro(LibroEvento.actualizado(libro));
+			}
+		}
+
+		for (String prefijo : List.of("o", "obra 1", "tomo", "tomo 2", "autor 5", "a", "1")) {
+			assertEquals(esperadas(catalogo, prefijo, 20), claves(sugerencias.sugerir(prefijo, 20)), prefijo);
+		}
+	}
+
+	/*
+	 * Con miles de textos distintos, los nodos de los prefijos cortos guardan
+	 * su lista y los demás se recorren; al borrar, las listas se descartan.
+	 */
+	@Test
+	void coincideConUnRecorridoCompletoAlCrearYDescartarListas() {
+		SplittableRandom aleatorio = new SplittableRandom(7);
+		Map<String, Libro> catalogo = new HashMap<>();
+		List<String> prefijos = List.of("o", "obra", "obra 1", "obra 12", "tomo", "tomo 2", "autor 1", "a", "1", "12");
+
+		for (int i = 0; i < 3000; i++) {
+			Libro libro = new Libro(Integer.toString(i), "Obra " + aleatorio.nextInt(2000) + " tomo " + aleatorio.nextInt(3),
+					"Autor " + aleatorio.nextInt(400), 10);
+			catalogo.put(libro.getIsbn(), libro);
+			sugerencias.alModificarLibro(LibroEvento.creado(libro));
+		}
+		comprobar(catalogo, prefijos);
+
+		for (int paso = 0; paso < 3000; paso++) {
+			String isbn = Integer.toString(aleatorio.nextInt(3000));
+			if (aleatorio.nextInt(4) == 0) {
+				catalogo.remove(isbn);
+				sugerencias.alModificarLibro(LibroEvento.borrado(isbn));
+			} else {
+				Libro libro = new Libro(isbn, "Obra " + aleatorio.nextInt(100) + " tomo " + aleatorio.nextInt(3),
+						"Autor " + aleatorio.nextInt(400), 10);
+				catalogo.put(isbn, libro);
+				sugerencias.alModificarLibro(LibroEvento.actualizado(libro));
+			}
+		}
+		comprobar(catalogo, prefijos);
+
+		for (int i = 0; i < 2950; i++) {
+			catalogo.remove(Integer.toString(i));
+			sugerencias.alModificarLibro(LibroEvento.borrado(Integer.toString(i)));
+		}
+		comprobar(catalogo, prefijos);
+	}
+
+	private void comprobar(Map<String, Libro> catalogo, List<String> prefijos) {
+		for (String prefijo : prefijos) {
+			assertEquals(esperadas(catalogo, prefijo, 20), claves(sugerencias.sugerir(prefijo, 20)), prefijo);
+		}
+	}
+
+	private void crear(String isbn, String titulo, String autor) {
+		sugerencias.alModificarLibro(LibroEvento.creado(new Libro(isbn, titulo, autor, 10)));
+	}
+
+	/*
+	 * Resultado esperado calculado recorriendo todo el catálogo.
+	 */
+	private static List<String> esperadas(Map<String, Libro> catalogo, String prefijo, int limite) {
+		Map<String, Integer> libros = new HashMap<>();
+		for (Libro libro : catalogo.values()) {
+			contar(libros, Sugerencia.Tipo.TITULO, libro.getTitulo(), prefijo);
+			contar(libros, Sugerencia.Tipo.AUTOR, libro.getAutor(), prefijo);
+		}
+
+		List<Map.Entry<String, Integer>> entradas = new ArrayList<>(libros.entrySet());
+		entradas.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+				.thenComparing(entrada -> Normalizador.normalizar(entrada.getKey().substring(entrada.getKey().indexOf(':') + 1)))
+				.thenComparing(entrada -> Sugerencia.Tipo.valueOf(entrada.getKey().substring(0, entrada.getKey().indexOf(':')))));
+		return entradas.stream().limit(limite).map(entrada -> entrada.getKey() + "=" + entrada.getValue()).toList();
+	}
+
+	private static void contar(Map<String, Integer> libros, Sugerencia.Tipo tipo, String texto, String prefijo) {
+		String normalizado = Normalizador.normalizar(texto);
+		if (normalizado.startsWith(prefijo) || normalizado.contains(" " + prefijo)) {
+			libros.merge(tipo + ":" + texto, 1, Integer::sum);
+		}
+	}
+
+	private static List<String> claves(List<Sugerencia> resultado) {
+		return resultado.stream()
+				.map(sugerencia -> sugerencia.getTipo() + ":" + sugerencia.getTexto() + "=" + sugerencia.getLibros())
+				.toList();
+	}
+
+	private static List<String> textos(List<Sugerencia> resultado) {
+		return resultado.stream().map(Sugerencia::getTexto).toList();
+	}
+}
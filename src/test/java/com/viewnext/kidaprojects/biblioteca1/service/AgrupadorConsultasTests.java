@@ -0,0 +1,191 @@
+package com.viewnext.kidaprojects.biblioteca1.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.viewnext.kidaprojects.biblioteca1.config.EnrutadorDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@Timeout(30)
+class AgrupadorConsultasTests {
+
+	private static final int PETICIONES = 8;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor();
+	private final AtomicInteger ejecuciones = new AtomicInteger();
+	private final CountDownLatch liberar = new CountDownLatch(1);
+
+	private EmbeddedDatabase baseDeDatos;
+	private DataSourceTransactionManager transactionManager;
+
+	@BeforeEach
+	void crearBaseDeDatos() {
+		baseDeDatos = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.generateUniqueName(true)
+				.build();
+		transactionManager = new DataSourceTransactionManager(baseDeDatos);
+	}
+
+	@AfterEach
+	void cerrar() {
+		liberar.countDown();
+		hilos.shutdownNow();
+		baseDeDatos.shutdown();
+	}
+
+	@Test
+	void lasConsultasIdenticasSimultaneasSeEjecutanUnaSolaVez() throws Exception {
+		AgrupadorConsultas agrupador = crearAgrupador(true);
+
+		List<Future<List<?>>> resultados = new ArrayList<>();
+		for (int i = 0; i < PETICIONES; i++) {
+			resultados.add(hilos.submit(() -> agrupador.consultar(CampoLibro.TITULO, "Nada", null, consultaBloqueada())));
+		}
+		esperarCompartidas(CampoLibro.TITULO, PETICIONES - 1);
+		liberar.countDown();
+
+		List<?> primero = resultados.get(0).get(5, TimeUnit.SECONDS);
+		for (Future<List<?>> resultado : resultados) {
+			assertSame(primero, resultado.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(1, ejecuciones.get());
+		assertEquals(1, contador(CampoLibro.TITULO, "ejecutada"));
+		assertThrows(UnsupportedOperationException.class, () -> primero.remove(0));
+	}
+
+	@Test
+	void noSeAgrupanConsultasDistintasNiSeGuardaElResultado() throws Exception {
+		AgrupadorConsultas agrupador = crearAgrupador(true);
+
+		Future<List<?>> bloqueada = hilos.submit(() -> agrupador.consultar(CampoLibro.AUTOR, "Laforet", null,
+				consultaBloqueada()));
+		while (ejecuciones.get() == 0) {
+			Thread.sleep(5);
+		}
+
+		agrupador.consultar(CampoLibro.AUTOR, "Delibes", null, consulta());
+		agrupador.consultar(CampoLibro.TITULO, "Laforet", null, consulta());
+		agrupador.consultar(CampoLibro.AUTOR, "Laforet", Set.of(CampoLibro.ISBN), consulta());
+		EnrutadorDataSource.enPrimaria(() -> agrupador.consultar(CampoLibro.AUTOR, "Laforet", null, consulta()));
+		liberar.countDown();
+		bloqueada.get(5, TimeUnit.SECONDS);
+
+		agrupador.consultar(CampoLibro.AUTOR, "Laforet", null, consulta());
+
+		assertEquals(6, ejecuciones.get());
+		assertEquals(0, contador(CampoLibro.AUTOR, "compartida") + contador(CampoLibro.TITULO, "compartida"));
+	}
+
+	@Test
+	void lasPeticionesAgrupadasRecibenLaMismaExcepcion() throws Exception {
+		AgrupadorConsultas agrupador = crearAgrupador(true);
+		IllegalStateException fallo = new IllegalStateException("Sin conexión");
+
+		List<Future<List<?>>> resultados = new ArrayList<>();
+		for (int i = 0; i < PETICIONES; i++) {
+			resultados.add(hilos.submit(() -> agrupador.consultar(CampoLibro.TITULO, "Nada", null, () -> {
+				consultaBloqueada().get();
+				throw fallo;
+			})));
+		}
+		esperarCompartidas(CampoLibro.TITULO, PETICIONES - 1);
+		liberar.countDown();
+
+		for (Future<List<?>> resultado : resultados) {
+			ExecutionException e = assertThrows(ExecutionException.class, () -> resultado.get(5, TimeUnit.SECONDS));
+			assertSame(fallo, e.getCause());
+		}
+	}
+
+	@Test
+	void noAgrupaSiEstaDesactivadoODentroDeUnaTransaccion() throws Exception {
+		AgrupadorConsultas desactivado = crearAgrupador(false);
+		List<Future<List<?>>> resultados = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			resultados.add(hilos.submit(() -> desactivado.consultar(CampoLibro.TITULO, "Nada", null, consultaBloqueada())));
+		}
+		while (ejecuciones.get() < 2) {
+			Thread.sleep(5);
+		}
+		liberar.countDown();
+		for (Future<List<?>> resultado : resultados) {
+			resultado.get(5, TimeUnit.SECONDS);
+		}
+
+		AgrupadorConsultas agrupador = crearAgrupador(true);
+		new TransactionTemplate(transactionManager).executeWithoutResult(
+				estado -> agrupador.consultar(CampoLibro.TITULO, "Nada", null, consulta()));
+
+		assertEquals(3, ejecuciones.get());
+		assertEquals(0, contador(CampoLibro.TITULO, "compartida"));
+	}
+
+	private AgrupadorConsultas crearAgrupador(boolean habilitadas) {
+		return new AgrupadorConsultas(habilitadas, transactionManager, meterRegistry);
+	}
+
+	private Supplier<List<?>> consulta() {
+		return () -> {
+			ejecuciones.incrementAndGet();
+			return new ArrayList<>(List.of("libro"));
+		};
+	}
+
+	/*
+	 * Consulta que no termina hasta que se libera, para que las demás peticiones
+	 * lleguen mientras se ejecuta.
+	 */
+	private Supplier<List<?>> consultaBloqueada() {
+		return () -> {
+			ejecuciones.incrementAndGet();
+			try {
+				liberar.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return new ArrayList<>(List.of("libro"));
+		};
+	}
+
+	private void esperarCompartidas(CampoLibro criterio, int esperadas) throws InterruptedException {
+		for (int intento = 0; contador(criterio, "compartida") < esperadas && intento < 500; intento++) {
+			Thread.sleep(10);
+		}
+		assertEquals(esperadas, contador(criterio, "compartida"));
+	}
+
+	private int contador(CampoLibro criterio, String resultado) {
+		return (int) meterRegistry.get("biblioteca.consultas.agrupadas")
+				.tag("consulta", criterio.name().toLowerCase(Locale.ROOT))
+				.tag("resultado", resultado)
+				.counter()
+				.count();
+	}
+}
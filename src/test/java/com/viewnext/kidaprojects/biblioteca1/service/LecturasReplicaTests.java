@@ -0,0 +1,137 @@
+package com.viewnext.kidaprojects.biblioteca1.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.viewnext.kidaprojects.biblioteca1.cache.InstantaneaCatalogo;
+import com.viewnext.kidaprojects.biblioteca1.cache.LibroCache;
+import com.viewnext.kidaprojects.biblioteca1.config.EnrutadorDataSource;
+import com.viewnext.kidaprojects.biblioteca1.dto.CamposLibro;
+import com.viewnext.kidaprojects.biblioteca1.dto.LibroDTO;
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+
+/*
+ * La réplica es otra base de datos H2 que nunca recibe las escrituras: simula
+ * una réplica con retraso.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:primaria-lecturas;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+		"biblioteca.datasource.replica.url=" + LecturasReplicaTests.URL_REPLICA,
+		"biblioteca.datasource.replica.username=sa" })
+@ActiveProfiles("test")
+class LecturasReplicaTests {
+
+	static final String URL_REPLICA = "jdbc:h2:mem:replica-lecturas;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+	private static JdbcTemplate replica;
+
+	@Autowired
+	private LibroserviceImpl libroService;
+
+	@Autowired
+	private InstantaneaCatalogo instantaneaCatalogo;
+
+	@Autowired
+	private LibroCache libroCache;
+
+	@BeforeAll
+	static void crearReplica() {
+		replica = new JdbcTemplate(new DriverManagerDataSource(URL_REPLICA, "sa", ""));
+		replica.execute("CREATE TABLE IF NOT EXISTS libros (isbn VARCHAR(255) NOT NULL, titulo VARCHAR(255),"
+				+ " autor VARCHAR(255), precio INT NOT NULL, version BIGINT, PRIMARY KEY (isbn))");
+	}
+
+	@AfterEach
+	void terminarPeticion() {
+		EnrutadorDataSource.olvidarEscrituras();
+	}
+
+	@Test
+	void laCacheDeIsbnNoGuardaLibrosObsoletosDeLaReplica() {
+		crearEnAmbas("replica-1");
+		libroService.actualizarLibro(new Libro("replica-1", "Nuevo", "Autor", 12));
+		EnrutadorDataSource.olvidarEscrituras();
+
+		assertEquals("Viejo", libroService.findById("replica-1").orElseThrow().getTitulo());
+		assertEquals("Nuevo", libroService.mostrarLibroPorIsbn("replica-1").getTitulo());
+		assertEquals(1L, libroService.mostrarLibroPorIsbn("replica-1").getVersion());
+	}
+
+	@Test
+	void laBusquedaPorVariosIsbnNoGuardaLibrosObsoletosDeLaReplica() {
+		crearEnAmbas("replica-2");
+		libroService.actualizarLibro(new Libro("replica-2", "Nuevo", "Autor", 12));
+		EnrutadorDataSource.olvidarEscrituras();
+
+		List<Libro> libros = libroService.mostrarLibrosPorIsbns(List.of("replica-2")).getEncontrados();
+
+		assertEquals(List.of("Nuevo"), libros.stream().map(Libro::getTitulo).toList());
+		assertNull(libroCache.consultar("replica-2"));
+		assertEquals("Nuevo", libroService.mostrarLibroPorIsbn("replica-2").getTitulo());
+	}
+
+	@Test
+	void laCopiaDelCatalogoIncluyeLosLibrosQueAunNoEstanEnLaReplica() throws InterruptedException {
+		libroService.crearLibro(new Libro("replica-3", "Solo en la primaria", "Autor", 10));
+		EnrutadorDataSource.olvidarEscrituras();
+
+		InstantaneaCatalogo.Instantanea instantanea = instantaneaCatalogo.obtener();
+		for (int intento = 0; instantanea == null && intento < 100; intento++) {
+			Thread.sleep(50);
+			instantanea = instantaneaCatalogo.obtener();
+		}
+
+		assertNotNull(instantanea);
+		assertTrue(new String(instantanea.identidad(), StandardCharsets.UTF_8).contains("Solo en la primaria"));
+	}
+
+	@Test
+	void elListadoConEtagDelCatalogoSeLeeDeLaPrimaria() {
+		crearEnAmbas("replica-4");
+		libroService.actualizarLibro(new Libro("replica-4", "Nuevo", "Autor", 12));
+		EnrutadorDataSource.olvidarEscrituras();
+
+		assertTrue(libroService.mostrarLibros((Set<CampoLibro>) null).stream()
+				.anyMatch(libro -> ((LibroDTO) libro).getTituloDTO().equals("Nuevo")));
+		assertTrue(libroService.mostrarLibros(Set.of(CampoLibro.ISBN, CampoLibro.TITULO)).stream()
+				.anyMatch(libro -> "Nuevo".equals(((CamposLibro) libro).get("titulo"))));
+		assertTrue(libroService.mostrarPaginaLibros(null, 1000, OrdenLibros.ISBN).getLibros().stream()
+				.anyMatch(libro -> libro.getTitulo().equals("Nuevo")));
+	}
+
+	@Test
+	void unaEscrituraDentroDeEnPrimariaSigueLeyendoseDeLaPrimaria() {
+		crearEnAmbas("replica-5");
+
+		EnrutadorDataSource.enPrimaria(() -> libroService.actualizarLibro(new Libro("replica-5", "Nuevo", "Autor", 12)));
+
+		assertTrue(EnrutadorDataSource.leeDePrimaria());
+		assertEquals("Nuevo", libroService.findById("replica-5").orElseThrow().getTitulo());
+	}
+
+	/*
+	 * El libro llega a la réplica tal como se creó; la actualización posterior
+	 * no llega nunca.
+	 */
+	private void crearEnAmbas(String isbn) {
+		libroService.crearLibro(new Libro(isbn, "Viejo", "Autor", 10));
+		replica.update("INSERT INTO libros (isbn, titulo, autor, precio, version) VALUES (?, 'Viejo', 'Autor', 10, 0)",
+				isbn);
+		EnrutadorDataSource.olvidarEscrituras();
+	}
+}
@@ -0,0 +1,79 @@
+package com.viewnext.kidaprojects.biblioteca1.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.viewnext.kidaprojects.biblioteca1.dto.CambioLibro;
+import com.viewnext.kidaprojects.biblioteca1.dto.CambiosLibros;
+import com.viewnext.kidaprojects.biblioteca1.model.Libro;
+
+/*
+ * La base de datos se comparte con otras pruebas: cada prueba lee solo los
+ * cambios posteriores al último que había al empezar.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RegistroCambiosTests {
+
+	@Autowired
+	private LibroserviceImpl libroService;
+
+	private long inicio;
+
+	@BeforeEach
+	void leerUltimoCambio() throws CambiosNoDisponiblesException {
+		inicio = libroService.mostrarCambios(0, 0).getSiguiente();
+	}
+
+	@Test
+	void devuelveSoloElUltimoCambioDeCadaLibroConSuEstadoActual() throws CambiosNoDisponiblesException {
+		libroService.crearLibro(new Libro("cambios-1", "Nada", "Laforet", 10));
+		libroService.crearLibro(new Libro("cambios-2", "Tiempo de silencio", "Martín-Santos", 12));
+		libroService.actualizarLibro(new Libro("cambios-1", "Nada", "Carmen Laforet", 11));
+		libroService.deleteLibroPorIsbn("cambios-2");
+
+		CambiosLibros cambios = libroService.mostrarCambios(inicio, 10);
+
+		assertEquals(List.of("cambios-1:ACTUALIZADO", "cambios-2:BORRADO"), resumen(cambios.getCambios()));
+		assertEquals("Carmen Laforet", cambios.getCambios().get(0).getLibro().getAutorDTO());
+		assertNull(cambios.getCambios().get(1).getLibro());
+		assertEquals(inicio + 4, cambios.getSiguiente());
+		assertFalse(cambios.isHayMas());
+	}
+
+	@Test
+	void paginaDesdeElSiguienteNumeroSinSaltarseCambios() throws CambiosNoDisponiblesException {
+		libroService.crearLibros(List.of(new Libro("cambios-3", "A", "Autor", 1), new Libro("cambios-4", "B", "Autor", 2),
+				new Libro("cambios-5", "C", "Autor", 3)));
+
+		CambiosLibros primera = libroService.mostrarCambios(inicio, 2);
+		assertEquals(List.of("cambios-3:CREADO", "cambios-4:CREADO"), resumen(primera.getCambios()));
+		assertTrue(primera.isHayMas());
+
+		CambiosLibros segunda = libroService.mostrarCambios(primera.getSiguiente(), 2);
+		assertEquals(List.of("cambios-5:CREADO"), resumen(segunda.getCambios()));
+		assertFalse(segunda.isHayMas());
+
+		assertEquals(segunda.getSiguiente(), libroService.mostrarCambios(0, 0).getSiguiente());
+	}
+
+	@Test
+	void rechazaLosNumerosQueNoSeHanAlcanzado() {
+		assertThrows(CambiosNoDisponiblesException.class, () -> libroService.mostrarCambios(inicio + 1, 10));
+	}
+
+	private static List<String> resumen(List<CambioLibro> cambios) {
+		return cambios.stream().map(cambio -> cambio.getIsbn() + ":" + cambio.getTipo()).toList();
+	}
+}
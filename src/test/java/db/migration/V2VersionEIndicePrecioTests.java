@@ -0,0 +1,74 @@
+package db.migration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+class V2VersionEIndicePrecioTests {
+
+	private EmbeddedDatabase baseDeDatos;
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void crearBaseDeDatos() {
+		baseDeDatos = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.generateUniqueName(true)
+				.build();
+		jdbcTemplate = new JdbcTemplate(baseDeDatos);
+	}
+
+	@AfterEach
+	void cerrarBaseDeDatos() {
+		baseDeDatos.shutdown();
+	}
+
+	@Test
+	void creaLaColumnaYElIndiceEnUnaBaseDeDatosNueva() {
+		migrar();
+
+		assertEquals(1, contarColumnasVersion());
+		assertEquals(1, contarIndicesPrecio());
+	}
+
+	@Test
+	void adoptaUnaBaseDeDatosConLaColumnaYElIndiceCreadosAMano() {
+		jdbcTemplate.execute("CREATE TABLE libros (isbn VARCHAR(255) NOT NULL, titulo VARCHAR(255),"
+				+ " autor VARCHAR(255), precio INT NOT NULL, PRIMARY KEY (isbn))");
+		jdbcTemplate.execute("ALTER TABLE libros ADD COLUMN version BIGINT");
+		jdbcTemplate.execute("CREATE INDEX idx_libros_precio ON libros (precio, isbn)");
+		jdbcTemplate.update("INSERT INTO libros (isbn, titulo, autor, precio, version) VALUES ('1', 'T', 'A', 10, 3)");
+
+		migrar();
+
+		assertEquals(1, contarColumnasVersion());
+		assertEquals(1, contarIndicesPrecio());
+		assertEquals(3L, jdbcTemplate.queryForObject("SELECT version FROM libros WHERE isbn = '1'", Long.class));
+	}
+
+	private void migrar() {
+		Flyway.configure()
+				.dataSource(baseDeDatos)
+				.baselineOnMigrate(true)
+				.baselineVersion("0")
+				.load()
+				.migrate();
+	}
+
+	private int contarColumnasVersion() {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS"
+				+ " WHERE TABLE_NAME = 'LIBROS' AND COLUMN_NAME = 'VERSION'", Integer.class);
+	}
+
+	private int contarIndicesPrecio() {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES"
+				+ " WHERE TABLE_NAME = 'LIBROS' AND INDEX_NAME = 'IDX_LIBROS_PRECIO'", Integer.class);
+	}
+}